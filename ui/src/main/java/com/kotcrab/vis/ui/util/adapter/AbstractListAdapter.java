@@ -35,23 +35,32 @@ import java.util.Comparator;
 /**
  * Basic {@link ListAdapter} implementation using {@link CachedItemAdapter}. Supports item selection. Classes
  * extending this should store provided list and provide delegates for all common methods that change array state.
- * Those delegates should call {@link #itemAdded(Object)} or {@link #itemRemoved(Object)} in order to properly update
- * view cache. When changes to array are too big to be handled by those two methods {@link #itemsChanged()} should be
+ * Those delegates should call {@link #itemAdded(int, Object)} or {@link #itemRemoved(int, Object)} in order to properly
+ * update view cache. When changes to array are too big to be handled by those two methods {@link #itemsChanged()} should be
  * called. When only items fields has changed, and no new item were added or removed you should call
  * {@link #itemsDataChanged()}.
  * <p>
+ * Changes of single items or ranges of items can be also reported using {@link #itemsInserted(int, int)},
+ * {@link #itemMoved(int, int)} and {@link #itemsDataChanged(int, int)}, virtualized {@link ListView} will then only update
+ * affected views instead of rebuilding all visible views. Multiple changes can be grouped between {@link #beginUpdate()}
+ * and {@link #endUpdate()} calls, in such case list view will be rebuilt at most once.
+ * <p>
  * When view does not existed in cache and must be created {@link #createView(Object)} is called. When item view exists
  * in cache {@link #updateView(Actor, Object)} will be called.
  * <p>
  * Enabling item selection requires calling {@link #setSelectionMode(SelectionMode)} and overriding
  * {@link #selectView(Actor)} and {@link #deselectView(Actor)}.
+ * <p>
+ * This adapter can be used by virtualized {@link ListView}, in such case views of items that are no longer visible are
+ * reused for other items. {@link #updateView(Actor, Object)} must then fully update view to display new item. If
+ * it is not overridden then views are not reused and {@link #createView(Object)} is called instead.
  * @author Kotcrab
  * @see ArrayAdapter
  * @see ArrayListAdapter
  * @since 1.0.0
  */
 public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends CachedItemAdapter<ItemT, ViewT>
-		implements ListAdapter<ItemT> {
+		implements VirtualListAdapter<ItemT> {
 	protected ListView<ItemT> view;
 	protected ListAdapterListener viewListener;
 
@@ -62,9 +71,14 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 
 	private Comparator<ItemT> itemsComparator;
 
+	private Array<ViewT> freeViews = new Array<ViewT>();
+	/** Set by default {@link #updateView(Actor, Object)}, used to detect adapters that can't update reused views. */
+	private boolean defaultUpdateView;
+	private boolean reuseViews = true;
+
 	@Override
 	public void fillTable (VisTable itemsTable) {
-		if (itemsComparator != null) sort(itemsComparator);
+		prepareItems();
 		for (final ItemT item : iterable()) {
 			final ViewT view = getView(item);
 			prepareViewBeforeAddingToTable(item, view);
@@ -73,10 +87,56 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 		}
 	}
 
+	@Override
+	public void prepareItems () {
+		if (itemsComparator != null) sort(itemsComparator);
+	}
+
+	@Override
+	public ViewT obtainView (ItemT item) {
+		ViewT view;
+		if (freeViews.size > 0 && getViews().containsKey(item) == false) {
+			view = freeViews.pop();
+			defaultUpdateView = false;
+			updateView(view, item);
+			if (defaultUpdateView) {
+				//updateView was not overridden so reused view would still show old item, create views from now on
+				reuseViews = false;
+				freeViews.clear();
+				view = createView(item);
+				if (view == null) throw new IllegalStateException("Returned view view can't be null");
+			}
+			getViews().put(item, view);
+		} else {
+			view = getView(item);
+		}
+
+		prepareViewBeforeAddingToTable(item, view);
+		if (selection.getSelection().contains(item, true)) selectView(view);
+		return view;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void freeView (ItemT item, Actor view) {
+		ViewT itemView = (ViewT) view;
+		if (getViews().get(item) == itemView) getViews().remove(item);
+		if (selection.getSelection().contains(item, true)) deselectView(itemView);
+		if (reuseViews) freeViews.add(itemView);
+	}
+
+	@Override
+	public boolean isRowLayout () {
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
 	protected void prepareViewBeforeAddingToTable (ItemT item, ViewT view) {
 		boolean listenerMissing = true;
 		for (EventListener listener : view.getListeners()) {
 			if (listener instanceof AbstractListAdapter.ListClickListener) {
+				//view may have been reused for other item by virtualized ListView
+				((ListClickListener) listener).item = item;
 				listenerMissing = false;
 				break;
 			}
@@ -103,12 +163,85 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 		viewListener.invalidateDataSet();
 	}
 
+	/**
+	 * Notifies adapter that item was added to underlying collection.
+	 * @param index index at which item was added
+	 */
+	protected void itemAdded (int index, ItemT item) {
+		itemsInserted(index, 1);
+	}
+
 	protected void itemRemoved (ItemT item) {
 		selection.deselect(item);
 		getViews().remove(item);
 		viewListener.invalidateDataSet();
 	}
 
+	/**
+	 * Notifies adapter that item was removed from underlying collection.
+	 * @param index index at which item was stored before it was removed
+	 */
+	protected void itemRemoved (int index, ItemT item) {
+		selection.deselect(item);
+		getViews().remove(item);
+		viewListener.itemsRemoved(index, 1);
+	}
+
+	/**
+	 * Notifies adapter that items were inserted into underlying collection. If items sorter is set then whole list
+	 * will be rebuilt to keep items in order.
+	 * @param index index of first inserted item
+	 * @param count number of inserted items
+	 */
+	public void itemsInserted (int index, int count) {
+		if (count == 0) return;
+		if (itemsComparator != null)
+			viewListener.invalidateDataSet();
+		else
+			viewListener.itemsInserted(index, count);
+	}
+
+	/**
+	 * Notifies adapter that item was moved to other position in underlying collection. If items sorter is set then whole
+	 * list will be rebuilt to keep items in order.
+	 * @param fromIndex previous index of item
+	 * @param toIndex new index of item
+	 */
+	public void itemMoved (int fromIndex, int toIndex) {
+		if (fromIndex == toIndex) return;
+		if (itemsComparator != null)
+			viewListener.invalidateDataSet();
+		else
+			viewListener.itemMoved(fromIndex, toIndex);
+	}
+
+	/**
+	 * Notifies adapter that data of items in given range has changed. See {@link #itemsDataChanged()}. If items sorter
+	 * is set then whole list will be rebuilt to keep items in order.
+	 * @param index index of first changed item
+	 * @param count number of changed items
+	 */
+	public void itemsDataChanged (int index, int count) {
+		if (count == 0) return;
+		if (itemsComparator != null)
+			viewListener.invalidateDataSet();
+		else
+			viewListener.itemsDataChanged(index, count);
+	}
+
+	/**
+	 * Begins batch update of underlying collection. Until matching {@link #endUpdate()} call is made, notifications that
+	 * require rebuilding list view are merged and list view will be rebuilt at most once. Calls can be nested.
+	 */
+	public void beginUpdate () {
+		viewListener.beginUpdate();
+	}
+
+	/** Ends batch update started by {@link #beginUpdate()}. */
+	public void endUpdate () {
+		viewListener.endUpdate();
+	}
+
 	/**
 	 * Notifies adapter that underlying collection has changed, ie. some items were added or removed. This does not need to
 	 * be called when only the fields of stored objects changed see {@link #itemsDataChanged()}.
@@ -136,9 +269,14 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 		viewListener.invalidateDataSet();
 	}
 
+	/**
+	 * Called when view of item must be updated. Default implementation does nothing, in such case virtualized
+	 * {@link ListView} won't reuse views and will create new view with {@link #createView(Object)} for each item
+	 * that became visible.
+	 */
 	@Override
 	protected void updateView (ViewT view, ItemT item) {
-
+		defaultUpdateView = true;
 	}
 
 	public SelectionMode getSelectionMode () {
@@ -257,7 +395,7 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 
 		private void doSelect (ItemT item, ViewT view, boolean programmaticChange) {
 			if (selection.contains(item, true) == false) {
-				adapter.selectView(view);
+				if (view != null) adapter.selectView(view); //view is null when item is not visible in virtualized ListView
 				selection.add(item);
 				if (programmaticChange == false || programmaticChangeEvents) listener.selected(item, view);
 			}
@@ -296,7 +434,7 @@ public abstract class AbstractListAdapter<ItemT, ViewT extends Actor> extends Ca
 
 		void deselect (ItemT item, ViewT view, boolean programmaticChange) {
 			if (selection.contains(item, true) == false) return;
-			adapter.deselectView(view);
+			if (view != null) adapter.deselectView(view);
 			selection.removeValue(item, true);
 			if (programmaticChange == false || programmaticChangeEvents) listener.deselected(item, view);
 		}
@@ -51,7 +51,7 @@ public abstract class ArrayAdapter<ItemT, ViewT extends Actor> extends AbstractL
 	@Override
 	public void add (ItemT element) {
 		array.add(element);
-		itemAdded(element);
+		itemAdded(array.size - 1, element);
 	}
 
 	@Override
@@ -67,33 +67,41 @@ public abstract class ArrayAdapter<ItemT, ViewT extends Actor> extends AbstractL
 	//Delegates
 
 	public void addAll (Array<? extends ItemT> array) {
+		int index = this.array.size;
 		this.array.addAll(array);
-		itemsChanged();
+		itemsInserted(index, array.size);
 	}
 
 	public void addAll (Array<? extends ItemT> array, int start, int count) {
+		int index = this.array.size;
 		this.array.addAll(array, start, count);
-		itemsChanged();
+		itemsInserted(index, count);
 	}
 
 	public void addAll (ItemT... array) {
+		int index = this.array.size;
 		this.array.addAll(array);
-		itemsChanged();
+		itemsInserted(index, array.length);
 	}
 
 	public void addAll (ItemT[] array, int start, int count) {
+		int index = this.array.size;
 		this.array.addAll(array, start, count);
-		itemsChanged();
+		itemsInserted(index, count);
 	}
 
 	public void set (int index, ItemT value) {
+		ItemT oldValue = array.get(index);
 		array.set(index, value);
-		itemsChanged();
+		beginUpdate();
+		itemRemoved(index, oldValue);
+		itemAdded(index, value);
+		endUpdate();
 	}
 
 	public void insert (int index, ItemT value) {
 		array.insert(index, value);
-		itemsChanged();
+		itemAdded(index, value);
 	}
 
 	public void swap (int first, int second) {
@@ -102,14 +110,16 @@ public abstract class ArrayAdapter<ItemT, ViewT extends Actor> extends AbstractL
 	}
 
 	public boolean removeValue (ItemT value, boolean identity) {
-		boolean res = array.removeValue(value, identity);
-		if (res) itemRemoved(value);
-		return res;
+		int index = array.indexOf(value, identity);
+		if (index == -1) return false;
+		ItemT item = array.removeIndex(index);
+		itemRemoved(index, item);
+		return true;
 	}
 
 	public ItemT removeIndex (int index) {
 		ItemT item = array.removeIndex(index);
-		if (item != null) itemRemoved(item);
+		if (item != null) itemRemoved(index, item);
 		return item;
 	}
 
@@ -141,7 +151,7 @@ public abstract class ArrayAdapter<ItemT, ViewT extends Actor> extends AbstractL
 
 	public ItemT pop () {
 		ItemT item = array.pop();
-		itemsChanged();
+		itemRemoved(array.size, item);
 		return item;
 	}
 }
@@ -53,7 +53,7 @@ public abstract class ArrayListAdapter<ItemT, ViewT extends Actor> extends Abstr
 	@Override
 	public void add (ItemT element) {
 		array.add(element);
-		itemAdded(element);
+		itemAdded(array.size() - 1, element);
 	}
 
 	@Override
@@ -70,25 +70,30 @@ public abstract class ArrayListAdapter<ItemT, ViewT extends Actor> extends Abstr
 
 	public ItemT set (int index, ItemT element) {
 		ItemT res = array.set(index, element);
-		itemsChanged();
+		beginUpdate();
+		itemRemoved(index, res);
+		itemAdded(index, element);
+		endUpdate();
 		return res;
 	}
 
 	public void add (int index, ItemT element) {
 		array.add(index, element);
-		itemAdded(element);
+		itemAdded(index, element);
 	}
 
 	public ItemT remove (int index) {
 		ItemT res = array.remove(index);
-		if (res != null) itemRemoved(res);
+		if (res != null) itemRemoved(index, res);
 		return res;
 	}
 
 	public boolean remove (ItemT item) {
-		boolean res = array.remove(item);
-		if (res) itemRemoved(item);
-		return res;
+		int index = array.indexOf(item);
+		if (index == -1) return false;
+		ItemT res = array.remove(index);
+		itemRemoved(index, res);
+		return true;
 	}
 
 	public void clear () {
@@ -97,14 +102,15 @@ public abstract class ArrayListAdapter<ItemT, ViewT extends Actor> extends Abstr
 	}
 
 	public boolean addAll (Collection<? extends ItemT> c) {
+		int index = array.size();
 		boolean res = array.addAll(c);
-		itemsChanged();
+		itemsInserted(index, c.size());
 		return res;
 	}
 
 	public boolean addAll (int index, Collection<? extends ItemT> c) {
 		boolean res = array.addAll(index, c);
-		itemsChanged();
+		itemsInserted(index, c.size());
 		return res;
 	}
 
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.util.adapter;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.kotcrab.vis.ui.widget.ListView;
+import com.kotcrab.vis.ui.widget.VisTable;
+
+/**
+ * {@link ListAdapter} that can be used by virtualized {@link ListView}. Virtualized list view only creates views for
+ * items that are currently visible and reuses views of items that were scrolled out of the view.
+ * @author Kotcrab
+ * @see AbstractListAdapter
+ * @since 1.5.1
+ */
+public interface VirtualListAdapter<ItemT> extends ListAdapter<ItemT> {
+	/** Called by virtualized {@link ListView} before views are rebuilt after data set was invalidated. */
+	void prepareItems ();
+
+	/**
+	 * Called by virtualized {@link ListView} when item became visible. Implementations should reuse views previously
+	 * passed to {@link #freeView(Object, Actor)} whenever possible.
+	 * @return view for given item, never null
+	 */
+	Actor obtainView (ItemT item);
+
+	/** Called by virtualized {@link ListView} when item view is no longer visible and can be reused for other item. */
+	void freeView (ItemT item, Actor view);
+
+	/**
+	 * @return true if {@link #fillTable(VisTable)} adds views obtained from {@link #obtainView(Object)} to separate
+	 * rows of items table, in such case non virtualized {@link ListView} can add and remove views of single items
+	 * without calling {@link #fillTable(VisTable)} again
+	 */
+	boolean isRowLayout ();
+}
@@ -23,16 +23,58 @@ import com.kotcrab.vis.ui.widget.HighlightTextArea;
 /**
  * Highlighter aggregates multiple {@link HighlightRule} into single collection. Highlighter is used by {@link HighlightTextArea}
  * to get information about which parts of text should be highlighted. Compared to {@link Highlighter} this class is GWT compatible.
+ * <p>
+ * Before text is processed rules are compiled, all {@link WordHighlightRule}s are merged into single rule matching all words
+ * in one pass over text.
  * @author Kotcrab
  * @see Highlighter
  * @since 1.1.2
  */
 public class BaseHighlighter {
 	private Array<HighlightRule> rules = new Array<HighlightRule>();
+	private Array<HighlightRule> compiledRules;
 
 	/** Adds highlighter rule. What is highlighted depends on rule implementation. */
 	public void addRule (HighlightRule rule) {
 		rules.add(rule);
+		invalidateCompiledRules();
+	}
+
+	/** Causes rules to be compiled again before text is processed next time. */
+	protected void invalidateCompiledRules () {
+		compiledRules = null;
+	}
+
+	private Array<HighlightRule> getCompiledRules () {
+		if (compiledRules == null) {
+			compiledRules = new Array<HighlightRule>();
+			compileRules(rules, compiledRules);
+		}
+		return compiledRules;
+	}
+
+	/**
+	 * Compiles rules added to this highlighter into rules that will be used to process text. Default implementation merges
+	 * all {@link WordHighlightRule}s into single rule, remaining rules are used without changes. Called again after new rule
+	 * was added.
+	 * @param rules rules added to this highlighter
+	 * @param compiledRules compiled rules must be added to this array
+	 */
+	protected void compileRules (Array<HighlightRule> rules, Array<HighlightRule> compiledRules) {
+		WordsHighlightRule wordsRule = null;
+		for (HighlightRule rule : rules) {
+			//subclasses may override process method so they can't be merged
+			if (rule.getClass() == WordHighlightRule.class) {
+				if (wordsRule == null) {
+					wordsRule = new WordsHighlightRule();
+					compiledRules.add(wordsRule);
+				}
+				WordHighlightRule wordRule = (WordHighlightRule) rule;
+				wordsRule.addWord(wordRule.getColor(), wordRule.getWord());
+			} else {
+				compiledRules.add(rule);
+			}
+		}
 	}
 
 	/**
@@ -55,13 +97,92 @@ public class BaseHighlighter {
 		}
 	}
 
+	/**
+	 * Adds block highlighter rule, highlighted block can span multiple lines. Can be used for example for block comments.
+	 * @see BlockHighlightRule
+	 */
+	public void block (Color color, String start, String end) {
+		addRule(new BlockHighlightRule(color, start, end));
+	}
+
+	/**
+	 * @return true if all rules of this highlighter are {@link LineHighlightRule}s, in such case text can be processed
+	 * line by line using {@link #processLine(HighlightTextArea, CharSequence, int, int, int[], Array)}
+	 */
+	public boolean isLineBased () {
+		Array<HighlightRule> rules = getCompiledRules();
+		for (int i = 0; i < rules.size; i++) {
+			if (rules.get(i) instanceof LineHighlightRule == false) return false;
+		}
+		return true;
+	}
+
+	/** @return number of compiled rules, equal to number of states used by {@link #processLine(HighlightTextArea, CharSequence, int, int, int[], Array)} */
+	public int getRulesCount () {
+		return getCompiledRules().size;
+	}
+
+	/**
+	 * Process single line of text with all rules of this highlighter. Can be only used when {@link #isLineBased()} returns true.
+	 * @param states state of each rule at line start, after processing contains states at line end
+	 * @param highlights current highlights, new highlights can be added to this list however it should not be modified in any other ways
+	 * @see LineHighlightRule#processLine(HighlightTextArea, CharSequence, int, int, int, Array)
+	 */
+	public void processLine (HighlightTextArea textArea, CharSequence text, int lineStart, int lineEnd, int[] states, Array<Highlight> highlights) {
+		Array<HighlightRule> rules = getCompiledRules();
+		for (int i = 0; i < rules.size; i++) {
+			LineHighlightRule rule = (LineHighlightRule) rules.get(i);
+			states[i] = rule.processLine(textArea, text, lineStart, lineEnd, states[i], highlights);
+		}
+	}
+
+	/**
+	 * @return true if all rules of this highlighter are {@link LineHighlightRule}s or {@link TextHighlightRule}s, in such
+	 * case text can be processed using {@link #process(HighlightTextArea, CharSequence, Array)}
+	 */
+	public boolean canProcessText () {
+		Array<HighlightRule> rules = getCompiledRules();
+		for (int i = 0; i < rules.size; i++) {
+			HighlightRule rule = rules.get(i);
+			if (rule instanceof LineHighlightRule == false && rule instanceof TextHighlightRule == false) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Process all rules in this highlighter using provided text instead of text area text. Can be only used when
+	 * {@link #canProcessText()} returns true. {@link LineHighlightRule}s process text line by line, same as
+	 * when {@link #processLine(HighlightTextArea, CharSequence, int, int, int[], Array)} is used.
+	 * @param highlights current highlights, new highlights can be added to this list however it should not be modified in any other ways
+	 */
+	public void process (HighlightTextArea textArea, CharSequence text, Array<Highlight> highlights) {
+		Array<HighlightRule> rules = getCompiledRules();
+		for (int i = 0; i < rules.size; i++) {
+			HighlightRule rule = rules.get(i);
+			if (rule instanceof LineHighlightRule) {
+				LineHighlightRule lineRule = (LineHighlightRule) rule;
+				int state = LineHighlightRule.NO_STATE;
+				int lineStart = 0;
+				for (int j = 0, n = text.length(); j <= n; j++) {
+					if (j == n || text.charAt(j) == '\n' || text.charAt(j) == '\r') {
+						state = lineRule.processLine(textArea, text, lineStart, j, state, highlights);
+						lineStart = j + 1;
+					}
+				}
+			} else {
+				((TextHighlightRule) rule).process(textArea, text, highlights);
+			}
+		}
+	}
+
 	/**
 	 * Process all rules in this highlighter.
 	 * @param highlights current highlights, new highlights can be added to this list however it should not be modified in any other ways
 	 */
 	public void process (HighlightTextArea textArea, Array<Highlight> highlights) {
-		for (HighlightRule rule : rules) {
-			rule.process(textArea, highlights);
+		Array<HighlightRule> rules = getCompiledRules();
+		for (int i = 0; i < rules.size; i++) {
+			rules.get(i).process(textArea, highlights);
 		}
 	}
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.util.highlight;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.ui.widget.HighlightTextArea;
+
+/**
+ * Highlighter rule highlighting text between start and end delimiters (including delimiters), for example block comments.
+ * Highlighted block can span multiple lines, block without end delimiter is highlighted until the end of text. Delimiters
+ * can't contain line breaks.
+ * @author Kotcrab
+ * @since 1.5.1
+ */
+public class BlockHighlightRule implements LineHighlightRule {
+	private static final int INSIDE_BLOCK = 1;
+
+	private Color color;
+	private String start;
+	private String end;
+
+	public BlockHighlightRule (Color color, String start, String end) {
+		if (start == null || start.length() == 0) throw new IllegalArgumentException("start delimiter can't be empty");
+		if (end == null || end.length() == 0) throw new IllegalArgumentException("end delimiter can't be empty");
+		this.color = color;
+		this.start = start;
+		this.end = end;
+	}
+
+	@Override
+	public void process (HighlightTextArea textArea, Array<Highlight> highlights) {
+		String text = textArea.getText();
+		int blockStart = text.indexOf(start);
+		while (blockStart >= 0) {
+			int blockEnd = text.indexOf(end, blockStart + start.length());
+			if (blockEnd == -1) {
+				highlights.add(Highlight.obtain(color, blockStart, text.length()));
+				return;
+			}
+			blockEnd += end.length();
+			highlights.add(Highlight.obtain(color, blockStart, blockEnd));
+			blockStart = text.indexOf(start, blockEnd);
+		}
+	}
+
+	@Override
+	public int processLine (HighlightTextArea textArea, CharSequence text, int lineStart, int lineEnd, int state, Array<Highlight> highlights) {
+		int index = lineStart;
+		while (index < lineEnd) {
+			int blockStart;
+			int searchFrom;
+			if (state == INSIDE_BLOCK) {
+				blockStart = index;
+				searchFrom = index;
+			} else {
+				blockStart = indexOf(text, start, index, lineEnd);
+				if (blockStart == -1) return NO_STATE;
+				searchFrom = blockStart + start.length();
+			}
+
+			int blockEnd = indexOf(text, end, searchFrom, lineEnd);
+			if (blockEnd == -1) {
+				highlights.add(Highlight.obtain(color, blockStart, lineEnd));
+				return INSIDE_BLOCK;
+			}
+			blockEnd += end.length();
+			highlights.add(Highlight.obtain(color, blockStart, blockEnd));
+			state = NO_STATE;
+			index = blockEnd;
+		}
+		return state;
+	}
+
+	private static int indexOf (CharSequence text, String str, int from, int to) {
+		int last = to - str.length();
+		outer:
+		for (int i = from; i <= last; i++) {
+			for (int j = 0; j < str.length(); j++) {
+				if (text.charAt(i + j) != str.charAt(j)) continue outer;
+			}
+			return i;
+		}
+		return -1;
+	}
+}
@@ -17,18 +17,53 @@
 package com.kotcrab.vis.ui.util.highlight;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
 
 /**
- * Represents single highlight.
+ * Represents single highlight. Highlights added to highlights array by {@link HighlightRule} are owned by text area, once
+ * text area has stored highlights they are returned to pool and reused by {@link #obtain(Color, int, int)}, rules must not
+ * keep references to them.
  * @author Kotcrab
  * @since 1.1.2
  */
 public class Highlight implements Comparable<Highlight> {
+	private static final Pool<Highlight> pool = new Pool<Highlight>(16, 10000) {
+		@Override
+		protected Highlight newObject () {
+			return new Highlight();
+		}
+	};
+
 	private Color color;
 	private int start;
 	private int end;
 
+	private Highlight () {
+	}
+
 	public Highlight (Color color, int start, int end) {
+		set(color, start, end);
+	}
+
+	/** Obtains highlight from pool, can be called from any thread. */
+	public static Highlight obtain (Color color, int start, int end) {
+		Highlight highlight;
+		synchronized (pool) {
+			highlight = pool.obtain();
+		}
+		highlight.set(color, start, end);
+		return highlight;
+	}
+
+	/** Returns all highlights to pool, can be called from any thread. Array is not cleared. */
+	public static void free (Array<Highlight> highlights) {
+		synchronized (pool) {
+			pool.freeAll(highlights);
+		}
+	}
+
+	private void set (Color color, int start, int end) {
 		if (color == null) throw new IllegalArgumentException("color can't be null");
 		if (start >= end) throw new IllegalArgumentException("start can't be >= end: " + start + " >= " + end);
 		this.color = color;
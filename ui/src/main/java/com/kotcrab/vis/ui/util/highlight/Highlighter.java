@@ -17,18 +17,95 @@
 package com.kotcrab.vis.ui.util.highlight;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
 import com.kotcrab.vis.ui.widget.HighlightTextArea;
 
+import java.util.regex.Pattern;
+
 /**
  * Highlighter aggregates multiple {@link HighlightRule} into single collection. Highlighter is used by {@link HighlightTextArea}
  * to get information about which parts of text should be highlighted. If you need GWT compatibility, you need to use {@link BaseHighlighter}.
+ * <p>
+ * When combining regex rules is enabled all {@link RegexHighlightRule}s are compiled into single regex alternation so text
+ * is scanned once for all of them, the same is done for {@link LineRegexHighlightRule}s. Combined regexes can't return
+ * overlapping matches, after match of one regex scanning continues at the end of that match for all regexes. Regexes using
+ * backreferences or named groups are never combined.
  * @author Kotcrab
  * @see BaseHighlighter
  * @since 1.1.2
  */
 public class Highlighter extends BaseHighlighter {
+	private boolean combineRegexRules;
+
 	/** Adds regex based highlighter rule. */
 	public void regex (Color color, String regex) {
 		addRule(new RegexHighlightRule(color, regex));
 	}
+
+	/**
+	 * Adds regex based highlighter rule matching each line separately. Unlike {@link #regex(Color, String)} this rule
+	 * allows text area to highlight only modified lines.
+	 * @see LineRegexHighlightRule
+	 */
+	public void lineRegex (Color color, String regex) {
+		addRule(new LineRegexHighlightRule(color, regex));
+	}
+
+	/** @param combineRegexRules if true regex rules will be combined into single regex, by default regex rules are not combined */
+	public void setCombineRegexRules (boolean combineRegexRules) {
+		this.combineRegexRules = combineRegexRules;
+		invalidateCompiledRules();
+	}
+
+	public boolean isCombineRegexRules () {
+		return combineRegexRules;
+	}
+
+	@Override
+	protected void compileRules (Array<HighlightRule> rules, Array<HighlightRule> compiledRules) {
+		if (combineRegexRules == false) {
+			super.compileRules(rules, compiledRules);
+			return;
+		}
+
+		Array<HighlightRule> baseRules = new Array<HighlightRule>();
+		super.compileRules(rules, baseRules);
+
+		Array<Color> regexColors = new Array<Color>();
+		Array<Pattern> regexPatterns = new Array<Pattern>();
+		Array<Color> lineRegexColors = new Array<Color>();
+		Array<Pattern> lineRegexPatterns = new Array<Pattern>();
+		int regexIndex = -1;
+		int lineRegexIndex = -1;
+		for (HighlightRule rule : baseRules) {
+			if (rule.getClass() == RegexHighlightRule.class
+					&& RegexAlternationHighlightRule.canCombine(((RegexHighlightRule) rule).getPattern())) {
+				RegexHighlightRule regexRule = (RegexHighlightRule) rule;
+				if (regexIndex == -1) {
+					regexIndex = compiledRules.size;
+					compiledRules.add(null); //replaced by combined rule when all regexes are collected
+				}
+				regexColors.add(regexRule.getColor());
+				regexPatterns.add(regexRule.getPattern());
+			} else if (rule.getClass() == LineRegexHighlightRule.class
+					&& RegexAlternationHighlightRule.canCombine(((LineRegexHighlightRule) rule).getPattern())) {
+				LineRegexHighlightRule regexRule = (LineRegexHighlightRule) rule;
+				if (lineRegexIndex == -1) {
+					lineRegexIndex = compiledRules.size;
+					compiledRules.add(null);
+				}
+				lineRegexColors.add(regexRule.getColor());
+				lineRegexPatterns.add(regexRule.getPattern());
+			} else {
+				compiledRules.add(rule);
+			}
+		}
+
+		if (regexIndex != -1) {
+			compiledRules.set(regexIndex, new RegexAlternationHighlightRule(regexColors, regexPatterns));
+		}
+		if (lineRegexIndex != -1) {
+			compiledRules.set(lineRegexIndex, new LineRegexAlternationHighlightRule(lineRegexColors, lineRegexPatterns));
+		}
+	}
 }
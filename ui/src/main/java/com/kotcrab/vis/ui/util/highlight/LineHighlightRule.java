@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.util.highlight;
+
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.ui.widget.HighlightTextArea;
+
+/**
+ * Highlight rule which can process text line by line. When all rules of highlighter are line rules {@link HighlightTextArea}
+ * only processes lines modified since last update instead of whole text. Rule that needs to know about text from previous
+ * lines (for example block comment spanning multiple lines) must return its state at line end, this state will be passed
+ * back when next line is processed. Rules that never match text spanning multiple lines should always return {@link #NO_STATE}.
+ * @author Kotcrab
+ * @see BlockHighlightRule
+ * @since 1.5.1
+ */
+public interface LineHighlightRule extends HighlightRule {
+	/** State passed to first line of text. */
+	int NO_STATE = 0;
+
+	/**
+	 * Process single line of text. Created highlights must be inside of processed line.
+	 * @param textArea text area
+	 * @param text text area text, must not be modified
+	 * @param lineStart index of first line character
+	 * @param lineEnd index after last line character, line break characters are not included in line
+	 * @param state state returned by this rule for previous line, {@link #NO_STATE} for first line
+	 * @param highlights current highlights, new highlights can be added to this list however it should not be modified in any other ways
+	 * @return state at the end of this line
+	 */
+	int processLine (HighlightTextArea textArea, CharSequence text, int lineStart, int lineEnd, int state, Array<Highlight> highlights);
+}
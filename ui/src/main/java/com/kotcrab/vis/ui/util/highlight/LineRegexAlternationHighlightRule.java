@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.util.highlight;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.ui.widget.HighlightTextArea;
+
+import java.util.regex.Pattern;
+
+/**
+ * {@link RegexAlternationHighlightRule} matching each line separately, created from {@link LineRegexHighlightRule}s.
+ * @author Kotcrab
+ * @since 1.5.1
+ */
+class LineRegexAlternationHighlightRule extends RegexAlternationHighlightRule implements LineHighlightRule {
+	public LineRegexAlternationHighlightRule (Array<Color> colors, Array<Pattern> patterns) {
+		super(colors, patterns);
+	}
+
+	@Override
+	public void process (HighlightTextArea textArea, Array<Highlight> highlights) {
+		String text = textArea.getText();
+		int lineStart = 0;
+		for (int i = 0, n = text.length(); i <= n; i++) {
+			if (i == n || text.charAt(i) == '\n' || text.charAt(i) == '\r') {
+				find(text, lineStart, i, highlights);
+				lineStart = i + 1;
+			}
+		}
+	}
+
+	@Override
+	public int processLine (HighlightTextArea textArea, CharSequence text, int lineStart, int lineEnd, int state, Array<Highlight> highlights) {
+		find(text, lineStart, lineEnd, highlights);
+		return NO_STATE;
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.util.highlight;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.ui.widget.HighlightTextArea;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Highlighter rule using regex to detect text matches in each line separately, matches can't span multiple lines. Line
+ * bounds are treated as input bounds, {@code ^} and {@code $} match at line start and end. Regexes and thus this rule
+ * can't be used on GWT.
+ * @author Kotcrab
+ * @see RegexHighlightRule
+ * @since 1.5.1
+ */
+public class LineRegexHighlightRule implements LineHighlightRule {
+	private Color color;
+	private Pattern pattern;
+	private Matcher matcher;
+
+	public LineRegexHighlightRule (Color color, String regex) {
+		this.color = color;
+		pattern = Pattern.compile(regex);
+	}
+
+	public Color getColor () {
+		return color;
+	}
+
+	public Pattern getPattern () {
+		return pattern;
+	}
+
+	@Override
+	public void process (HighlightTextArea textArea, Array<Highlight> highlights) {
+		String text = textArea.getText();
+		int lineStart = 0;
+		for (int i = 0, n = text.length(); i <= n; i++) {
+			if (i == n || text.charAt(i) == '\n' || text.charAt(i) == '\r') {
+				processLine(textArea, text, lineStart, i, NO_STATE, highlights);
+				lineStart = i + 1;
+			}
+		}
+	}
+
+	@Override
+	public int processLine (HighlightTextArea textArea, CharSequence text, int lineStart, int lineEnd, int state, Array<Highlight> highlights) {
+		if (matcher == null)
+			matcher = pattern.matcher(text);
+		else
+			matcher.reset(text);
+		matcher.region(lineStart, lineEnd);
+		while (matcher.find()) {
+			if (matcher.start() == matcher.end()) continue;
+			highlights.add(Highlight.obtain(color, matcher.start(), matcher.end()));
+		}
+		return NO_STATE;
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.util.highlight;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.ui.widget.HighlightTextArea;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Highlighter rule combining multiple regexes into single alternation, text is scanned once for all regexes. Created by
+ * {@link Highlighter} when combining regex rules is enabled. Each regex is placed in its own capturing group which is used
+ * to find out which regex matched. Empty matches are ignored.
+ * @author Kotcrab
+ * @since 1.5.1
+ */
+class RegexAlternationHighlightRule implements TextHighlightRule {
+	private Array<Color> colors = new Array<Color>();
+	private int[] groups;
+	private Pattern pattern;
+	private Matcher matcher;
+
+	public RegexAlternationHighlightRule (Array<Color> colors, Array<Pattern> patterns) {
+		this.colors.addAll(colors);
+		groups = new int[patterns.size];
+		StringBuilder regex = new StringBuilder();
+		int group = 1;
+		for (int i = 0; i < patterns.size; i++) {
+			Pattern pattern = patterns.get(i);
+			if (i > 0) regex.append('|');
+			regex.append('(').append(pattern.pattern()).append(')');
+			groups[i] = group;
+			group += pattern.matcher("").groupCount() + 1;
+		}
+		pattern = Pattern.compile(regex.toString());
+	}
+
+	/**
+	 * @return true if regex can be combined with other regexes, false when it uses backreferences or named groups
+	 * which could reference wrong group after combining or enables comments mode which could comment out rest of
+	 * the alternation
+	 */
+	static boolean canCombine (Pattern pattern) {
+		String regex = pattern.pattern();
+		for (int i = 0; i < regex.length() - 1; i++) {
+			char c = regex.charAt(i);
+			char next = regex.charAt(i + 1);
+			if (c == '\\') {
+				if (Character.isDigit(next) || next == 'k') return false;
+				i++; //skip escaped character
+			} else if (c == '(' && next == '?') {
+				int flagsStart = i + 2;
+				if (flagsStart < regex.length() && regex.charAt(flagsStart) == '<' && flagsStart + 1 < regex.length()
+						&& Character.isLetter(regex.charAt(flagsStart + 1))) {
+					return false;
+				}
+				for (int j = flagsStart; j < regex.length() && (Character.isLetter(regex.charAt(j)) || regex.charAt(j) == '-'); j++) {
+					if (regex.charAt(j) == 'x') return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void process (HighlightTextArea textArea, Array<Highlight> highlights) {
+		String text = textArea.getText();
+		find(text, 0, text.length(), highlights);
+	}
+
+	@Override
+	public void process (HighlightTextArea textArea, CharSequence text, Array<Highlight> highlights) {
+		find(text, 0, text.length(), highlights);
+	}
+
+	protected void find (CharSequence text, int start, int end, Array<Highlight> highlights) {
+		if (matcher == null)
+			matcher = pattern.matcher(text);
+		else
+			matcher.reset(text);
+		matcher.region(start, end);
+		while (matcher.find()) {
+			if (matcher.start() == matcher.end()) continue;
+			highlights.add(Highlight.obtain(colors.get(findMatchedRegex()), matcher.start(), matcher.end()));
+		}
+	}
+
+	private int findMatchedRegex () {
+		for (int i = 0; i < groups.length; i++) {
+			if (matcher.start(groups[i]) != -1) return i;
+		}
+		throw new IllegalStateException("Match doesn't belong to any regex");
+	}
+}
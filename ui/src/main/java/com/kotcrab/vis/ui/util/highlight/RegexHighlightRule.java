@@ -28,7 +28,7 @@ import java.util.regex.Pattern;
  * @author Kotcrab
  * @since 1.1.2
  */
-public class RegexHighlightRule implements HighlightRule {
+public class RegexHighlightRule implements TextHighlightRule {
 	private Color color;
 	private Pattern pattern;
 
@@ -37,11 +37,24 @@ public class RegexHighlightRule implements HighlightRule {
 		pattern = Pattern.compile(regex);
 	}
 
+	public Color getColor () {
+		return color;
+	}
+
+	public Pattern getPattern () {
+		return pattern;
+	}
+
 	@Override
 	public void process (HighlightTextArea textArea, Array<Highlight> highlights) {
-		Matcher matcher = pattern.matcher(textArea.getText());
+		process(textArea, textArea.getText(), highlights);
+	}
+
+	@Override
+	public void process (HighlightTextArea textArea, CharSequence text, Array<Highlight> highlights) {
+		Matcher matcher = pattern.matcher(text);
 		while (matcher.find()) {
-			highlights.add(new Highlight(color, matcher.start(), matcher.end()));
+			highlights.add(Highlight.obtain(color, matcher.start(), matcher.end()));
 		}
 	}
 }
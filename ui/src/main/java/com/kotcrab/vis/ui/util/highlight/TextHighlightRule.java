@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.util.highlight;
+
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.ui.widget.HighlightTextArea;
+
+/**
+ * Highlight rule which can process text given as parameter instead of text obtained from text area. Such rule can be used
+ * to process snapshot of text on different thread, see {@link HighlightTextArea#setHighlightingExecutor(com.badlogic.gdx.utils.async.AsyncExecutor)}.
+ * @author Kotcrab
+ * @see LineHighlightRule
+ * @since 1.5.1
+ */
+public interface TextHighlightRule extends HighlightRule {
+	/**
+	 * Process this rule using provided text. Text area must not be accessed by this method.
+	 * @param textArea text area, only passed to identify text owner
+	 * @param text text to process
+	 * @param highlights current highlights, new highlights can be added to this list however it should not be modified in any other ways
+	 */
+	void process (HighlightTextArea textArea, CharSequence text, Array<Highlight> highlights);
+}
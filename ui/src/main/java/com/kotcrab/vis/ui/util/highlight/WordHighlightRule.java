@@ -21,11 +21,12 @@ import com.badlogic.gdx.utils.Array;
 import com.kotcrab.vis.ui.widget.HighlightTextArea;
 
 /**
- * Highlighter rule using {@link String#indexOf(String)} to detect text matches.
+ * Highlighter rule using {@link String#indexOf(String)} to detect text matches. When text is processed line by line, words
+ * containing line breaks are never matched.
  * @author Kotcrab
  * @since 1.1.2
  */
-public class WordHighlightRule implements HighlightRule {
+public class WordHighlightRule implements LineHighlightRule {
 	private Color color;
 	private String word;
 
@@ -34,13 +35,37 @@ public class WordHighlightRule implements HighlightRule {
 		this.word = word;
 	}
 
+	public Color getColor () {
+		return color;
+	}
+
+	public String getWord () {
+		return word;
+	}
+
 	@Override
 	public void process (HighlightTextArea textArea, Array<Highlight> highlights) {
 		String text = textArea.getText();
 		int index = text.indexOf(word);
 		while (index >= 0) {
-			highlights.add(new Highlight(color, index, index += word.length()));
+			highlights.add(Highlight.obtain(color, index, index += word.length()));
 			index = text.indexOf(word, index);
 		}
 	}
+
+	@Override
+	public int processLine (HighlightTextArea textArea, CharSequence text, int lineStart, int lineEnd, int state, Array<Highlight> highlights) {
+		int wordLength = word.length();
+		if (wordLength == 0) return NO_STATE;
+		int last = lineEnd - wordLength;
+		outer:
+		for (int i = lineStart; i <= last; i++) {
+			for (int j = 0; j < wordLength; j++) {
+				if (text.charAt(i + j) != word.charAt(j)) continue outer;
+			}
+			highlights.add(Highlight.obtain(color, i, i + wordLength));
+			i += wordLength - 1;
+		}
+		return NO_STATE;
+	}
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.util.highlight;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.kotcrab.vis.ui.widget.HighlightTextArea;
+
+import java.util.Arrays;
+
+/**
+ * Highlighter rule matching many words in single pass over text using Aho-Corasick automaton. Created by {@link BaseHighlighter}
+ * from {@link WordHighlightRule}s, matches are the same as if each word was matched by separate {@link WordHighlightRule}.
+ * @author Kotcrab
+ * @since 1.5.1
+ */
+class WordsHighlightRule implements LineHighlightRule {
+	private static final int ROOT = 0;
+	private static final int NONE = -1;
+
+	private Array<Color> colors = new Array<Color>();
+	private IntArray wordLengths = new IntArray();
+
+	private Array<IntIntMap> transitions = new Array<IntIntMap>();
+	private IntArray failures = new IntArray();
+	/** First word ending at node, {@link #NONE} if there is no such word */
+	private IntArray nodeWords = new IntArray();
+	/** Next word which is the same as given word, duplicated words are highlighted separately */
+	private IntArray nextSameWords = new IntArray();
+	/** Closest node on failure path that has word ending at it */
+	private IntArray outputs = new IntArray();
+	private boolean compiled;
+
+	/** Position at which next match of word can start, matches of single word can't overlap */
+	private int[] nextWordStarts = new int[0];
+
+	public WordsHighlightRule () {
+		addNode();
+	}
+
+	/** Adds word to this rule, empty words are ignored. */
+	public void addWord (Color color, String word) {
+		if (word.length() == 0) return;
+		int node = ROOT;
+		for (int i = 0; i < word.length(); i++) {
+			int child = transitions.get(node).get(word.charAt(i), NONE);
+			if (child == NONE) {
+				child = addNode();
+				transitions.get(node).put(word.charAt(i), child);
+			}
+			node = child;
+		}
+
+		int wordIndex = colors.size;
+		colors.add(color);
+		wordLengths.add(word.length());
+		nextSameWords.add(nodeWords.get(node));
+		nodeWords.set(node, wordIndex);
+		compiled = false;
+	}
+
+	private int addNode () {
+		transitions.add(new IntIntMap(4));
+		failures.add(ROOT);
+		nodeWords.add(NONE);
+		outputs.add(NONE);
+		return transitions.size - 1;
+	}
+
+	/** Computes failure links of trie nodes in breadth first order. */
+	private void compile () {
+		IntArray queue = new IntArray();
+		for (IntIntMap.Entry entry : transitions.get(ROOT).entries()) {
+			failures.set(entry.value, ROOT);
+			outputs.set(entry.value, NONE);
+			queue.add(entry.value);
+		}
+
+		for (int head = 0; head < queue.size; head++) {
+			int node = queue.get(head);
+			for (IntIntMap.Entry entry : transitions.get(node).entries()) {
+				int child = entry.value;
+				int failure = failures.get(node);
+				while (failure != ROOT && transitions.get(failure).get(entry.key, NONE) == NONE) {
+					failure = failures.get(failure);
+				}
+				failure = transitions.get(failure).get(entry.key, ROOT);
+				failures.set(child, failure);
+				outputs.set(child, nodeWords.get(failure) != NONE ? failure : outputs.get(failure));
+				queue.add(child);
+			}
+		}
+
+		nextWordStarts = new int[colors.size];
+		compiled = true;
+	}
+
+	@Override
+	public void process (HighlightTextArea textArea, Array<Highlight> highlights) {
+		String text = textArea.getText();
+		match(text, 0, text.length(), highlights);
+	}
+
+	@Override
+	public int processLine (HighlightTextArea textArea, CharSequence text, int lineStart, int lineEnd, int state, Array<Highlight> highlights) {
+		match(text, lineStart, lineEnd, highlights);
+		return NO_STATE;
+	}
+
+	private void match (CharSequence text, int start, int end, Array<Highlight> highlights) {
+		if (compiled == false) compile();
+		Arrays.fill(nextWordStarts, start);
+
+		int node = ROOT;
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			int child = transitions.get(node).get(c, NONE);
+			while (child == NONE && node != ROOT) {
+				node = failures.get(node);
+				child = transitions.get(node).get(c, NONE);
+			}
+			node = child == NONE ? ROOT : child;
+
+			int output = nodeWords.get(node) != NONE ? node : outputs.get(node);
+			while (output != NONE) {
+				for (int word = nodeWords.get(output); word != NONE; word = nextSameWords.get(word)) {
+					int wordStart = i + 1 - wordLengths.get(word);
+					if (wordStart < nextWordStarts[word]) continue;
+					highlights.add(Highlight.obtain(colors.get(word), wordStart, i + 1));
+					nextWordStarts[word] = i + 1;
+				}
+				output = outputs.get(output);
+			}
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.util.text;
+
+/**
+ * {@link TextBuffer} storing text in single array with gap placed at the last edit position. Inserting and removing text
+ * near the gap only requires moving characters between previous and current edit position, typing is amortized O(1).
+ * @author Kotcrab
+ * @since 1.5.1
+ */
+public class GapTextBuffer implements TextBuffer {
+	private static final int MIN_GAP_SIZE = 16;
+
+	private char[] buffer;
+	private int gapStart;
+	private int gapEnd;
+
+	private String string;
+
+	public GapTextBuffer () {
+		this(MIN_GAP_SIZE);
+	}
+
+	public GapTextBuffer (int initialCapacity) {
+		buffer = new char[Math.max(initialCapacity, MIN_GAP_SIZE)];
+		gapEnd = buffer.length;
+	}
+
+	@Override
+	public int length () {
+		return buffer.length - (gapEnd - gapStart);
+	}
+
+	@Override
+	public char charAt (int index) {
+		if (index < 0 || index >= length()) throw new IndexOutOfBoundsException("index: " + index + ", length: " + length());
+		return index < gapStart ? buffer[index] : buffer[index + gapEnd - gapStart];
+	}
+
+	@Override
+	public CharSequence subSequence (int start, int end) {
+		return substring(start, end);
+	}
+
+	@Override
+	public String substring (int start, int end) {
+		checkRange(start, end);
+		if (start == end) return "";
+		if (end <= gapStart) return new String(buffer, start, end - start);
+		int gapSize = gapEnd - gapStart;
+		if (start >= gapStart) return new String(buffer, start + gapSize, end - start);
+		char[] chars = new char[end - start];
+		getChars(start, end, chars, 0);
+		return new String(chars);
+	}
+
+	@Override
+	public void getChars (int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+		checkRange(srcBegin, srcEnd);
+		int gapSize = gapEnd - gapStart;
+		if (srcBegin < gapStart) {
+			int count = Math.min(srcEnd, gapStart) - srcBegin;
+			System.arraycopy(buffer, srcBegin, dst, dstBegin, count);
+			dstBegin += count;
+			srcBegin += count;
+		}
+		if (srcBegin < srcEnd) System.arraycopy(buffer, srcBegin + gapSize, dst, dstBegin, srcEnd - srcBegin);
+	}
+
+	@Override
+	public void replace (int start, int end, CharSequence content) {
+		checkRange(start, end);
+		int contentLength = content.length();
+		if (start == end && contentLength == 0) return;
+		string = null;
+
+		moveGap(start);
+		gapEnd += end - start;
+		ensureGapSize(contentLength);
+		for (int i = 0; i < contentLength; i++) {
+			buffer[gapStart++] = content.charAt(i);
+		}
+	}
+
+	private void moveGap (int position) {
+		if (position == gapStart) return;
+		int gapSize = gapEnd - gapStart;
+		if (position < gapStart) {
+			System.arraycopy(buffer, position, buffer, position + gapSize, gapStart - position);
+		} else {
+			System.arraycopy(buffer, gapEnd, buffer, gapStart, position - gapStart);
+		}
+		gapStart = position;
+		gapEnd = position + gapSize;
+	}
+
+	private void ensureGapSize (int size) {
+		if (gapEnd - gapStart >= size) return;
+		int length = length();
+		int newCapacity = Math.max(length + size + MIN_GAP_SIZE, buffer.length * 2);
+		char[] newBuffer = new char[newCapacity];
+		int tailLength = buffer.length - gapEnd;
+		System.arraycopy(buffer, 0, newBuffer, 0, gapStart);
+		System.arraycopy(buffer, gapEnd, newBuffer, newCapacity - tailLength, tailLength);
+		buffer = newBuffer;
+		gapEnd = newCapacity - tailLength;
+	}
+
+	private void checkRange (int start, int end) {
+		if (start < 0 || end > length() || start > end) {
+			throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length());
+		}
+	}
+
+	@Override
+	public String toString () {
+		if (string == null) string = substring(0, length());
+		return string;
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.util.text;
+
+import com.kotcrab.vis.ui.widget.VisTextField;
+
+/**
+ * Editable text storage used by {@link VisTextField} and its subclasses. Implementations should make local edits (inserting
+ * and removing text near previous edit position) cheap regardless of text length.
+ * @author Kotcrab
+ * @see GapTextBuffer
+ * @since 1.5.1
+ */
+public interface TextBuffer extends CharSequence {
+	/** Replaces text between start (inclusive) and end (exclusive) with given content, content may be empty. */
+	void replace (int start, int end, CharSequence content);
+
+	/** @return text between start (inclusive) and end (exclusive) as new string */
+	String substring (int start, int end);
+
+	/** Copies characters between srcBegin (inclusive) and srcEnd (exclusive) into dst array starting at dstBegin. */
+	void getChars (int srcBegin, int srcEnd, char[] dst, int dstBegin);
+
+	/**
+	 * @return whole text as string. Implementations should cache returned string until text is modified, this is called
+	 * by {@link VisTextField#getText()}.
+	 */
+	@Override
+	String toString ();
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.util.text;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Queue;
+import com.kotcrab.vis.ui.widget.VisTextField;
+
+/**
+ * Undo and redo history of text edits used by {@link VisTextField}. Instead of snapshots of whole text only replaced ranges
+ * are stored. Consecutive typed edits (typing characters, backspace or delete runs) made in short time are merged into single
+ * edit. Total size of stored text is limited, when limit is exceeded oldest edits are removed. Single edit larger than limit
+ * is not stored, previous edits that it doesn't overlap can be still undone.
+ * @author Kotcrab
+ * @since 1.5.1
+ */
+public class TextEditHistory {
+	/** Default max history size in bytes */
+	public static final int DEFAULT_MAX_SIZE = 1024 * 1024;
+	/** Max time in ms between typed edits that allows them to be merged */
+	public static final long MERGE_TIME = 750;
+
+	private final Queue<Edit> undoEdits = new Queue<Edit>();
+	private final Array<Edit> redoEdits = new Array<Edit>();
+	private int maxSize = DEFAULT_MAX_SIZE;
+	/** Current size of all edits, in bytes */
+	private int size;
+
+	/**
+	 * Records text edit, all edits that could be redone are removed.
+	 * @param start start of replaced text
+	 * @param removed text that was removed
+	 * @param inserted text that was inserted in place of removed text
+	 * @param typed if true edit was made by typing and may be merged with previous typed edit
+	 * @param time time of the edit in milliseconds
+	 */
+	public void textReplaced (int start, CharSequence removed, CharSequence inserted, boolean typed, long time) {
+		clearRedo();
+		if (maxSize <= 0) return;
+		if (getSize(removed, inserted) > maxSize) {
+			skipEdit(start, removed.length(), inserted.length());
+			return;
+		}
+
+		Edit last = undoEdits.size == 0 ? null : undoEdits.last();
+		if (typed && last != null && last.typed && time - last.time <= MERGE_TIME && merge(last, start, removed, inserted)) {
+			last.time = time;
+			size += getSize(removed, inserted);
+		} else {
+			Edit edit = new Edit();
+			edit.start = start;
+			edit.removed.append(removed);
+			edit.inserted.append(inserted);
+			edit.typed = typed;
+			edit.time = time;
+			undoEdits.addLast(edit);
+			size += getSize(edit);
+		}
+
+		while (size > maxSize && undoEdits.size > 0) {
+			size -= getSize(undoEdits.removeFirst());
+		}
+	}
+
+	/**
+	 * Called for edit that is too large to be stored. Stored edits are moved past it so they can be still undone,
+	 * starting from newest one. Edit that overlaps skipped edit and all edits older than it are removed.
+	 */
+	private void skipEdit (int start, int removedLength, int insertedLength) {
+		for (int i = undoEdits.size - 1; i >= 0; i--) {
+			Edit edit = undoEdits.get(i);
+			if (start >= edit.start + edit.inserted.length()) {
+				start -= edit.inserted.length() - edit.removed.length();
+			} else if (start + removedLength <= edit.start) {
+				edit.start += insertedLength - removedLength;
+			} else {
+				for (int j = 0; j <= i; j++) {
+					size -= getSize(undoEdits.removeFirst());
+				}
+				break;
+			}
+		}
+		if (undoEdits.size > 0) undoEdits.last().typed = false;
+	}
+
+	private boolean merge (Edit last, int start, CharSequence removed, CharSequence inserted) {
+		if (removed.length() == 0 && start == last.start + last.inserted.length()) { //typing
+			last.inserted.append(inserted);
+			return true;
+		}
+		if (inserted.length() == 0 && last.inserted.length() == 0) {
+			if (start + removed.length() == last.start) { //backspace
+				last.removed.insert(0, removed);
+				last.start = start;
+				return true;
+			}
+			if (start == last.start) { //delete
+				last.removed.append(removed);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** @return edit that would be reverted by undo or null if there is nothing to undo. Edit is not removed from history. */
+	public Edit getUndoEdit () {
+		return undoEdits.size == 0 ? null : undoEdits.last();
+	}
+
+	/** Moves last edit from undo history to redo history, must be called after edit returned by {@link #getUndoEdit()} was reverted. */
+	public void undone () {
+		Edit edit = undoEdits.removeLast();
+		edit.typed = false; //edit can't be merged after it was redone
+		redoEdits.add(edit);
+		if (undoEdits.size > 0) undoEdits.last().typed = false;
+	}
+
+	/** @return edit that would be applied again by redo or null if there is nothing to redo. Edit is not removed from history. */
+	public Edit getRedoEdit () {
+		return redoEdits.size == 0 ? null : redoEdits.peek();
+	}
+
+	/** Moves last edit from redo history to undo history, must be called after edit returned by {@link #getRedoEdit()} was applied. */
+	public void redone () {
+		undoEdits.addLast(redoEdits.pop());
+	}
+
+	public boolean canUndo () {
+		return undoEdits.size > 0;
+	}
+
+	public boolean canRedo () {
+		return redoEdits.size > 0;
+	}
+
+	public void clear () {
+		undoEdits.clear();
+		redoEdits.clear();
+		size = 0;
+	}
+
+	private void clearRedo () {
+		for (Edit edit : redoEdits) {
+			size -= getSize(edit);
+		}
+		redoEdits.clear();
+	}
+
+	/** @param maxSize max size of all stored edits in bytes, 0 disables history */
+	public void setMaxSize (int maxSize) {
+		this.maxSize = maxSize;
+		while (size > maxSize && undoEdits.size > 0) {
+			size -= getSize(undoEdits.removeFirst());
+		}
+		if (size > maxSize) clearRedo();
+	}
+
+	public int getMaxSize () {
+		return maxSize;
+	}
+
+	/** @return size of all stored edits in bytes */
+	public int getSize () {
+		return size;
+	}
+
+	private static int getSize (Edit edit) {
+		return getSize(edit.removed, edit.inserted);
+	}
+
+	private static int getSize (CharSequence removed, CharSequence inserted) {
+		return (removed.length() + inserted.length()) * 2;
+	}
+
+	/** Single text edit, text between start and start + removed length was replaced with inserted text. */
+	public static class Edit {
+		private int start;
+		private final StringBuilder removed = new StringBuilder();
+		private final StringBuilder inserted = new StringBuilder();
+		private boolean typed;
+		private long time;
+
+		public int getStart () {
+			return start;
+		}
+
+		public CharSequence getRemoved () {
+			return removed;
+		}
+
+		public CharSequence getInserted () {
+			return inserted;
+		}
+	}
+}
@@ -16,17 +16,23 @@
 
 package com.kotcrab.vis.ui.widget;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
+import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.Pool;
-import com.badlogic.gdx.utils.Pools;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncTask;
 import com.kotcrab.vis.ui.util.highlight.BaseHighlighter;
 import com.kotcrab.vis.ui.util.highlight.Highlight;
 import com.kotcrab.vis.ui.util.highlight.Highlighter;
+import com.kotcrab.vis.ui.util.highlight.LineHighlightRule;
+
+import java.util.Arrays;
 
 /**
  * Text area implementation supporting highlighting words and scrolling in both X and Y directions.
@@ -36,20 +42,56 @@ import com.kotcrab.vis.ui.util.highlight.Highlighter;
  * Note about overlapping highlights: this text area can handle overlapping highlights, highlights that starts earlier
  * have higher priority. If two highlights have the exactly the same start point, then it is undefined which highlight
  * will be used and depends on how array containing highlights will be sorted.
+ * <p>
+ * When all highlighter rules are {@link LineHighlightRule}s only lines modified since last update are highlighted again,
+ * followed by lines which state at line start was changed by modification. Otherwise whole text is highlighted after each
+ * modification.
+ * <p>
+ * Highlighter can be also run on different thread using {@link #setHighlightingExecutor(AsyncExecutor)}, until highlighting
+ * finishes previous highlights are displayed.
  * @author Kotcrab
  * @see Highlighter
  * @since 1.1.2
  */
 public class HighlightTextArea extends ScrollableTextArea {
+	/** Minimal count of unused ranges that causes ranges array to be compacted */
+	private static final int MIN_COMPACT_RANGES = 256;
+
+	/** Temporary array used to collect highlights created by highlighter */
 	private Array<Highlight> highlights = new Array<Highlight>();
-	private Array<Chunk> renderChunks = new Array<Chunk>();
-	private boolean chunkUpdateScheduled = true;
+	/** Highlights of whole text, used only when highlighter can't process text line by line */
+	private Ranges textHighlights = new Ranges();
+	private Array<HighlightedLine> lines = new Array<HighlightedLine>();
+	/** Highlights of all lines, highlights of single line are stored next to each other */
+	private Ranges lineHighlights = new Ranges();
+	/**
+	 * Render chunks of all lines, chunks of single line are stored next to each other. Chunk positions are relative to line
+	 * start so chunks of lines following modified text stay valid when they are shifted.
+	 */
+	private Ranges renderChunks = new Ranges();
+	private Ranges tmpRanges = new Ranges();
+	private boolean fullUpdateScheduled = true;
+	private ModifiedTextRange highlightsModifiedRange;
+	private int[] states = new int[0];
+	private boolean carryHighlight;
 	private Color defaultColor = Color.WHITE;
 
 	private BaseHighlighter highlighter;
+	/** Incremented each time highlighter or its rules has changed, results of highlighting started before are discarded */
+	private int highlighterVersion;
+
+	private AsyncExecutor highlightingExecutor;
+	private boolean highlightingTaskRunning;
+	/** True when text was modified while highlighting task was running */
+	private boolean highlightingTaskPending;
 
 	private float maxAreaWidth = 0;
 	private float maxAreaHeight = 0;
+	private float maxLineWidth;
+	/** Index of line with width equal to {@link #maxLineWidth} or -1 when widths of all lines have to be measured again */
+	private int maxWidthLine = -1;
+	/** Count of lines when {@link #maxLineWidth} was updated */
+	private int measuredLinesCount;
 
 	public HighlightTextArea (String text) {
 		super(text);
@@ -71,118 +113,495 @@ public class HighlightTextArea extends ScrollableTextArea {
 	}
 
 	@Override
-	void updateDisplayText () {
-		super.updateDisplayText();
-		processHighlighter();
+	protected void initialize () {
+		super.initialize();
+		highlightsModifiedRange = new ModifiedTextRange();
+	}
+
+	@Override
+	void textReplaced (int start, int end, int length) {
+		super.textReplaced(start, end, length);
+		highlightsModifiedRange.textReplaced(start, end, length);
 	}
 
 	@Override
 	protected void calculateOffsets () {
+		int oldLinesCount = lines.size;
 		super.calculateOffsets();
-		if (chunkUpdateScheduled == false) return;
-		chunkUpdateScheduled = false;
-		highlights.sort();
+		if (fullUpdateScheduled == false && highlightsModifiedRange.isEmpty()) {
+			if (highlightingTaskPending && highlightingTaskRunning == false && isHighlightingAsync()) scheduleHighlighting();
+			return;
+		}
+
+		if (isHighlightingAsync()) {
+			//until highlighting finishes lines not modified are displayed with previous highlights
+			if (fullUpdateScheduled || updateModifiedLines(oldLinesCount, false) == false) resetLines();
+			scheduleHighlighting();
+		} else if (fullUpdateScheduled || (highlighter != null && highlighter.isLineBased() == false)
+				|| updateModifiedLines(oldLinesCount, true) == false) {
+			updateAllHighlights();
+		}
+		if (fullUpdateScheduled || highlightsModifiedRange.isEmpty()) maxWidthLine = -1;
+		updateMaxLineWidth(highlightsModifiedRange.start, highlightsModifiedRange.end);
+		fullUpdateScheduled = false;
+		highlightsModifiedRange.clear();
+
+		maxAreaWidth = Math.max(30, maxLineWidth + 30);
+		maxAreaHeight = linesBreak.size / 2 * style.font.getLineHeight() + 30;
+
+		updateScrollLayout();
+	}
+
+	/**
+	 * Measures only lines of modified paragraphs, widths of other lines didn't change. All lines are measured again only
+	 * when widest line was modified.
+	 */
+	private void updateMaxLineWidth (int modifiedStart, int modifiedEnd) {
+		int linesCount = linesBreak.size / 2;
+		int oldLinesCount = measuredLinesCount;
+		measuredLinesCount = linesCount;
+		if (maxWidthLine != -1) {
+			int textLength = text.length();
+			int paragraphStart = Math.min(modifiedStart, textLength);
+			while (paragraphStart > 0 && isLineBreak(text.charAt(paragraphStart - 1)) == false) paragraphStart--;
+			int paragraphEnd = Math.min(modifiedEnd, textLength);
+			while (paragraphEnd < textLength && isLineBreak(text.charAt(paragraphEnd)) == false) paragraphEnd++;
+
+			int firstLine = findLineStartIndex(paragraphStart) / 2;
+			int regionEnd = findLineStartIndex(paragraphEnd + 1) / 2;
+			int sizeDelta = linesCount - oldLinesCount;
+			int oldRegionEnd = regionEnd - sizeDelta;
+			boolean widestLineModified = maxWidthLine >= firstLine && maxWidthLine < oldRegionEnd;
+			if (maxWidthLine >= oldRegionEnd) maxWidthLine += sizeDelta;
+			if (oldRegionEnd >= firstLine && widestLineModified == false && maxWidthLine < linesCount) {
+				measureLines(firstLine, regionEnd);
+				return;
+			}
+			maxWidthLine = -1;
+		}
+
+		maxLineWidth = 0;
+		measureLines(0, linesCount);
+	}
+
+	private void measureLines (int firstLine, int linesEnd) {
+		float[] glyphPositions = this.glyphPositions.items;
+		int[] linesBreak = this.linesBreak.items;
+		for (int i = firstLine; i < linesEnd; i++) {
+			float lineWidth = glyphPositions[linesBreak[i * 2 + 1]] - glyphPositions[linesBreak[i * 2]];
+			if (lineWidth > maxLineWidth || maxWidthLine == -1) {
+				maxLineWidth = lineWidth;
+				maxWidthLine = i;
+			}
+		}
+	}
+
+	/** Replaces all lines with lines without any highlights. */
+	private void resetLines () {
+		int linesCount = linesBreak.size / 2;
+		lines.clear();
+		lineHighlights.clear();
 		renderChunks.clear();
+		for (int i = 0; i < linesCount; i++) {
+			HighlightedLine line = new HighlightedLine();
+			line.start = linesBreak.items[i * 2];
+			lines.add(line);
+		}
+	}
 
-		String text = getText();
-
-		Pool<GlyphLayout> layoutPool = Pools.get(GlyphLayout.class);
-		GlyphLayout layout = layoutPool.obtain();
-		boolean carryHighlight = false;
-		for (int lineIdx = 0, highlightIdx = 0; lineIdx < linesBreak.size; lineIdx += 2) {
-			int lineStart = linesBreak.items[lineIdx];
-			int lineEnd = linesBreak.items[lineIdx + 1];
-			int lineProgress = lineStart;
-			float chunkOffset = 0;
-
-			for (; highlightIdx < highlights.size; ) {
-				Highlight highlight = highlights.get(highlightIdx);
-				if (highlight.getStart() > lineEnd) {
-					break;
-				}
+	private void updateAllHighlights () {
+		int linesCount = linesBreak.size / 2;
+		resetLines();
+
+		if (highlighter != null && highlighter.isLineBased() == false) {
+			highlighter.process(this, highlights);
+			highlights.sort();
+			textHighlights.clear();
+			textHighlights.addAll(highlights);
+			Highlight.free(highlights);
+			highlights.clear();
 
-				if (highlight.getStart() == lineProgress || carryHighlight) {
-					renderChunks.add(new Chunk(text.substring(lineProgress, Math.min(highlight.getEnd(), lineEnd)), highlight.getColor(), chunkOffset, lineIdx));
-					lineProgress = Math.min(highlight.getEnd(), lineEnd);
+			carryHighlight = false;
+			for (int lineIdx = 0, highlightIdx = 0; lineIdx < linesCount; lineIdx++) {
+				HighlightedLine line = lines.get(lineIdx);
+				int lineStart = linesBreak.items[lineIdx * 2];
+				line.start = lineStart;
+				highlightIdx = buildChunks(line, lineStart, linesBreak.items[lineIdx * 2 + 1], textHighlights, highlightIdx,
+						textHighlights.size, 0);
+			}
+			textHighlights.clear();
+		} else {
+			highlightLines(0, linesCount, null);
+		}
+	}
+
+	/**
+	 * Splices lines affected by text modification and highlights them again.
+	 * @param highlight if false modified lines are replaced with lines without any highlights
+	 * @return false if modified lines couldn't be matched with lines highlighted before modification
+	 */
+	private boolean updateModifiedLines (int oldLinesCount, boolean highlight) {
+		int textLength = text.length();
+		int paragraphStart = Math.min(highlightsModifiedRange.start, textLength);
+		while (paragraphStart > 0 && isLineBreak(text.charAt(paragraphStart - 1)) == false) paragraphStart--;
+		int paragraphEnd = Math.min(highlightsModifiedRange.end, textLength);
+		while (paragraphEnd < textLength && isLineBreak(text.charAt(paragraphEnd)) == false) paragraphEnd++;
+
+		int firstLine = findLineStartIndex(paragraphStart) / 2;
+		int regionEnd = findLineStartIndex(paragraphEnd + 1) / 2;
+		int insertedCount = regionEnd - firstLine;
+		int removedCount = insertedCount - (linesBreak.size / 2 - oldLinesCount);
+		if (removedCount < 0 || firstLine + removedCount > oldLinesCount) return false;
+
+		// state at the start of first line following modified lines, before modification
+		int oldStatesIndex = firstLine + removedCount - 1;
+		int[] oldStates = oldStatesIndex >= 0 ? lines.get(oldStatesIndex).endStates : null;
+
+		int sizeDelta = insertedCount - removedCount;
+		Object[] items = sizeDelta > 0 ? lines.ensureCapacity(sizeDelta) : lines.items;
+		int tailStart = firstLine + removedCount;
+		for (int i = firstLine; i < tailStart; i++) {
+			removeHighlights((HighlightedLine) items[i]);
+			invalidateChunks((HighlightedLine) items[i]);
+		}
+		System.arraycopy(items, tailStart, items, tailStart + sizeDelta, lines.size - tailStart);
+		for (int i = 0; i < insertedCount; i++) {
+			HighlightedLine line = new HighlightedLine();
+			line.start = linesBreak.items[(firstLine + i) * 2];
+			items[firstLine + i] = line;
+		}
+		if (sizeDelta < 0) Arrays.fill(items, lines.size + sizeDelta, lines.size, null);
+		lines.size += sizeDelta;
 
-					if (highlight.getEnd() > lineEnd) {
-						carryHighlight = true;
-					} else {
-						carryHighlight = false;
-						highlightIdx++;
+		if (highlight) highlightLines(firstLine, regionEnd, oldStates);
+		return true;
+	}
+
+	private boolean isHighlightingAsync () {
+		return highlightingExecutor != null && (highlighter == null || highlighter.canProcessText());
+	}
+
+	/** Starts highlighting snapshot of current text using highlighting executor, if task is already running it will be started after it finishes. */
+	private void scheduleHighlighting () {
+		if (highlightingTaskRunning) {
+			highlightingTaskPending = true;
+			return;
+		}
+		highlightingTaskRunning = true;
+		highlightingTaskPending = false;
+
+		final BaseHighlighter highlighter = this.highlighter;
+		final String text = getText();
+		final int textVersion = this.textVersion;
+		final int highlighterVersion = this.highlighterVersion;
+		highlightingExecutor.submit(new AsyncTask<Void>() {
+			@Override
+			public Void call () {
+				HighlightingResult result = null;
+				try {
+					result = highlightText(highlighter, text);
+				} catch (RuntimeException e) {
+					Gdx.app.log("VisUI", "Can't highlight text", e);
+				}
+
+				final HighlightingResult finalResult = result;
+				Gdx.app.postRunnable(new Runnable() {
+					@Override
+					public void run () {
+						highlightingFinished(finalResult, textVersion, highlighterVersion);
 					}
+				});
+				return null;
+			}
+		});
+	}
+
+	/** Called on highlighting thread, must not access any state of this text area. */
+	private HighlightingResult highlightText (BaseHighlighter highlighter, String text) {
+		Array<Highlight> highlights = new Array<Highlight>();
+		if (highlighter != null) highlighter.process(this, text, highlights);
+		sortHighlights(highlights);
+
+		HighlightingResult result = new HighlightingResult();
+		// highlights that may overlap current line, highlights spanning multiple lines are split
+		Array<Highlight> currentHighlights = new Array<Highlight>();
+		Ranges lineHighlights = new Ranges();
+		int highlightIdx = 0;
+		int lineStart = 0;
+		for (int i = 0, n = text.length(); i <= n; i++) {
+			boolean lineBreak = i < n && (text.charAt(i) == ENTER_DESKTOP || text.charAt(i) == ENTER_ANDROID);
+			if (lineBreak == false && (i < n || lineStart == n)) continue;
+
+			while (highlightIdx < highlights.size && highlights.get(highlightIdx).getStart() < i) {
+				currentHighlights.add(highlights.get(highlightIdx++));
+			}
+
+			lineHighlights.clear();
+			int keptHighlights = 0;
+			for (int j = 0; j < currentHighlights.size; j++) {
+				Highlight highlight = currentHighlights.get(j);
+				int start = Math.max(highlight.getStart(), lineStart);
+				int end = Math.min(highlight.getEnd(), i);
+				if (start < end) lineHighlights.add(start, end, Color.rgba8888(highlight.getColor()), 0);
+				if (highlight.getEnd() > i) currentHighlights.set(keptHighlights++, highlight);
+			}
+			currentHighlights.truncate(keptHighlights);
+			lineHighlights.sort();
+
+			HighlightedLine line = new HighlightedLine();
+			line.start = lineStart;
+			line.highlightsOffset = result.highlights.size;
+			line.highlightsCount = lineHighlights.size;
+			result.highlights.addAll(lineHighlights, 0, lineHighlights.size);
+			result.lines.add(line);
+			lineStart = i + 1;
+		}
+		Highlight.free(highlights);
+		return result;
+	}
+
+	/** Array#sort() uses shared sort instance which can't be used outside of rendering thread. */
+	private static void sortHighlights (Array<Highlight> highlights) {
+		Object[] items = highlights.items;
+		Arrays.sort(items, 0, highlights.size);
+	}
+
+	private void highlightingFinished (HighlightingResult result, int textVersion, int highlighterVersion) {
+		highlightingTaskRunning = false;
+		if (result != null && textVersion == this.textVersion && highlighterVersion == this.highlighterVersion
+				&& result.lines.size == linesBreak.size / 2) {
+			lines = result.lines;
+			lineHighlights = result.highlights;
+			renderChunks.clear();
+		}
+		//pending highlighting is started when offsets are calculated again, after line breaks were updated for modified text
+		Gdx.graphics.requestRendering();
+	}
+
+	/**
+	 * Highlights lines using line based highlighter. All lines before regionEnd are highlighted, following lines are
+	 * highlighted only until state at line start is the same as it was before text modification.
+	 * @param oldStates states at start of line regionEnd before text modification
+	 */
+	private void highlightLines (int firstLine, int regionEnd, int[] oldStates) {
+		int rulesCount = highlighter == null ? 0 : highlighter.getRulesCount();
+		if (states.length != rulesCount) states = new int[rulesCount];
+		copyStates(firstLine == 0 ? null : lines.get(firstLine - 1).endStates, states);
+
+		for (int i = firstLine; i < lines.size; i++) {
+			HighlightedLine line = lines.get(i);
+			if (i >= regionEnd) {
+				if (statesEqual(states, oldStates)) break;
+				oldStates = line.endStates;
+			}
+
+			int lineStart = linesBreak.items[i * 2];
+			line.start = lineStart;
+			removeHighlights(line);
+			invalidateChunks(line);
+			if (highlighter != null) {
+				highlighter.processLine(this, text, lineStart, linesBreak.items[i * 2 + 1], states, highlights);
+				highlights.sort();
+				line.highlightsOffset = lineHighlights.size;
+				line.highlightsCount = highlights.size;
+				lineHighlights.addAll(highlights);
+				Highlight.free(highlights);
+				highlights.clear();
+			}
+			line.endStates = saveStates(states);
+		}
+	}
+
+	private void copyStates (int[] source, int[] target) {
+		for (int i = 0; i < target.length; i++) {
+			target[i] = source == null || i >= source.length ? LineHighlightRule.NO_STATE : source[i];
+		}
+	}
+
+	/** @return copy of states or null if all states are {@link LineHighlightRule#NO_STATE} */
+	private int[] saveStates (int[] states) {
+		for (int state : states) {
+			if (state != LineHighlightRule.NO_STATE) return Arrays.copyOf(states, states.length);
+		}
+		return null;
+	}
+
+	private boolean statesEqual (int[] states, int[] savedStates) {
+		for (int i = 0; i < states.length; i++) {
+			int savedState = savedStates == null || i >= savedStates.length ? LineHighlightRule.NO_STATE : savedStates[i];
+			if (states[i] != savedState) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Creates render chunks of single line from highlights sorted by their start.
+	 * @param highlightIdx index of first highlight that may be used by this line
+	 * @param highlightsEnd index after last highlight that may be used by this line
+	 * @param highlightsShift value added to highlights positions to get their position in current text
+	 * @return index of first highlight that may be used by next line
+	 */
+	private int buildChunks (HighlightedLine line, int lineStart, int lineEnd, Ranges highlights, int highlightIdx,
+							 int highlightsEnd, int highlightsShift) {
+		invalidateChunks(line);
+		line.chunksValid = true;
+		line.chunksOffset = renderChunks.size;
+		int lineProgress = lineStart;
+		int defaultColorBits = Color.rgba8888(defaultColor);
+		int[] starts = highlights.starts.items;
+		int[] ends = highlights.ends.items;
+		int[] colors = highlights.colors.items;
+
+		for (; highlightIdx < highlightsEnd; ) {
+			int highlightStart = starts[highlightIdx] + highlightsShift;
+			int highlightEnd = ends[highlightIdx] + highlightsShift;
+			if (highlightStart > lineEnd) {
+				break;
+			}
+
+			if (highlightStart == lineProgress || carryHighlight) {
+				addChunk(lineStart, lineProgress, Math.min(highlightEnd, lineEnd), colors[highlightIdx]);
+				lineProgress = Math.min(highlightEnd, lineEnd);
+
+				if (highlightEnd > lineEnd) {
+					carryHighlight = true;
 				} else {
-					//protect against overlapping highlights
-					boolean noMatch = false;
-					while (highlight.getStart() <= lineProgress) {
-						highlightIdx++;
-						if (highlightIdx >= highlights.size) {
-							noMatch = true;
-							break;
-						}
-						highlight = highlights.get(highlightIdx);
-						if (highlight.getStart() > lineEnd) {
-							noMatch = true;
-							break;
-						}
+					carryHighlight = false;
+					highlightIdx++;
+				}
+			} else {
+				//protect against overlapping highlights
+				boolean noMatch = false;
+				while (highlightStart <= lineProgress) {
+					highlightIdx++;
+					if (highlightIdx >= highlightsEnd) {
+						noMatch = true;
+						break;
+					}
+					highlightStart = starts[highlightIdx] + highlightsShift;
+					if (highlightStart > lineEnd) {
+						noMatch = true;
+						break;
 					}
-					if (noMatch) break;
-					renderChunks.add(new Chunk(text.substring(lineProgress, highlight.getStart()), defaultColor, chunkOffset, lineIdx));
-					lineProgress = highlight.getStart();
 				}
-
-				Chunk chunk = renderChunks.peek();
-				layout.setText(style.font, chunk.text);
-				chunkOffset += layout.width;
-				//current highlight needs to be applied to next line meaning that there is no other highlights that can be applied to currently parsed line
-				if (carryHighlight) break;
+				if (noMatch) break;
+				addChunk(lineStart, lineProgress, highlightStart, defaultColorBits);
+				lineProgress = highlightStart;
 			}
 
-			if (lineProgress < lineEnd) {
-				renderChunks.add(new Chunk(text.substring(lineProgress, lineEnd), defaultColor, chunkOffset, lineIdx));
-			}
+			//current highlight needs to be applied to next line meaning that there is no other highlights that can be applied to currently parsed line
+			if (carryHighlight) break;
 		}
 
-		maxAreaWidth = 0;
-		for (String line : text.split("\\n")) {
-			layout.setText(style.font, line);
-			maxAreaWidth = Math.max(maxAreaWidth, layout.width + 30);
+		if (lineProgress < lineEnd) {
+			addChunk(lineStart, lineProgress, lineEnd, defaultColorBits);
 		}
+		line.chunksCount = renderChunks.size - line.chunksOffset;
+		return highlightIdx;
+	}
 
-		layoutPool.free(layout);
-		updateScrollLayout();
+	private void addChunk (int lineStart, int start, int end, int color) {
+		float offsetX = glyphPositions.get(start) - glyphPositions.get(lineStart);
+		renderChunks.add(start - lineStart, end - lineStart, color, offsetX);
+	}
+
+	private void removeHighlights (HighlightedLine line) {
+		lineHighlights.unused += line.highlightsCount;
+		line.highlightsCount = 0;
+	}
+
+	private void invalidateChunks (HighlightedLine line) {
+		if (line.chunksValid) renderChunks.unused += line.chunksCount;
+		line.chunksValid = false;
+		line.chunksCount = 0;
+	}
+
+	/** Removes highlights and render chunks that no longer belong to any line, remaining ones are stored in lines order. */
+	private void compactRanges () {
+		if (lineHighlights.isCompactionNeeded()) {
+			Ranges compacted = tmpRanges;
+			compacted.clear();
+			for (HighlightedLine line : lines) {
+				int offset = compacted.size;
+				compacted.addAll(lineHighlights, line.highlightsOffset, line.highlightsCount);
+				line.highlightsOffset = offset;
+			}
+			tmpRanges = lineHighlights;
+			lineHighlights = compacted;
+		}
+
+		if (renderChunks.isCompactionNeeded()) {
+			Ranges compacted = tmpRanges;
+			compacted.clear();
+			for (HighlightedLine line : lines) {
+				if (line.chunksValid == false) continue;
+				int offset = compacted.size;
+				compacted.addAll(renderChunks, line.chunksOffset, line.chunksCount);
+				line.chunksOffset = offset;
+			}
+			tmpRanges = renderChunks;
+			renderChunks = compacted;
+		}
 	}
 
 	@Override
 	protected void drawText (Batch batch, BitmapFont font, float x, float y) {
-		maxAreaHeight = 0;
-		float offsetY = 0;
+		int firstLine = getFirstVisibleLine();
+		int linesEnd = getVisibleLinesEnd();
+		float offsetY = -(firstLine - firstLineShowing) * font.getLineHeight();
 		float parentAlpha = font.getColor().a;
-		for (int i = firstLineShowing * 2; i < (firstLineShowing + linesShowing) * 2 && i < linesBreak.size; i += 2) {
-			for (Chunk chunk : renderChunks) {
-				if (chunk.lineIndex == i) {
-					font.setColor(chunk.color);
-					font.getColor().a *= parentAlpha;
-					font.draw(batch, chunk.text, x + chunk.offsetX, y + offsetY);
+		compactRanges();
+		for (int i = firstLine * 2; i < linesEnd * 2 && i < linesBreak.size; i += 2) {
+			HighlightedLine line = i / 2 < lines.size ? lines.get(i / 2) : null;
+			if (line != null) {
+				int lineStart = linesBreak.items[i];
+				if (line.chunksValid == false) {
+					carryHighlight = false;
+					buildChunks(line, lineStart, linesBreak.items[i + 1], lineHighlights, line.highlightsOffset,
+							line.highlightsOffset + line.highlightsCount, lineStart - line.start);
+				}
+				int[] starts = renderChunks.starts.items;
+				int[] ends = renderChunks.ends.items;
+				int[] colors = renderChunks.colors.items;
+				float[] offsetsX = renderChunks.offsetsX.items;
+				for (int chunkIdx = line.chunksOffset, end = line.chunksOffset + line.chunksCount; chunkIdx < end; chunkIdx++) {
+					Color color = font.getColor();
+					color.set(colors[chunkIdx]);
+					color.a *= parentAlpha;
+					font.draw(batch, displayText, x + offsetsX[chunkIdx], y + offsetY, lineStart + starts[chunkIdx],
+							lineStart + ends[chunkIdx], 0, Align.left, false);
 				}
 			}
 
 			offsetY -= font.getLineHeight();
-			maxAreaHeight += font.getLineHeight();
 		}
-
-		maxAreaHeight += 30;
 	}
 
 	/**
-	 * Processes highlighter rules, collects created highlights and schedules text area displayed text update. This should be called
-	 * after highlighter rules has changed to update highlights.
+	 * Schedules processing of highlighter rules for whole text, highlights will be updated before text area is drawn.
+	 * This should be called after highlighter rules has changed to update highlights.
 	 */
 	public void processHighlighter () {
-		if (highlights == null) return;
-		highlights.clear();
-		if (highlighter != null) highlighter.process(this, highlights);
-		chunkUpdateScheduled = true;
+		fullUpdateScheduled = true;
+		highlighterVersion++;
+	}
+
+	/**
+	 * Sets executor used to run highlighter on different thread, text typed by user is then not delayed by highlighting.
+	 * Highlighting is done on snapshot of text, results are applied only if text was not modified in the meantime, until
+	 * then previous highlights are displayed and shifted when text is modified. Highlighter rules must not be modified while
+	 * highlighting is running. Asynchronous highlighting can be only used when {@link BaseHighlighter#canProcessText()}
+	 * returns true, otherwise highlighter is still run on rendering thread.
+	 * @param highlightingExecutor executor used to run highlighter or null to highlight text on rendering thread. Executor
+	 * is not disposed by text area.
+	 */
+	public void setHighlightingExecutor (AsyncExecutor highlightingExecutor) {
+		this.highlightingExecutor = highlightingExecutor;
+		processHighlighter();
+	}
+
+	public AsyncExecutor getHighlightingExecutor () {
+		return highlightingExecutor;
 	}
 
 	/**
@@ -215,17 +634,92 @@ public class HighlightTextArea extends ScrollableTextArea {
 		return scrollPane;
 	}
 
-	private static class Chunk {
-		String text;
-		Color color;
-		float offsetX;
-		int lineIndex;
+	/** Highlights and render chunks of single text line. */
+	private static class HighlightedLine {
+		/** Line start at the time line was highlighted, highlights positions are relative to it */
+		int start;
+		/** Index of first highlight of this line in {@link #lineHighlights} */
+		int highlightsOffset;
+		int highlightsCount;
+		/** States of highlighter rules at line end, null if all rules had no state */
+		int[] endStates;
+		/** Index of first render chunk of this line in {@link #renderChunks} */
+		int chunksOffset;
+		int chunksCount;
+		boolean chunksValid;
+	}
 
-		public Chunk (String text, Color color, float offsetX, int lineIndex) {
-			this.text = text;
-			this.color = color;
-			this.offsetX = offsetX;
-			this.lineIndex = lineIndex;
+	/**
+	 * Text ranges stored as parallel arrays, used both for highlights and render chunks. Colors are stored as RGBA8888,
+	 * x offsets are only used by render chunks.
+	 */
+	private static class Ranges {
+		final IntArray starts = new IntArray();
+		final IntArray ends = new IntArray();
+		final IntArray colors = new IntArray();
+		final FloatArray offsetsX = new FloatArray();
+		int size;
+		/** Count of ranges that no longer belong to any line */
+		int unused;
+
+		void add (int start, int end, int color, float offsetX) {
+			starts.add(start);
+			ends.add(end);
+			colors.add(color);
+			offsetsX.add(offsetX);
+			size++;
+		}
+
+		void addAll (Array<Highlight> highlights) {
+			for (int i = 0; i < highlights.size; i++) {
+				Highlight highlight = highlights.get(i);
+				add(highlight.getStart(), highlight.getEnd(), Color.rgba8888(highlight.getColor()), 0);
+			}
 		}
+
+		void addAll (Ranges ranges, int offset, int count) {
+			starts.addAll(ranges.starts, offset, count);
+			ends.addAll(ranges.ends, offset, count);
+			colors.addAll(ranges.colors, offset, count);
+			offsetsX.addAll(ranges.offsetsX, offset, count);
+			size += count;
+		}
+
+		/** Sorts ranges by their start, insertion sort is used as there are only few highlights in single line. */
+		void sort () {
+			int[] starts = this.starts.items;
+			int[] ends = this.ends.items;
+			int[] colors = this.colors.items;
+			for (int i = 1; i < size; i++) {
+				int start = starts[i], end = ends[i], color = colors[i];
+				int j = i - 1;
+				for (; j >= 0 && starts[j] > start; j--) {
+					starts[j + 1] = starts[j];
+					ends[j + 1] = ends[j];
+					colors[j + 1] = colors[j];
+				}
+				starts[j + 1] = start;
+				ends[j + 1] = end;
+				colors[j + 1] = color;
+			}
+		}
+
+		boolean isCompactionNeeded () {
+			return unused > MIN_COMPACT_RANGES && unused > size / 2;
+		}
+
+		void clear () {
+			starts.clear();
+			ends.clear();
+			colors.clear();
+			offsetsX.clear();
+			size = 0;
+			unused = 0;
+		}
+	}
+
+	private static class HighlightingResult {
+		final Array<HighlightedLine> lines = new Array<HighlightedLine>();
+		final Ranges highlights = new Ranges();
 	}
 }
@@ -17,16 +17,30 @@
 package com.kotcrab.vis.ui.widget;
 
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Cell;
+import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
+import com.badlogic.gdx.scenes.scene2d.utils.Layout;
+import com.badlogic.gdx.utils.Array;
 import com.kotcrab.vis.ui.VisUI;
 import com.kotcrab.vis.ui.util.adapter.AbstractListAdapter;
 import com.kotcrab.vis.ui.util.adapter.ArrayAdapter;
 import com.kotcrab.vis.ui.util.adapter.ArrayListAdapter;
 import com.kotcrab.vis.ui.util.adapter.ListAdapter;
+import com.kotcrab.vis.ui.util.adapter.VirtualListAdapter;
 
 /**
  * ListView displays list of scrollable items. Item views are created by using {@link ListAdapter}s.
+ * <p>
+ * ListView can be virtualized, in such mode views are created only for visible items (plus few items outside
+ * of visible area, see {@link #setOverscan(int)}) and are reused when list is scrolled. Frame time of virtualized
+ * ListView does not depend on number of items. All items must have the same height, see {@link #setItemHeight(float)}.
+ * Virtualized ListView requires {@link VirtualListAdapter}, all adapters extending {@link AbstractListAdapter} support it.
+ * When adapter reports changes of single items (see {@link ListAdapterListener}) virtualized ListView only updates views
+ * of affected items. Non virtualized ListView only adds views of appended items and removes views of removed items,
+ * other changes cause it to be fully rebuilt.
  * @author Kotcrab
  * @see ListAdapter
  * @see ArrayAdapter
@@ -39,12 +53,20 @@ public class ListView<ItemT> {
 
 	private UpdatePolicy updatePolicy = UpdatePolicy.IMMEDIATELY;
 	private boolean dataInvalidated = false;
+	private int updateDepth;
+	private boolean updateInvalidated;
 
 	private ListViewTable<ItemT> mainTable;
 	private VisScrollPane scrollPane;
 
 	private VisTable scrollTable;
 	private VisTable itemsTable;
+	private Array<Actor> tmpItemViews = new Array<Actor>();
+
+	private boolean virtualized;
+	private VirtualItemsGroup virtualItemsGroup;
+	private float itemHeight;
+	private int overscan = 2;
 
 	private Actor header;
 	private Actor footer;
@@ -58,13 +80,47 @@ public class ListView<ItemT> {
 	}
 
 	public ListView (ListAdapter<ItemT> adapter, ListViewStyle style) {
+		this(adapter, style, false);
+	}
+
+	/** @param virtualized if true views will be only created for visible items, see {@link #setVirtualized(boolean)} */
+	public ListView (ListAdapter<ItemT> adapter, boolean virtualized) {
+		this(adapter, "default", virtualized);
+	}
+
+	/** @param virtualized if true views will be only created for visible items, see {@link #setVirtualized(boolean)} */
+	public ListView (ListAdapter<ItemT> adapter, String styleName, boolean virtualized) {
+		this(adapter, VisUI.getSkin().get(styleName, ListViewStyle.class), virtualized);
+	}
+
+	/** @param virtualized if true views will be only created for visible items, see {@link #setVirtualized(boolean)} */
+	public ListView (ListAdapter<ItemT> adapter, ListViewStyle style, boolean virtualized) {
 		if (style == null) throw new IllegalArgumentException("style can't be null");
 		if (adapter == null) throw new IllegalArgumentException("adapter can't be null");
+		if (virtualized) checkVirtualAdapter(adapter);
 		this.adapter = adapter;
+		this.virtualized = virtualized;
 
 		mainTable = new ListViewTable<ItemT>(this);
-		scrollTable = new VisTable();
+		scrollTable = new VisTable() {
+			private final Rectangle itemsCullingArea = new Rectangle();
+
+			@Override
+			public void setCullingArea (Rectangle cullingArea) {
+				super.setCullingArea(cullingArea);
+				//scroll pane only culls direct children of its widget, pass visible area to items table so
+				//invisible item views are not drawn
+				if (cullingArea == null || ListView.this.virtualized) {
+					itemsTable.setCullingArea(null);
+				} else {
+					itemsCullingArea.set(cullingArea.x - itemsTable.getX(), cullingArea.y - itemsTable.getY(),
+							cullingArea.width, cullingArea.height);
+					itemsTable.setCullingArea(itemsCullingArea);
+				}
+			}
+		};
 		itemsTable = new VisTable();
+		virtualItemsGroup = new VirtualItemsGroup();
 
 		scrollPane = new VisScrollPane(scrollTable, style.scrollPaneStyle);
 		scrollPane.setOverscroll(false, true);
@@ -89,11 +145,16 @@ public class ListView<ItemT> {
 		}
 
 		if (full) {
-			itemsTable.clearChildren();
-			adapter.fillTable(itemsTable);
+			dataInvalidated = false;
+			if (virtualized) {
+				virtualItemsGroup.invalidateItems();
+			} else {
+				itemsTable.clearChildren();
+				adapter.fillTable(itemsTable);
+			}
 		}
 
-		scrollTable.add(itemsTable).growX();
+		scrollTable.add(virtualized ? virtualItemsGroup : itemsTable).growX();
 		scrollTable.row();
 
 		if (footer != null) {
@@ -102,6 +163,86 @@ public class ListView<ItemT> {
 		}
 	}
 
+	private void checkVirtualAdapter (ListAdapter<ItemT> adapter) {
+		if (adapter instanceof VirtualListAdapter == false) {
+			throw new IllegalStateException("Virtualized ListView requires adapter implementing VirtualListAdapter");
+		}
+	}
+
+	/**
+	 * Enables or disables virtualized mode. When virtualized, views are only created for visible items and reused
+	 * when list is scrolled, views are updated using {@link AbstractListAdapter#updateView(Actor, Object)}. Enabling this
+	 * mode requires adapter implementing {@link VirtualListAdapter}. Prefer using virtualized constructors to avoid
+	 * creating views for all items before virtualized mode is enabled.
+	 */
+	public void setVirtualized (boolean virtualized) {
+		if (this.virtualized == virtualized) return;
+		if (virtualized) {
+			checkVirtualAdapter(adapter);
+			itemsTable.clearChildren();
+		} else {
+			virtualItemsGroup.freeItems();
+		}
+		this.virtualized = virtualized;
+		rebuildView(true);
+	}
+
+	public boolean isVirtualized () {
+		return virtualized;
+	}
+
+	/**
+	 * Sets height of single item view used in virtualized mode.
+	 * @param itemHeight height of all items, if 0 then height will be measured using pref height of first item view
+	 */
+	public void setItemHeight (float itemHeight) {
+		if (itemHeight < 0) throw new IllegalArgumentException("itemHeight can't be < 0");
+		this.itemHeight = itemHeight;
+		virtualItemsGroup.invalidateItemHeight();
+	}
+
+	/**
+	 * Forces measuring height of item views again in virtualized mode. Must be called when item height is measured
+	 * automatically and style or content of item views has changed in a way that affects their height.
+	 */
+	public void invalidateItemHeight () {
+		virtualItemsGroup.invalidateItemHeight();
+	}
+
+	/** @return height of single item view in virtualized mode, or 0 if item height is measured automatically */
+	public float getItemHeight () {
+		return itemHeight;
+	}
+
+	/** @param overscan number of items outside of visible area that will have views created in virtualized mode */
+	public void setOverscan (int overscan) {
+		if (overscan < 0) throw new IllegalArgumentException("overscan can't be < 0");
+		this.overscan = overscan;
+		virtualItemsGroup.invalidate();
+	}
+
+	public int getOverscan () {
+		return overscan;
+	}
+
+	/**
+	 * Scrolls list so view of item with given index is visible. In virtualized mode view of item does not have to exist,
+	 * it will be created when list is drawn.
+	 */
+	public void scrollToItem (int index) {
+		if (index < 0 || index >= adapter.size()) throw new IndexOutOfBoundsException("index: " + index + ", size: " + adapter.size());
+		scrollPane.validate();
+		scrollTable.validate();
+		if (virtualized) {
+			float viewHeight = virtualItemsGroup.getViewHeight();
+			float y = virtualItemsGroup.getY() + virtualItemsGroup.getHeight() - (index + 1) * viewHeight;
+			scrollPane.scrollTo(0, y, virtualItemsGroup.getWidth(), viewHeight, false, true);
+		} else if (itemsTable.getCells().size == adapter.size()) {
+			Actor view = itemsTable.getCells().get(index).getActor();
+			scrollPane.scrollTo(0, itemsTable.getY() + view.getY(), view.getWidth(), view.getHeight(), false, true);
+		}
+	}
+
 	public ListAdapter<ItemT> getAdapter () {
 		return adapter;
 	}
@@ -158,11 +299,113 @@ public class ListView<ItemT> {
 		void clicked (ItemT item);
 	}
 
+	/**
+	 * Receives notifications about changes of {@link ListAdapter} data. Notifications about changes of single items or
+	 * ranges of items allow virtualized ListView to update only affected views, otherwise they are equivalent to
+	 * {@link #invalidateDataSet()}.
+	 */
 	public class ListAdapterListener {
 		public void invalidateDataSet () {
+			if (updateDepth > 0) {
+				updateInvalidated = true;
+				return;
+			}
+
 			if (updatePolicy == UpdatePolicy.IMMEDIATELY) rebuildView(true);
 			if (updatePolicy == UpdatePolicy.ON_DRAW) dataInvalidated = true;
 		}
+
+		/** Items were inserted into adapter, {@code index} is index of first inserted item. */
+		public void itemsInserted (int index, int count) {
+			if (canPatchView())
+				virtualItemsGroup.itemsInserted(index, count);
+			else if (index + count == adapter.size() && canPatchTable(index))
+				appendItemViews(index);
+			else
+				invalidateDataSet();
+		}
+
+		/**
+		 * Items were removed from adapter, {@code index} is index of first removed item before removal. Non-virtualized
+		 * ListView doesn't create or update views of remaining items, but they still have to be added back to items table,
+		 * so removal is O(n) in number of remaining items.
+		 */
+		public void itemsRemoved (int index, int count) {
+			if (canPatchView())
+				virtualItemsGroup.itemsRemoved(index, count);
+			else if (canPatchTable(adapter.size() + count))
+				removeItemViews(index, count);
+			else
+				invalidateDataSet();
+		}
+
+		public void itemMoved (int fromIndex, int toIndex) {
+			if (canPatchView())
+				virtualItemsGroup.itemMoved(fromIndex, toIndex);
+			else
+				invalidateDataSet();
+		}
+
+		/** Data of items in given range has changed, their views needs updating. */
+		public void itemsDataChanged (int index, int count) {
+			if (canPatchView())
+				virtualItemsGroup.itemsDataChanged(index, count);
+			else
+				invalidateDataSet();
+		}
+
+		/** Begins batch update, rebuilding list view will be delayed until matching {@link #endUpdate()} call. */
+		public void beginUpdate () {
+			updateDepth++;
+		}
+
+		public void endUpdate () {
+			if (updateDepth == 0) throw new IllegalStateException("endUpdate called without matching beginUpdate");
+			updateDepth--;
+			if (updateDepth == 0 && updateInvalidated) {
+				updateInvalidated = false;
+				invalidateDataSet();
+			}
+		}
+
+		private boolean canPatchView () {
+			// if full rebuild is already pending there is no point in updating single views
+			return virtualized && updatePolicy != UpdatePolicy.MANUAL && dataInvalidated == false && updateInvalidated == false;
+		}
+
+		/** @param itemsCount number of items before change, must match number of views in items table */
+		private boolean canPatchTable (int itemsCount) {
+			return virtualized == false && adapter instanceof VirtualListAdapter
+					&& ((VirtualListAdapter<ItemT>) adapter).isRowLayout() && updatePolicy != UpdatePolicy.MANUAL
+					&& dataInvalidated == false && updateInvalidated == false && itemsTable.getCells().size == itemsCount;
+		}
+
+		/** Adds views of all items starting from given index to the end of items table. */
+		private void appendItemViews (int index) {
+			VirtualListAdapter<ItemT> virtualAdapter = (VirtualListAdapter<ItemT>) adapter;
+			for (int i = index; i < adapter.size(); i++) {
+				itemsTable.add(virtualAdapter.obtainView(adapter.get(i))).growX();
+				itemsTable.row();
+			}
+		}
+
+		/**
+		 * Removes views of removed items from items table, views of remaining items are added back without updating.
+		 * Table doesn't allow removing cells, so all remaining views must be added back.
+		 */
+		@SuppressWarnings("rawtypes")
+		private void removeItemViews (int index, int count) {
+			Array<Cell> cells = itemsTable.getCells();
+			for (int i = 0; i < cells.size; i++) {
+				if (i < index || i >= index + count) tmpItemViews.add(cells.get(i).getActor());
+			}
+			itemsTable.clearChildren();
+			for (int i = 0; i < tmpItemViews.size; i++) {
+				itemsTable.add(tmpItemViews.get(i)).growX();
+				itemsTable.row();
+			}
+			tmpItemViews.clear();
+		}
 	}
 
 	/** Controls when list view's views are updated after underlying data was invalidated. */
@@ -180,6 +423,194 @@ public class ListView<ItemT> {
 		MANUAL
 	}
 
+	/** Group used in virtualized mode, holds only views of visible items. */
+	private class VirtualItemsGroup extends WidgetGroup {
+		private Array<ItemT> boundItems = new Array<ItemT>();
+		private Array<Actor> boundViews = new Array<Actor>();
+		private Array<ItemT> tmpItems = new Array<ItemT>();
+		private Array<Actor> tmpViews = new Array<Actor>();
+		private int boundFirst;
+
+		private float measuredItemHeight;
+		private float prefWidth;
+
+		private VirtualListAdapter<ItemT> getVirtualAdapter () {
+			return (VirtualListAdapter<ItemT>) adapter;
+		}
+
+		void invalidateItems () {
+			freeItems();
+			getVirtualAdapter().prepareItems();
+			prefWidth = 0;
+			measuredItemHeight = 0;
+			invalidateHierarchy();
+		}
+
+		void freeItems () {
+			for (int i = 0; i < boundItems.size; i++) {
+				Actor view = boundViews.get(i);
+				view.remove();
+				getVirtualAdapter().freeView(boundItems.get(i), view);
+			}
+			boundItems.clear();
+			boundViews.clear();
+		}
+
+		void itemsInserted (int index, int count) {
+			if (index == 0) measuredItemHeight = 0;
+			if (index <= boundFirst)
+				boundFirst += count;
+			else
+				freeItemsFrom(index);
+			invalidateHierarchy();
+		}
+
+		void itemsRemoved (int index, int count) {
+			if (index == 0) measuredItemHeight = 0;
+			if (index + count <= boundFirst)
+				boundFirst -= count;
+			else
+				freeItemsFrom(index);
+			invalidateHierarchy();
+		}
+
+		void itemMoved (int fromIndex, int toIndex) {
+			if (Math.min(fromIndex, toIndex) == 0) measuredItemHeight = 0;
+			if (Math.max(fromIndex, toIndex) < boundFirst) return;
+			freeItemsFrom(Math.min(fromIndex, toIndex));
+			invalidate();
+		}
+
+		void itemsDataChanged (int index, int count) {
+			if (index == 0 && measuredItemHeight != 0) invalidateItemHeight();
+			int start = Math.max(index, boundFirst);
+			int end = Math.min(index + count, boundFirst + boundItems.size);
+			for (int i = start; i < end; i++) {
+				getVirtualAdapter().obtainView(boundItems.get(i - boundFirst)); //updates existing view
+			}
+		}
+
+		/** Frees views of all bound items with index equal or greater than given index. */
+		private void freeItemsFrom (int index) {
+			int start = Math.max(0, index - boundFirst);
+			for (int i = boundItems.size - 1; i >= start; i--) {
+				Actor view = boundViews.pop();
+				view.remove();
+				getVirtualAdapter().freeView(boundItems.pop(), view);
+			}
+		}
+
+		private float getViewHeight () {
+			if (itemHeight > 0) return itemHeight;
+			if (measuredItemHeight == 0 && adapter.size() > 0) {
+				ItemT item = adapter.get(0);
+				int boundIndex = boundItems.indexOf(item, true);
+				if (boundIndex != -1) {
+					//first item is visible, its view must stay bound
+					measuredItemHeight = getMeasuredHeight(boundViews.get(boundIndex));
+				} else {
+					Actor view = getVirtualAdapter().obtainView(item);
+					measuredItemHeight = getMeasuredHeight(view);
+					getVirtualAdapter().freeView(item, view);
+				}
+			}
+			return measuredItemHeight;
+		}
+
+		private float getMeasuredHeight (Actor view) {
+			return view instanceof Layout ? ((Layout) view).getPrefHeight() : view.getHeight();
+		}
+
+		/** Forces measuring item height again, for example after style of item views has changed. */
+		void invalidateItemHeight () {
+			measuredItemHeight = 0;
+			invalidateHierarchy();
+		}
+
+		@Override
+		public void layout () {
+			updateVisibleItems(true);
+		}
+
+		@Override
+		public void draw (Batch batch, float parentAlpha) {
+			validate();
+			updateVisibleItems(false);
+			super.draw(batch, parentAlpha);
+		}
+
+		private void updateVisibleItems (boolean force) {
+			int size = adapter.size();
+			float viewHeight = getViewHeight();
+			float height = getHeight();
+
+			int first = 0;
+			int last = -1;
+			if (size > 0 && viewHeight > 0) {
+				float viewTop = scrollTable.getHeight() - scrollPane.getVisualScrollY() - getY();
+				float viewBottom = viewTop - scrollPane.getScrollHeight();
+				first = Math.max(0, (int) ((height - viewTop) / viewHeight) - overscan);
+				last = Math.min(size - 1, (int) Math.ceil((height - viewBottom) / viewHeight) - 1 + overscan);
+			}
+
+			int boundLast = boundFirst + boundItems.size - 1;
+			if (force == false && first == boundFirst && last == boundLast) return;
+
+			VirtualListAdapter<ItemT> virtualAdapter = getVirtualAdapter();
+			for (int i = 0; i < boundItems.size; i++) {
+				int index = boundFirst + i;
+				if (index >= first && index <= last) continue;
+				Actor view = boundViews.get(i);
+				view.remove();
+				virtualAdapter.freeView(boundItems.get(i), view);
+			}
+
+			tmpItems.clear();
+			tmpViews.clear();
+			for (int index = first; index <= last; index++) {
+				if (index >= boundFirst && index <= boundLast) {
+					tmpItems.add(boundItems.get(index - boundFirst));
+					tmpViews.add(boundViews.get(index - boundFirst));
+				} else {
+					ItemT item = virtualAdapter.get(index);
+					Actor view = virtualAdapter.obtainView(item);
+					if (view instanceof Layout) prefWidth = Math.max(prefWidth, ((Layout) view).getPrefWidth());
+					addActor(view);
+					tmpItems.add(item);
+					tmpViews.add(view);
+				}
+			}
+
+			Array<ItemT> items = boundItems;
+			boundItems = tmpItems;
+			tmpItems = items;
+			Array<Actor> views = boundViews;
+			boundViews = tmpViews;
+			tmpViews = views;
+			boundFirst = first;
+
+			float width = getWidth();
+			for (int i = 0; i < boundViews.size; i++) {
+				boundViews.get(i).setBounds(0, height - (boundFirst + i + 1) * viewHeight, width, viewHeight);
+			}
+		}
+
+		@Override
+		protected void childrenChanged () {
+			//views are added and removed while scrolling, it does not affect size of this group
+		}
+
+		@Override
+		public float getPrefWidth () {
+			return prefWidth;
+		}
+
+		@Override
+		public float getPrefHeight () {
+			return adapter.size() * getViewHeight();
+		}
+	}
+
 	/** ListView main table. */
 	public static class ListViewTable<ItemT> extends VisTable {
 		private ListView<ItemT> listView;
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.widget;
+
+/**
+ * Range of text modified since state derived from text was last updated. Multiple modifications are merged into single
+ * range covering all of them, start and end are positions in current text.
+ * @author Kotcrab
+ */
+class ModifiedTextRange {
+	/** Start of modified range or -1 if text wasn't modified */
+	int start = -1;
+	/** End of modified range in current text */
+	int end;
+	/** Difference between current text length and length of text before first modification */
+	int lengthDelta;
+
+	/** Called when text between start and end (in text before modification) was replaced with text of given length. */
+	void textReplaced (int start, int end, int length) {
+		int delta = length - (end - start);
+		if (this.start == -1) {
+			this.start = start;
+			this.end = start + length;
+		} else {
+			this.end = Math.max(this.end, end) + delta;
+			this.start = Math.min(this.start, start);
+		}
+		lengthDelta += delta;
+	}
+
+	boolean isEmpty () {
+		return start == -1;
+	}
+
+	void clear () {
+		start = -1;
+		end = 0;
+		lengthDelta = 0;
+	}
+}
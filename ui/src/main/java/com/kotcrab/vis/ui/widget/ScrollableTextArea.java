@@ -31,6 +31,9 @@ import com.badlogic.gdx.scenes.scene2d.utils.Cullable;
  * Example of such class is {@link HighlightTextArea}.
  * <p>
  * For best scroll pane settings you should create scroll pane using {@link #createCompatibleScrollPane()}.
+ * <p>
+ * When embedded in scroll pane only lines inside of scroll pane visible area are drawn, drawing cost doesn't depend on
+ * number of lines in text.
  * @author Kotcrab
  * @since 1.1.2
  */
@@ -80,6 +83,24 @@ public class ScrollableTextArea extends VisTextArea implements Cullable {
 		this.cullingArea = cullingArea;
 	}
 
+	@Override
+	protected int getFirstVisibleLine () {
+		if (cullingArea == null) return super.getFirstVisibleLine();
+		float lineHeight = style.font.getLineHeight();
+		float textY = getTextY(style.font, style.background);
+		int line = firstLineShowing + (int) Math.floor((textY - (cullingArea.y + cullingArea.height)) / lineHeight) - 1;
+		return Math.max(super.getFirstVisibleLine(), line);
+	}
+
+	@Override
+	protected int getVisibleLinesEnd () {
+		if (cullingArea == null) return super.getVisibleLinesEnd();
+		float lineHeight = style.font.getLineHeight();
+		float textY = getTextY(style.font, style.background);
+		int linesEnd = firstLineShowing + (int) Math.ceil((textY - cullingArea.y) / lineHeight) + 1;
+		return Math.min(super.getVisibleLinesEnd(), linesEnd);
+	}
+
 	/**
 	 * Creates scroll pane for this scrolling text area with best possible default settings. Note that text area
 	 * can belong to only one scroll pane, calling this multiple times will break previously created scroll pane.
@@ -110,15 +131,27 @@ public class ScrollableTextArea extends VisTextArea implements Cullable {
 	@Override
 	public void setText (String str) {
 		super.setText(str);
-		if (programmaticChangeEvents == false) { //changeText WILL NOT be called when programmaticChangeEvents are disabled
-			updateScrollLayout();
-		}
+		updateScrollLayout(); //setText does not use changeText with change event
+	}
+
+	@Override
+	boolean changeText (int start, int end, CharSequence content, boolean fireChangeEvent) {
+		boolean changed = super.changeText(start, end, content, fireChangeEvent);
+		if (fireChangeEvent) updateScrollLayout();
+		return changed;
+	}
+
+	@Override
+	boolean undo (boolean fireChangeEvent) {
+		boolean changed = super.undo(fireChangeEvent);
+		if (changed && fireChangeEvent == false) updateScrollLayout();
+		return changed;
 	}
 
 	@Override
-	boolean changeText (String oldText, String newText) {
-		boolean changed = super.changeText(oldText, newText);
-		updateScrollLayout();
+	boolean redo (boolean fireChangeEvent) {
+		boolean changed = super.redo(fireChangeEvent);
+		if (changed && fireChangeEvent == false) updateScrollLayout();
 		return changed;
 	}
 
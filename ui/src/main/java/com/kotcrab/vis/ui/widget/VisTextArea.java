@@ -29,7 +29,6 @@ import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.UIUtils;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.IntArray;
-import com.badlogic.gdx.utils.Pool;
 import com.badlogic.gdx.utils.Pools;
 
 /**
@@ -41,8 +40,12 @@ public class VisTextArea extends VisTextField {
 	/** Array storing lines breaks positions * */
 	IntArray linesBreak;
 
-	/** Last text processed. This attribute is used to avoid unnecessary computations while calculating offsets * */
-	private String lastText;
+	/** Version of last text processed. This attribute is used to avoid unnecessary computations while calculating offsets * */
+	private int lastTextVersion = -1;
+
+	/** Text range modified since line breaks were calculated * */
+	private ModifiedTextRange linesBreakModifiedRange;
+	private final IntArray tmpLinesBreak = new IntArray();
 
 	/** Current line for the cursor * */
 	int cursorLine;
@@ -86,6 +89,7 @@ public class VisTextArea extends VisTextField {
 		super.initialize();
 		writeEnters = true;
 		linesBreak = new IntArray();
+		linesBreakModifiedRange = new ModifiedTextRange();
 		cursorLine = 0;
 		firstLineShowing = 0;
 		moveOffset = -1;
@@ -201,18 +205,40 @@ public class VisTextArea extends VisTextField {
 
 	/** Calculates the text area line for the given cursor position * */
 	private int calculateCurrentLineIndex (int cursor) {
-		int index = 0;
-		while (index < linesBreak.size && cursor > linesBreak.items[index]) {
-			index++;
+		// line breaks are sorted, finds first index which value is not lower than cursor
+		int low = 0;
+		int high = linesBreak.size;
+		int[] items = linesBreak.items;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (cursor > items[mid])
+				low = mid + 1;
+			else
+				high = mid;
 		}
-		return index;
+		return low;
+	}
+
+	/** @return index in line breaks array of first line starting at or after given position */
+	int findLineStartIndex (int position) {
+		int low = 0;
+		int high = linesBreak.size / 2;
+		int[] items = linesBreak.items;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (items[mid * 2] < position)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low * 2;
 	}
 
 	// OVERRIDE from TextField
 
 	@Override
 	protected void sizeChanged () {
-		lastText = null; // Cause calculateOffsets to recalculate the line breaks.
+		lastTextVersion = -1; // Cause calculateOffsets to recalculate the line breaks.
 
 		// The number of lines showed must be updated whenever the height is updated
 		BitmapFont font = style.font;
@@ -230,13 +256,28 @@ public class VisTextArea extends VisTextField {
 		return textY;
 	}
 
+	/**
+	 * @return index of first line that has to be drawn, lines between {@link #getFirstLineShowing()} and this line are
+	 * showing but are outside of visible area
+	 */
+	protected int getFirstVisibleLine () {
+		return firstLineShowing;
+	}
+
+	/** @return index after last line that has to be drawn */
+	protected int getVisibleLinesEnd () {
+		return firstLineShowing + linesShowing;
+	}
+
 	@Override
 	protected void drawSelection (Drawable selection, Batch batch, BitmapFont font, float x, float y) {
-		int i = firstLineShowing * 2;
-		float offsetY = 0;
+		int firstLine = getFirstVisibleLine();
+		int linesEnd = getVisibleLinesEnd();
+		int i = firstLine * 2;
+		float offsetY = (firstLine - firstLineShowing) * font.getLineHeight();
 		int minIndex = Math.min(cursor, selectionStart);
 		int maxIndex = Math.max(cursor, selectionStart);
-		while (i + 1 < linesBreak.size && i < (firstLineShowing + linesShowing) * 2) {
+		while (i + 1 < linesBreak.size && i < linesEnd * 2) {
 
 			int lineStart = linesBreak.get(i);
 			int lineEnd = linesBreak.get(i + 1);
@@ -261,8 +302,10 @@ public class VisTextArea extends VisTextField {
 
 	@Override
 	protected void drawText (Batch batch, BitmapFont font, float x, float y) {
-		float offsetY = 0;
-		for (int i = firstLineShowing * 2; i < (firstLineShowing + linesShowing) * 2 && i < linesBreak.size; i += 2) {
+		int firstLine = getFirstVisibleLine();
+		int linesEnd = getVisibleLinesEnd();
+		float offsetY = -(firstLine - firstLineShowing) * font.getLineHeight();
+		for (int i = firstLine * 2; i < linesEnd * 2 && i < linesBreak.size; i += 2) {
 			font.draw(batch, displayText, x, y + offsetY, linesBreak.items[i], linesBreak.items[i + 1], 0, Align.left, false);
 			offsetY -= font.getLineHeight();
 		}
@@ -278,47 +321,112 @@ public class VisTextArea extends VisTextField {
 				font.getLineHeight());
 	}
 
+	@Override
+	void textReplaced (int start, int end, int length) {
+		super.textReplaced(start, end, length);
+		linesBreakModifiedRange.textReplaced(start, end, length);
+	}
+
 	@Override
 	protected void calculateOffsets () {
-		super.calculateOffsets();
-		if (!this.text.equals(lastText)) {
-			this.lastText = text;
-			BitmapFont font = style.font;
-			float maxWidthLine = this.getWidth()
-					- (style.background != null ? style.background.getLeftWidth() + style.background.getRightWidth() : 0);
-			linesBreak.clear();
-			int lineStart = 0;
-			int lastSpace = 0;
-			char lastCharacter;
-			Pool<GlyphLayout> layoutPool = Pools.get(GlyphLayout.class);
-			GlyphLayout layout = layoutPool.obtain();
-			for (int i = 0; i < text.length(); i++) {
-				lastCharacter = text.charAt(i);
-				if (lastCharacter == ENTER_DESKTOP || lastCharacter == ENTER_ANDROID) {
-					linesBreak.add(lineStart);
-					linesBreak.add(i);
-					lineStart = i + 1;
+		// horizontal scrolling offsets calculated by text field are not used by text area, calculating them would require
+		// iterating over glyph positions of whole text
+		if (textVersion != lastTextVersion) {
+			ModifiedTextRange range = linesBreakModifiedRange;
+			if (lastTextVersion == -1 || range.isEmpty()) {
+				linesBreak.clear();
+				calculateLinesBreak(0, text.length(), linesBreak);
+			} else {
+				updateLinesBreak(range.start, range.end, range.lengthDelta);
+			}
+			lastTextVersion = textVersion;
+			range.clear();
+			showCursor();
+		}
+	}
+
+	/**
+	 * Recalculates line breaks only for paragraphs (text between hard line breaks) containing modified range, line breaks
+	 * of remaining paragraphs are only shifted.
+	 */
+	private void updateLinesBreak (int start, int end, int lengthDelta) {
+		int textLength = text.length();
+		int paragraphStart = Math.min(start, textLength);
+		while (paragraphStart > 0 && isLineBreak(text.charAt(paragraphStart - 1)) == false) paragraphStart--;
+		int paragraphEnd = Math.min(end, textLength);
+		while (paragraphEnd < textLength && isLineBreak(text.charAt(paragraphEnd)) == false) paragraphEnd++;
+
+		// lines of modified paragraphs in line breaks calculated for text before modification
+		int removeStart = findLineStartIndex(paragraphStart);
+		int removeEnd = findLineStartIndex(paragraphEnd - lengthDelta + 1);
+
+		IntArray newLines = tmpLinesBreak;
+		newLines.clear();
+		calculateLinesBreak(paragraphStart, paragraphEnd, newLines);
+
+		int[] items = linesBreak.items;
+		for (int i = removeEnd; i < linesBreak.size; i++) {
+			items[i] += lengthDelta;
+		}
+
+		int sizeDelta = newLines.size - (removeEnd - removeStart);
+		if (sizeDelta > 0) items = linesBreak.ensureCapacity(sizeDelta);
+		System.arraycopy(items, removeEnd, items, removeEnd + sizeDelta, linesBreak.size - removeEnd);
+		System.arraycopy(newLines.items, 0, items, removeStart, newLines.size);
+		linesBreak.size += sizeDelta;
+	}
+
+	/**
+	 * Calculates line breaks of paragraphs between start and end and adds them to given array. Start must be beginning of
+	 * paragraph, end must be position of hard line break or text length. Line widths are computed from glyph positions
+	 * calculated when display text was updated so each glyph is measured only once. Glyph positions are relative to
+	 * paragraph start.
+	 */
+	private void calculateLinesBreak (int start, int end, IntArray linesBreak) {
+		BitmapFont font = style.font;
+		float maxWidthLine = this.getWidth()
+				- (style.background != null ? style.background.getLeftWidth() + style.background.getRightWidth() : 0);
+		int textLength = text.length();
+		boolean useGlyphPositions = glyphPositions.size > textLength;
+		float[] glyphPositions = this.glyphPositions.items;
+		GlyphLayout layout = null;
+
+		int lineStart = start;
+		int lastSpace = start;
+		char lastCharacter;
+		for (int i = start; i <= end && i < textLength; i++) {
+			lastCharacter = text.charAt(i);
+			if (isLineBreak(lastCharacter)) {
+				linesBreak.add(lineStart);
+				linesBreak.add(i);
+				lineStart = i + 1;
+			} else if (softwrap) {
+				lastSpace = (isWordCharacter(lastCharacter) ? lastSpace : i);
+				float lineWidth;
+				if (useGlyphPositions) {
+					lineWidth = glyphPositions[i + 1] - glyphPositions[lineStart];
 				} else {
-					lastSpace = (continueCursor(i, 0) ? lastSpace : i);
+					// glyph positions doesn't match text, can happen when font is missing glyphs
+					if (layout == null) layout = Pools.obtain(GlyphLayout.class);
 					layout.setText(font, text.subSequence(lineStart, i + 1));
-					if (layout.width > maxWidthLine && softwrap) {
-						if (lineStart >= lastSpace) {
-							lastSpace = i - 1;
-						}
-						linesBreak.add(lineStart);
-						linesBreak.add(lastSpace + 1);
-						lineStart = lastSpace + 1;
-						lastSpace = lineStart;
+					lineWidth = layout.width;
+				}
+				if (lineWidth > maxWidthLine) {
+					if (lineStart >= lastSpace) {
+						lastSpace = i - 1;
 					}
+					linesBreak.add(lineStart);
+					linesBreak.add(lastSpace + 1);
+					lineStart = lastSpace + 1;
+					lastSpace = lineStart;
 				}
 			}
-			layoutPool.free(layout);
-			// Add last line
-			if (lineStart < text.length()) {
-				linesBreak.add(lineStart);
-				linesBreak.add(text.length());
-			}
-			showCursor();
+		}
+		if (layout != null) Pools.free(layout);
+		// Add last line
+		if (end == textLength && lineStart < textLength) {
+			linesBreak.add(lineStart);
+			linesBreak.add(textLength);
 		}
 	}
 
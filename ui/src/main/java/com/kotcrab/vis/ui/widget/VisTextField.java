@@ -46,6 +46,10 @@ import com.kotcrab.vis.ui.Focusable;
 import com.kotcrab.vis.ui.VisUI;
 import com.kotcrab.vis.ui.util.BorderOwner;
 import com.kotcrab.vis.ui.util.CursorManager;
+import com.kotcrab.vis.ui.util.text.GapTextBuffer;
+import com.kotcrab.vis.ui.util.text.TextBuffer;
+import com.kotcrab.vis.ui.util.text.TextEditHistory;
+import com.kotcrab.vis.ui.util.text.TextEditHistory.Edit;
 
 import java.lang.StringBuilder;
 
@@ -73,7 +77,10 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 	/** Repeat times for keys handled by {@link InputListener#keyDown(InputEvent, int)} such as navigation arrows */
 	static public float keyRepeatTime = 0.04f;
 
-	protected String text;
+	/** Text storage, edited in place. Use {@link #getText()} when text is needed as string. */
+	protected TextBuffer text;
+	/** Incremented every time text is modified, can be used to detect text changes without comparing strings. */
+	int textVersion;
 	protected int cursor, selectionStart;
 	protected boolean hasSelection;
 	protected boolean writeEnters;
@@ -92,12 +99,14 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 	private int textHAlign = Align.left;
 	private float selectionX, selectionWidth;
 
-	String undoText = "";
-	int undoCursorPos = 0;
-	long lastChangeTime;
+	private final TextEditHistory editHistory = new TextEditHistory();
+	private boolean recordEdits = true;
+	boolean typedEdit;
 
 	boolean passwordMode;
 	private StringBuilder passwordBuffer;
+	private FontCharsText fontCharsText;
+	private final ModifiedTextRange displayTextModifiedRange = new ModifiedTextRange();
 	private char passwordCharacter = BULLET;
 
 	protected float fontOffset, textHeight, textOffset;
@@ -135,10 +144,13 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 	}
 
 	public VisTextField (String text, VisTextFieldStyle style) {
+		this.text = createTextBuffer();
 		setStyle(style);
 		clipboard = Gdx.app.getClipboard();
 		initialize();
+		updateDisplayText(); //setText returns early when text is empty
 		setText(text);
+		editHistory.clear();
 		setSize(getPrefWidth(), getPrefHeight());
 	}
 
@@ -167,6 +179,14 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 		return new TextFieldClickListener();
 	}
 
+	/**
+	 * Creates storage for text of this field. Called from constructor before text is set, override to provide custom
+	 * {@link TextBuffer} implementation.
+	 */
+	protected TextBuffer createTextBuffer () {
+		return new GapTextBuffer();
+	}
+
 	protected int letterUnderCursor (float x) {
 		x -= textOffset + fontOffset - style.font.getData().cursorX - glyphPositions.get(visibleTextStart);
 		int n = this.glyphPositions.size;
@@ -185,7 +205,7 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 	}
 
 	protected int[] wordUnderCursor (int at) {
-		String text = this.text;
+		CharSequence text = this.text;
 		int start = Math.min(text.length(), at), right = text.length(), left = 0, index = start;
 		for (; index < right; index++) {
 			if (!isWordCharacter(text.charAt(index))) {
@@ -239,6 +259,10 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 		if (style == null) throw new IllegalArgumentException("style cannot be null.");
 		this.style = style;
 		textHeight = style.font.getCapHeight() - style.font.getDescent() * 2;
+		if (displayText != null) { //glyph positions must be calculated again for new font
+			glyphPositions.clear();
+			updateDisplayText();
+		}
 		invalidateHierarchy();
 	}
 
@@ -412,55 +436,103 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 				y - textHeight - font.getDescent() + cursorYPadding, cursorPatch.getMinWidth(), cursorHeight);
 	}
 
+	/**
+	 * Updates display text and glyph positions. Glyph positions are only recalculated for paragraphs (text between line
+	 * breaks) modified since last update, positions are relative to start of their paragraph.
+	 */
 	void updateDisplayText () {
 		BitmapFont font = style.font;
 		BitmapFontData data = font.getData();
-		String text = this.text;
 		int textLength = text.length();
 
-		StringBuilder buffer = new StringBuilder();
-		for (int i = 0; i < textLength; i++) {
-			char c = text.charAt(i);
-			buffer.append(data.hasGlyph(c) ? c : ' ');
-		}
-		String newDisplayText = buffer.toString();
-
+		CharSequence newDisplayText;
 		if (passwordMode && data.hasGlyph(passwordCharacter)) {
-			if (passwordBuffer == null) passwordBuffer = new StringBuilder(newDisplayText.length());
+			if (passwordBuffer == null) passwordBuffer = new StringBuilder(textLength);
 			if (passwordBuffer.length() > textLength)
 				passwordBuffer.setLength(textLength);
 			else {
 				for (int i = passwordBuffer.length(); i < textLength; i++)
 					passwordBuffer.append(passwordCharacter);
 			}
-			displayText = passwordBuffer;
-		} else
+			newDisplayText = passwordBuffer;
+		} else {
+			if (fontCharsText == null) fontCharsText = new FontCharsText();
+			newDisplayText = fontCharsText;
+		}
+
+		if (newDisplayText != displayText || glyphPositions.size == 0) {
 			displayText = newDisplayText;
+			displayTextModifiedRange.clear();
+			glyphPositions.clear();
+			updateGlyphPositions(0, textLength, 0);
+		} else if (displayTextModifiedRange.isEmpty() == false) {
+			ModifiedTextRange range = displayTextModifiedRange;
+			int paragraphStart = Math.min(range.start, textLength);
+			while (paragraphStart > 0 && isLineBreak(text.charAt(paragraphStart - 1)) == false) paragraphStart--;
+			int paragraphEnd = Math.min(range.end, textLength);
+			while (paragraphEnd < textLength && isLineBreak(text.charAt(paragraphEnd)) == false) paragraphEnd++;
+			updateGlyphPositions(paragraphStart, paragraphEnd, paragraphEnd - range.lengthDelta);
+		}
+		displayTextModifiedRange.clear();
+
+		visibleTextStart = Math.min(visibleTextStart, glyphPositions.size);
+		visibleTextEnd = MathUtils.clamp(visibleTextEnd, visibleTextStart, glyphPositions.size);
 
-		layout.setText(font, displayText.toString().replace('\r', ' ').replace('\n', ' '));
-		glyphPositions.clear();
+		if (selectionStart > textLength) selectionStart = textLength;
+	}
+
+	/**
+	 * Replaces glyph positions between start and oldEnd (inclusive) with glyph positions of paragraphs between start and end.
+	 * @param start start of paragraph
+	 * @param end position of line break ending last paragraph or text length
+	 * @param oldEnd end position before text was modified
+	 */
+	private void updateGlyphPositions (int start, int end, int oldEnd) {
+		int sizeDelta = (end - start) - (oldEnd - start);
+		if (glyphPositions.size == 0) {
+			glyphPositions.setSize(end + 1);
+		} else {
+			int tailStart = oldEnd + 1;
+			float[] items = sizeDelta > 0 ? glyphPositions.ensureCapacity(sizeDelta) : glyphPositions.items;
+			System.arraycopy(items, tailStart, items, tailStart + sizeDelta, glyphPositions.size - tailStart);
+			glyphPositions.size += sizeDelta;
+		}
+
+		for (int paragraphStart = start; paragraphStart <= end; ) {
+			int paragraphEnd = paragraphStart;
+			while (paragraphEnd < end && isLineBreak(text.charAt(paragraphEnd)) == false) paragraphEnd++;
+			layoutParagraph(paragraphStart, paragraphEnd);
+			paragraphStart = paragraphEnd + 1;
+		}
+	}
+
+	/** Calculates glyph positions of single paragraph, position of paragraph end is set to paragraph width. */
+	private void layoutParagraph (int start, int end) {
+		float[] positions = glyphPositions.items;
+		int index = start;
 		float x = 0;
-		if (layout.runs.size > 0) {
-			GlyphRun run = layout.runs.first();
-			fontOffset = run.xAdvances.first();
-
-			for (GlyphRun glyphRun : layout.runs) {
-				FloatArray xAdvances = glyphRun.xAdvances;
-				for (int i = 1, n = xAdvances.size; i < n; i++) {
-					glyphPositions.add(x);
+		if (start < end) {
+			layout.setText(style.font, displayText, start, end, Color.WHITE, 0, Align.left, false, null);
+			Array<GlyphRun> runs = layout.runs;
+			if (start == 0 && runs.size > 0) fontOffset = runs.first().xAdvances.first();
+			for (int runIndex = 0; runIndex < runs.size; runIndex++) {
+				FloatArray xAdvances = runs.get(runIndex).xAdvances;
+				for (int i = 1, n = xAdvances.size; i < n && index < end; i++) {
+					positions[index++] = x;
 					x += xAdvances.get(i);
 				}
-				glyphPositions.add(x);
 			}
-		} else {
+		} else if (start == 0) {
 			fontOffset = 0;
 		}
-		glyphPositions.add(x);
-
-		visibleTextStart = Math.min(visibleTextStart, glyphPositions.size);
-		visibleTextEnd = MathUtils.clamp(visibleTextEnd, visibleTextStart, glyphPositions.size);
+		// glyphs missing in font are not laid out
+		while (index <= end) {
+			positions[index++] = x;
+		}
+	}
 
-		if (selectionStart > newDisplayText.length()) selectionStart = textLength;
+	boolean isLineBreak (char c) {
+		return c == ENTER_DESKTOP || c == ENTER_ANDROID;
 	}
 
 	private void blink () {
@@ -502,9 +574,26 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 
 	void paste (String content, boolean fireChangeEvent) {
 		if (content == null) return;
-		StringBuilder buffer = new StringBuilder();
 		int textLength = text.length();
 		if (hasSelection) textLength -= Math.abs(cursor - selectionStart);
+		content = filterContent(content, textLength);
+
+		int start = cursor;
+		int end = cursor;
+		if (hasSelection) {
+			start = Math.min(cursor, selectionStart);
+			end = Math.max(cursor, selectionStart);
+			clearSelection();
+		}
+		cursor = start;
+		changeText(start, end, content, fireChangeEvent);
+		updateDisplayText();
+		cursor += content.length();
+	}
+
+	/** @return content with characters that can't be inserted into this field removed */
+	private String filterContent (String content, int textLength) {
+		StringBuilder buffer = new StringBuilder();
 		BitmapFontData data = style.font.getData();
 		for (int i = 0, n = content.length(); i < n; i++) {
 			if (!withinMaxLength(textLength + buffer.length())) break;
@@ -516,20 +605,7 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 			}
 			buffer.append(c);
 		}
-		content = buffer.toString();
-
-		if (hasSelection) cursor = delete(fireChangeEvent);
-		if (fireChangeEvent)
-			changeText(text, insert(cursor, content, text));
-		else
-			text = insert(cursor, content, text);
-		updateDisplayText();
-		cursor += content.length();
-	}
-
-	String insert (int position, CharSequence text, String to) {
-		if (to.length() == 0) return text.toString();
-		return to.substring(0, position) + text + to.substring(position, to.length());
+		return buffer.toString();
 	}
 
 	int delete (boolean fireChangeEvent) {
@@ -537,12 +613,7 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 		int to = cursor;
 		int minIndex = Math.min(from, to);
 		int maxIndex = Math.max(from, to);
-		String newText = (minIndex > 0 ? text.substring(0, minIndex) : "")
-				+ (maxIndex < text.length() ? text.substring(maxIndex, text.length()) : "");
-		if (fireChangeEvent)
-			changeText(text, newText);
-		else
-			text = newText;
+		changeText(minIndex, maxIndex, "", fireChangeEvent);
 		clearSelection();
 		return minIndex;
 	}
@@ -675,36 +746,161 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 	/** @param str If null, "" is used. */
 	public void setText (String str) {
 		if (str == null) str = "";
-		if (ignoreEqualsTextChange && str.equals(text)) return;
+		if (ignoreEqualsTextChange && regionEquals(0, text.length(), str)) return;
 
 		clearSelection();
-		String oldText = text;
-		text = "";
-		paste(str, false);
-		if (programmaticChangeEvents) changeText(oldText, text);
+		CharSequence content = filterContent(str, 0);
+
+		//only range between common prefix and suffix of old and new text is replaced
+		int textLength = text.length();
+		int contentLength = content.length();
+		int minLength = Math.min(textLength, contentLength);
+		int prefix = 0;
+		while (prefix < minLength && text.charAt(prefix) == content.charAt(prefix)) prefix++;
+		int suffix = 0;
+		while (suffix < minLength - prefix && text.charAt(textLength - suffix - 1) == content.charAt(contentLength - suffix - 1)) {
+			suffix++;
+		}
+		String removed = text.substring(prefix, textLength - suffix);
+		CharSequence inserted = content.subSequence(prefix, contentLength - suffix);
+
+		boolean record = recordEdits;
+		recordEdits = false;
+		boolean changed = changeText(prefix, textLength - suffix, inserted, false);
+		updateDisplayText();
+		if (programmaticChangeEvents && changed && fireChangeEvent() == false) {
+			changeText(prefix, prefix + inserted.length(), removed, false);
+			updateDisplayText();
+			changed = false;
+		}
+		recordEdits = record;
+		if (changed && recordEdits && (removed.length() != 0 || inserted.length() != 0)) {
+			editHistory.textReplaced(prefix, removed, inserted, false, TimeUtils.millis());
+		}
 		cursor = 0;
 	}
 
-	/** @return Never null, might be an empty string. */
+	/** @return Never null, might be an empty string. Text string is created only when text was modified since last call. */
 	public String getText () {
-		return text;
+		return text.toString();
 	}
 
 	/**
-	 * @param oldText May be null.
+	 * Replaces text between start and end with new content. When change event is fired and cancelled the edit is reverted.
 	 * @return True if the text was changed.
 	 */
-	boolean changeText (String oldText, String newText) {
-		if (ignoreEqualsTextChange && newText.equals(oldText)) return false;
-		text = newText;
+	boolean changeText (int start, int end, CharSequence content, boolean fireChangeEvent) {
+		if (ignoreEqualsTextChange && regionEquals(start, end, content)) return false;
+		String removed = fireChangeEvent || recordEdits ? text.substring(start, end) : null;
+		text.replace(start, end, content);
+		textVersion++;
+		textReplaced(start, end, content.length());
+
+		if (fireChangeEvent && fireChangeEvent() == false) {
+			text.replace(start, start + content.length(), removed);
+			textVersion++;
+			textReplaced(start, start + content.length(), removed.length());
+			return false;
+		}
+		if (recordEdits) editHistory.textReplaced(start, removed, content, typedEdit, TimeUtils.millis());
+		return true;
+	}
+
+	/**
+	 * Reverts last edit made to text. Consecutive typed characters are reverted together.
+	 * @return true if edit was reverted, false if there was nothing to undo or change event was cancelled
+	 */
+	public boolean undo () {
+		return undo(programmaticChangeEvents);
+	}
+
+	boolean undo (boolean fireChangeEvent) {
+		Edit edit = editHistory.getUndoEdit();
+		if (edit == null) return false;
+		if (applyHistoryEdit(edit.getStart(), edit.getInserted(), edit.getRemoved(), fireChangeEvent) == false) return false;
+		editHistory.undone();
+		return true;
+	}
+
+	/**
+	 * Applies again last edit reverted by {@link #undo()}.
+	 * @return true if edit was applied, false if there was nothing to redo or change event was cancelled
+	 */
+	public boolean redo () {
+		return redo(programmaticChangeEvents);
+	}
+
+	boolean redo (boolean fireChangeEvent) {
+		Edit edit = editHistory.getRedoEdit();
+		if (edit == null) return false;
+		if (applyHistoryEdit(edit.getStart(), edit.getRemoved(), edit.getInserted(), fireChangeEvent) == false) return false;
+		editHistory.redone();
+		return true;
+	}
+
+	/** Replaces current text with new text without recording this change in edit history. */
+	private boolean applyHistoryEdit (int start, CharSequence current, CharSequence replacement, boolean fireChangeEvent) {
+		clearSelection();
+		recordEdits = false;
+		boolean changed = changeText(start, start + current.length(), replacement, fireChangeEvent);
+		recordEdits = true;
+		if (changed) {
+			cursor = start + replacement.length();
+			updateDisplayText();
+		}
+		return changed;
+	}
+
+	public boolean canUndo () {
+		return editHistory.canUndo();
+	}
+
+	public boolean canRedo () {
+		return editHistory.canRedo();
+	}
+
+	/** Removes all edits from undo and redo history. */
+	public void clearEditHistory () {
+		editHistory.clear();
+	}
+
+	/**
+	 * Sets max memory used by undo and redo history. When limit is exceeded oldest edits are removed.
+	 * @param maxSize max size of stored edits in bytes, 0 disables undo history. Default is {@link TextEditHistory#DEFAULT_MAX_SIZE}.
+	 */
+	public void setMaxEditHistorySize (int maxSize) {
+		editHistory.setMaxSize(maxSize);
+	}
+
+	public int getMaxEditHistorySize () {
+		return editHistory.getMaxSize();
+	}
+
+	/**
+	 * Called after text between start and end (in text before modification) was replaced with text of given length.
+	 * Allows subclasses to update only parts of their state affected by modification.
+	 */
+	void textReplaced (int start, int end, int length) {
+		displayTextModifiedRange.textReplaced(start, end, length);
+	}
+
+	/** @return True if fired change event was not cancelled. */
+	boolean fireChangeEvent () {
 		beforeChangeEventFired();
 		ChangeEvent changeEvent = Pools.obtain(ChangeEvent.class);
 		boolean cancelled = fire(changeEvent);
-		text = cancelled ? oldText : newText;
 		Pools.free(changeEvent);
 		return !cancelled;
 	}
 
+	private boolean regionEquals (int start, int end, CharSequence content) {
+		if (end - start != content.length()) return false;
+		for (int i = start; i < end; i++) {
+			if (text.charAt(i) != content.charAt(i - start)) return false;
+		}
+		return true;
+	}
+
 	void beforeChangeEventFired () {
 
 	}
@@ -846,7 +1042,11 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 	 */
 	public void setPasswordCharacter (char passwordCharacter) {
 		this.passwordCharacter = passwordCharacter;
-		if (passwordMode) updateDisplayText();
+		if (passwordBuffer != null) passwordBuffer.setLength(0);
+		if (passwordMode) {
+			glyphPositions.clear();
+			updateDisplayText();
+		}
 	}
 
 	public void setBlinkTime (float blinkTime) {
@@ -994,6 +1194,34 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 		}
 	}
 
+	/** Text of this field with characters missing in font replaced by spaces, created without copying text. */
+	private class FontCharsText implements CharSequence {
+		@Override
+		public int length () {
+			return text.length();
+		}
+
+		@Override
+		public char charAt (int index) {
+			char c = text.charAt(index);
+			return style.font.getData().hasGlyph(c) ? c : ' ';
+		}
+
+		@Override
+		public CharSequence subSequence (int start, int end) {
+			StringBuilder builder = new StringBuilder(end - start);
+			for (int i = start; i < end; i++) {
+				builder.append(charAt(i));
+			}
+			return builder.toString();
+		}
+
+		@Override
+		public String toString () {
+			return subSequence(0, length()).toString();
+		}
+	}
+
 	class KeyRepeatTask extends Task {
 		int keycode;
 
@@ -1090,13 +1318,14 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 					return true;
 				}
 				if (keycode == Keys.Z && readOnly == false) {
-					String oldText = text;
-					int oldCursorPos = getCursorPosition();
-					setText(undoText);
-					VisTextField.this.setCursorPosition(MathUtils.clamp(cursor, 0, undoText.length()));
-					undoText = oldText;
-					undoCursorPos = oldCursorPos;
-					updateDisplayText();
+					if (UIUtils.shift())
+						redo(true);
+					else
+						undo(true);
+					return true;
+				}
+				if (keycode == Keys.Y && readOnly == false) {
+					redo(true);
 					return true;
 				}
 			}
@@ -1209,35 +1438,38 @@ public class VisTextField extends Widget implements Disableable, Focusable, Bord
 				boolean add = enter ? writeEnters : (!onlyFontChars || style.font.getData().hasGlyph(character));
 				boolean remove = backspace || delete;
 				if (add || remove) {
-					String oldText = text;
 					int oldCursor = cursor;
-					if (hasSelection)
-						cursor = delete(false);
-					else {
+					int start = cursor;
+					int end = cursor;
+					if (hasSelection) {
+						start = Math.min(cursor, selectionStart);
+						end = Math.max(cursor, selectionStart);
+						cursor = start;
+						clearSelection();
+					} else {
 						if (backspace && cursor > 0) {
-							text = text.substring(0, cursor - 1) + text.substring(cursor--);
+							start = --cursor;
 							renderOffset = 0;
 						}
 						if (delete && cursor < text.length()) {
-							text = text.substring(0, cursor) + text.substring(cursor + 1);
+							end = cursor + 1;
 						}
 					}
+					String insertion = "";
 					if (add && !remove) {
 						// Character may be added to the text.
-						if (!enter && filter != null && !filter.acceptChar(VisTextField.this, character)) return true;
-						if (!withinMaxLength(text.length())) return true;
-						String insertion = enter ? "\n" : String.valueOf(character);
-						text = insert(cursor++, insertion, text);
-					}
-					if (changeText(oldText, text)) {
-						long time = System.currentTimeMillis();
-						if (time - 750 > lastChangeTime) {
-							undoText = oldText;
-							undoCursorPos = getCursorPosition() - 1;
+						boolean accepted = enter || filter == null || filter.acceptChar(VisTextField.this, character);
+						if (accepted && withinMaxLength(text.length() - (end - start))) {
+							insertion = enter ? "\n" : String.valueOf(character);
+							cursor++;
+						} else if (start == end) {
+							return true;
 						}
-						lastChangeTime = time;
-					} else
-						cursor = oldCursor;
+					}
+					typedEdit = true;
+					boolean changed = changeText(start, end, insertion, true);
+					typedEdit = false;
+					if (changed == false) cursor = oldCursor;
 					updateDisplayText();
 				}
 			}
@@ -47,6 +47,8 @@ import com.kotcrab.vis.ui.widget.file.internal.DriveCheckerService.DriveCheckerL
 import com.kotcrab.vis.ui.widget.file.internal.DriveCheckerService.RootMode;
 import com.kotcrab.vis.ui.widget.file.internal.FileChooserWinService.RootNameListener;
 import com.kotcrab.vis.ui.widget.file.internal.FileHistoryManager.FileHistoryCallback;
+import com.kotcrab.vis.ui.widget.file.internal.FileWatcher.ChangeType;
+import com.kotcrab.vis.ui.widget.file.internal.FileWatcher.FileWatcherListener;
 import com.kotcrab.vis.ui.widget.file.internal.FilePopupMenu.FilePopupMenuCallback;
 
 import java.io.File;
@@ -54,9 +56,9 @@ import java.io.FileFilter;
 import java.io.IOException;
 import java.lang.StringBuilder;
 import java.text.SimpleDateFormat;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -74,7 +76,11 @@ import static com.kotcrab.vis.ui.widget.file.internal.FileChooserText.*;
  * @since 0.1.0
  */
 public class FileChooser extends VisWindow implements FileHistoryCallback {
-	private static final long FILE_WATCHER_CHECK_DELAY_MILLIS = 2000;
+	private static final int FILE_WATCHER_MAX_INCREMENTAL_CHANGES = 200;
+	private static final int STREAMING_BATCH_SIZE = 1000;
+	private static final long STREAMING_BATCH_MAX_DELAY_MILLIS = 100;
+	private static final long STREAMING_FRAME_BUDGET_NANOS = 4000000;
+	private static final float STREAMING_MIN_VIEW_UPDATE_INTERVAL = 0.25f;
 	private static final ShortcutsComparator SHORTCUTS_COMPARATOR = new ShortcutsComparator();
 	private static final Vector2 tmpVector = new Vector2();
 
@@ -102,6 +108,9 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 	private ExecutorService listDirExecutor = Executors.newSingleThreadExecutor(new ServiceThreadFactory("FileChooserListDirThread"));
 	private Future<?> listDirFuture;
 	private ShowBusyBarTask showBusyBarTask = new ShowBusyBarTask();
+	private boolean streamingListingEnabled = false;
+	private boolean caseInsensitiveSuggestionsEnabled = false;
+	private StreamingListing streamingListing;
 
 	private SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
 
@@ -117,14 +126,21 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 
 	private FileHandle currentDirectory;
 	private Array<FileHandle> currentFiles = new Array<FileHandle>();
-	private IdentityMap<FileHandle, FileHandleMetadata> currentFilesMetadata = new IdentityMap<FileHandle, FileHandleMetadata>();
+	private ObjectMap<FileHandle, FileHandleMetadata> currentFilesMetadata = new ObjectMap<FileHandle, FileHandleMetadata>();
+	private Array<FileSortKey> currentFilesKeys = new Array<FileSortKey>(); // sort keys of current files, in the same order
+	private FileSorting currentFilesSorting = FileSorting.NAME;
+	private boolean currentFilesDescending;
+	private boolean fileListingInProgress;
+	private FileNameIndex currentFilesIndex; // built lazily, null when current files were changed
 	private FileListAdapter fileListAdapter;
-	private Array<FileItem> selectedItems = new Array<FileItem>();
+	private Array<FileHandle> selection = new Array<FileHandle>(); // selected current files, views exist only for visible files
 	private ShortcutItem selectedShortcut;
 	private String defaultFileName;
 
 	private boolean watchingFilesEnabled = true;
-	private Thread fileWatcherThread;
+	private FileWatcher fileWatcher = new FileWatcher(new ChooserFileWatcherListener());
+	private ConcurrentLinkedQueue<FileChange> pendingFileChanges = new ConcurrentLinkedQueue<FileChange>();
+	private Array<FileChange> appliedFileChanges = new Array<FileChange>();
 	private boolean shortcutsListRebuildScheduled;
 	private boolean filesListRebuildScheduled;
 
@@ -143,7 +159,9 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 	private VerticalGroup shortcutsFavoritesPanel;
 	private ListView<FileHandle> fileListView;
 	private float maxDateLabelWidth;
+	private FileRowRenderer rowRenderer;
 	private BusyBar fileListBusyBar;
+	private VisLabel fileListProgressLabel;
 
 	private VisImageButton favoriteFolderButton;
 	private VisImageButton viewModeButton;
@@ -450,13 +468,16 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 
 	private void createCenterContentPanel () {
 		fileListAdapter = new FileListAdapter(this, currentFiles);
-		fileListView = new ListView<FileHandle>(fileListAdapter);
+		fileListView = new ListView<FileHandle>(fileListAdapter, viewMode.isGridMode() == false);
 		setupDefaultScrollPane(fileListView.getScrollPane());
 
 		VisTable fileScrollPaneTable = new VisTable();
 		fileListBusyBar = new BusyBar();
 		fileListBusyBar.setVisible(false);
+		fileListProgressLabel = new VisLabel("", "small");
+		fileListProgressLabel.setVisible(false);
 		fileScrollPaneTable.add(fileListBusyBar).space(0).height(PrefHeightIfVisibleValue.INSTANCE).growX().row();
+		fileScrollPaneTable.add(fileListProgressLabel).space(0).height(PrefHeightIfVisibleValue.INSTANCE).left().padLeft(2).row();
 		fileScrollPaneTable.add(fileListView.getMainTable()).pad(2).top().expand().fillX();
 		fileScrollPaneTable.setTouchable(Touchable.enabled);
 
@@ -555,10 +576,11 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 			@Override
 			public void changed (ChangeEvent event, Actor actor) {
 				deselectAll(false);
-				fileNameSuggestionPopup.pathFieldKeyTyped(getChooserStage(), currentFiles, selectedFileTextField);
+				FileNameIndex index = getCurrentFilesIndex();
+				fileNameSuggestionPopup.pathFieldKeyTyped(getChooserStage(), index, selectedFileTextField);
 
-				FileHandle enteredFile = currentDirectory.child(selectedFileTextField.getText());
-				if (currentFiles.contains(enteredFile, false)) {
+				FileHandle enteredFile = index.find(selectedFileTextField.getText());
+				if (enteredFile != null) {
 					highlightFiles(enteredFile);
 				}
 			}
@@ -662,11 +684,11 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 	}
 
 	private void selectionFinished () {
-		if (selectedItems.size == 1) {
+		if (selection.size == 1) {
 			// only files allowed but directory is selected?
 			// navigate to that directory!
 			if (selectionMode == SelectionMode.FILES) {
-				FileHandle selected = selectedItems.get(0).getFile();
+				FileHandle selected = selection.get(0);
 				if (selected.isDirectory()) {
 					setDirectory(selected, HistoryPolicy.ADD);
 					return;
@@ -676,7 +698,7 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 			// only directories allowed but file is selected?
 			// display dialog :(
 			if (selectionMode == SelectionMode.DIRECTORIES) {
-				FileHandle selected = selectedItems.get(0).getFile();
+				FileHandle selected = selection.get(0);
 				if (selected.isDirectory() == false) {
 					showDialog(POPUP_ONLY_DIRECTORIES.get());
 					return;
@@ -684,7 +706,7 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 			}
 		}
 
-		if (selectedItems.size > 0 || mode == Mode.SAVE) {
+		if (selection.size > 0 || mode == Mode.SAVE) {
 			Array<FileHandle> files = getFileListFromSelected();
 			notifyListenerAndCloseDialog(files);
 		} else {
@@ -755,13 +777,10 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		Array<FileHandle> list = new Array<FileHandle>();
 
 		if (mode == Mode.OPEN) {
-			for (FileItem item : selectedItems)
-				list.add(item.getFile());
-
+			list.addAll(selection);
 			return list;
-		} else if (selectedItems.size > 0) {
-			for (FileItem item : selectedItems)
-				list.add(item.getFile());
+		} else if (selection.size > 0) {
+			list.addAll(selection);
 
 			showOverwriteQuestion(list);
 			return null;
@@ -876,10 +895,10 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 
 	private void rebuildFileList (final boolean stageChanged) {
 		filesListRebuildScheduled = false;
-		final FileHandle[] selectedFiles = new FileHandle[selectedItems.size];
-		for (int i = 0; i < selectedFiles.length; i++) {
-			selectedFiles[i] = selectedItems.get(i).getFile();
-		}
+		fileListingInProgress = true;
+		pendingFileChanges.clear(); //changes made so far will be included in new listing
+		fileWatcher.setDirectory(currentDirectory);
+		final FileHandle[] selectedFiles = selection.toArray(FileHandle.class);
 		deselectAll();
 
 		setCurrentPathFieldText(currentDirectory.path());
@@ -889,6 +908,12 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		}
 
 		if (listDirFuture != null) listDirFuture.cancel(true);
+		cancelStreamingListing();
+		if (streamingListingEnabled) {
+			startStreamingListing(selectedFiles, stageChanged);
+			return;
+		}
+
 		listDirFuture = listDirExecutor.submit(new Runnable() {
 			@Override
 			public void run () {
@@ -902,54 +927,236 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 					return;
 				}
 
-				final Array<FileHandle> files = FileUtils.sortFiles(listFilteredCurrentDirectory(), sorting.get().comparator, !sortingOrderAscending.get());
-				if (Thread.currentThread().isInterrupted()) return;
-				final IdentityMap<FileHandle, FileHandleMetadata> metadata = new IdentityMap<FileHandle, FileHandleMetadata>(files.size);
-				for (FileHandle file : files) {
-					metadata.put(file, FileHandleMetadata.of(file));
+				final FileSorting fileSorting = sorting.get();
+				final Array<FileSortKey> keys = new Array<FileSortKey>();
+				final ObjectMap<FileHandle, FileHandleMetadata> metadata = new ObjectMap<FileHandle, FileHandleMetadata>();
+				FileMetadataScanner scanner = new FileMetadataScanner(fileFilter, getActiveFileTypeRuleIfEnabled());
+				try {
+					boolean completed = scanner.scan(currentDirectory, new FileMetadataScanner.ScanListener() {
+						@Override
+						public void scanned (FileHandle file, FileHandleMetadata fileMetadata) {
+							keys.add(new FileSortKey(file, fileMetadata, fileSorting, false));
+							metadata.put(file, fileMetadata);
+						}
+					});
+					if (completed == false) return;
+				} catch (IOException e) {
+					Gdx.app.log("VisUI", "Can't list directory " + currentDirectory.path(), e);
 				}
 
+				final boolean descending = !sortingOrderAscending.get();
+				FileSortKey.sort(new Sort(), keys, descending);
 				if (Thread.currentThread().isInterrupted()) return;
 				Gdx.app.postRunnable(new Runnable() {
 					@Override
 					public void run () {
-						buildFileList(files, metadata, selectedFiles, stageChanged);
+						buildFileList(keys, fileSorting, descending, metadata, selectedFiles, stageChanged);
 					}
 				});
 			}
 		});
 	}
 
-	private void buildFileList (Array<FileHandle> files, IdentityMap<FileHandle, FileHandleMetadata> metadata, FileHandle[] selectedFiles, boolean stageChanged) {
+	private void buildFileList (Array<FileSortKey> keys, FileSorting sorting, boolean descending,
+								ObjectMap<FileHandle, FileHandleMetadata> metadata, FileHandle[] selectedFiles, boolean stageChanged) {
 		currentFiles.clear();
 		currentFilesMetadata.clear();
+		currentFilesKeys.clear();
+		currentFilesIndex = null;
+		currentFilesSorting = sorting;
+		currentFilesDescending = descending;
+		fileListingInProgress = false;
 		showBusyBarTask.cancel();
 		fileListBusyBar.setVisible(false);
 
-		if (files.size == 0) {
+		if (keys.size == 0) {
 			fileListAdapter.itemsChanged();
 			return;
 		}
 
 		maxDateLabelWidth = 0;
 
-		currentFiles.addAll(files);
+		currentFiles.ensureCapacity(keys.size);
+		for (int i = 0; i < keys.size; i++) {
+			currentFiles.add(keys.get(i).getFile());
+		}
+		currentFilesKeys = keys;
 		currentFilesMetadata = metadata;
 		fileListAdapter.itemsChanged();
 
 		fileListView.getScrollPane().setScrollX(0);
 		fileListView.getScrollPane().setScrollY(0);
+		restoreFileListSelection(selectedFiles, stageChanged);
+	}
+
+	private FileRowRenderer getRowRenderer () {
+		if (rowRenderer == null) rowRenderer = new FileRowRenderer(sizes, dateFormat.format(System.currentTimeMillis()));
+		return rowRenderer;
+	}
+
+	private FileNameIndex getCurrentFilesIndex () {
+		if (currentFilesIndex == null) currentFilesIndex = new FileNameIndex(currentFiles);
+		return currentFilesIndex;
+	}
+
+	private void restoreFileListSelection (FileHandle[] selectedFiles, boolean stageChanged) {
 		highlightFiles(selectedFiles);
 
 		if (stageChanged && selectedFiles.length == 0 && defaultFileName != null) {
 			selectedFileTextField.setText(defaultFileName);
 			FileHandle enteredFile = currentDirectory.child(selectedFileTextField.getText());
-			if (currentFiles.contains(enteredFile, false)) {
+			if (indexOfCurrentFile(enteredFile) != -1) {
 				highlightFiles(enteredFile);
 			}
 		}
 	}
 
+	private void startStreamingListing (FileHandle[] selectedFiles, boolean stageChanged) {
+		final StreamingListing listing = new StreamingListing(currentDirectory, selectedFiles, stageChanged,
+				sorting.get(), !sortingOrderAscending.get(), new FileMetadataScanner(fileFilter, getActiveFileTypeRuleIfEnabled()));
+		streamingListing = listing;
+
+		listDirFuture = listDirExecutor.submit(new Runnable() {
+			@Override
+			public void run () {
+				if (listing.directory.exists() == false || listing.directory.isDirectory() == false) {
+					Gdx.app.postRunnable(new Runnable() {
+						@Override
+						public void run () {
+							if (streamingListing != listing) return;
+							cancelStreamingListing();
+							setDirectory(getDefaultStartingDirectory(), HistoryPolicy.ADD);
+						}
+					});
+					return;
+				}
+
+				streamDirectory(listing);
+			}
+		});
+	}
+
+	/** Lists directory on listing thread, accepted files are published in sorted batches. */
+	private void streamDirectory (StreamingListing listing) {
+		ListingBatchPublisher publisher = new ListingBatchPublisher(listing);
+		try {
+			if (listing.scanner.scan(listing.directory, publisher)) publisher.publish();
+		} catch (IOException e) {
+			Gdx.app.log("VisUI", "Can't list directory " + listing.directory.path(), e);
+		} finally {
+			listing.finished = true;
+		}
+	}
+
+	private void processStreamingListing (float delta) {
+		StreamingListing listing = streamingListing;
+		boolean finished = listing.finished; //must be read before polling batches
+
+		long start = System.nanoTime();
+		ListingBatch batch;
+		while (System.nanoTime() - start < STREAMING_FRAME_BUDGET_NANOS && (batch = listing.batches.poll()) != null) {
+			if (listing.viewUpdateStarted == false) beginStreamingViewUpdate(listing);
+			mergeStreamingBatch(listing, batch);
+		}
+
+		if (finished && listing.batches.isEmpty()) {
+			finishStreamingListing(listing);
+			return;
+		}
+
+		fileListProgressLabel.setText(LISTING_PROGRESS.format(listing.scanner.getScannedEntries()));
+		fileListProgressLabel.setVisible(fileListBusyBar.isVisible());
+
+		listing.timeSinceViewUpdate += delta;
+		if (listing.viewUpdateStarted && listing.timeSinceViewUpdate >= listing.viewUpdateInterval) {
+			// rebuilding view of big list is costly so it is done less often when list grows
+			long rebuildStart = System.nanoTime();
+			fileListAdapter.endUpdate();
+			fileListAdapter.beginUpdate();
+			float rebuildTime = (System.nanoTime() - rebuildStart) / 1000000000f;
+			listing.timeSinceViewUpdate = 0;
+			listing.viewUpdateInterval = Math.max(STREAMING_MIN_VIEW_UPDATE_INTERVAL, rebuildTime * 4);
+		}
+	}
+
+	private void beginStreamingViewUpdate (StreamingListing listing) {
+		currentFiles.clear();
+		currentFilesMetadata.clear();
+		currentFilesKeys.clear();
+		currentFilesIndex = null;
+		currentFilesSorting = listing.sorting;
+		currentFilesDescending = listing.descending;
+		maxDateLabelWidth = 0;
+		fileListAdapter.itemsChanged();
+		fileListView.getScrollPane().setScrollX(0);
+		fileListView.getScrollPane().setScrollY(0);
+
+		fileListAdapter.beginUpdate();
+		listing.viewUpdateStarted = true;
+	}
+
+	/** Merges sorted batch into sorted list of current files, adapter is notified about inserted items. */
+	private void mergeStreamingBatch (StreamingListing listing, ListingBatch batch) {
+		currentFilesMetadata.putAll(batch.metadata);
+		currentFilesIndex = null;
+		Array<FileSortKey> keys = currentFilesKeys;
+		IntArray insertedIndices = listing.insertedIndices;
+		insertedIndices.clear();
+
+		int i = keys.size - 1;
+		int j = batch.keys.size - 1;
+		keys.setSize(keys.size + batch.keys.size);
+		currentFiles.setSize(keys.size);
+		for (int k = keys.size - 1; j >= 0; k--) {
+			FileSortKey key;
+			if (i >= 0 && FileSortKey.compare(keys.get(i), batch.keys.get(j), listing.descending) > 0) {
+				key = keys.get(i--);
+			} else {
+				key = batch.keys.get(j--);
+				insertedIndices.add(k);
+			}
+			keys.set(k, key);
+			currentFiles.set(k, key.getFile());
+		}
+
+		// indices were collected in descending order, report them in ascending order merging consecutive indices into ranges
+		int r = insertedIndices.size - 1;
+		while (r >= 0) {
+			int index = insertedIndices.get(r--);
+			int count = 1;
+			while (r >= 0 && insertedIndices.get(r) == index + count) {
+				count++;
+				r--;
+			}
+			fileListAdapter.itemsInserted(index, count);
+		}
+	}
+
+	private void finishStreamingListing (StreamingListing listing) {
+		streamingListing = null;
+		fileListingInProgress = false;
+		if (listing.viewUpdateStarted) {
+			fileListAdapter.endUpdate();
+		} else {
+			currentFiles.clear();
+			currentFilesMetadata.clear();
+			currentFilesKeys.clear();
+			currentFilesIndex = null;
+			fileListAdapter.itemsChanged();
+		}
+
+		showBusyBarTask.cancel();
+		fileListProgressLabel.setVisible(false);
+		restoreFileListSelection(listing.selectedFiles, listing.stageChanged);
+	}
+
+	private void cancelStreamingListing () {
+		if (streamingListing == null) return;
+		if (streamingListing.viewUpdateStarted) fileListAdapter.endUpdate();
+		streamingListing = null;
+		fileListProgressLabel.setVisible(false);
+	}
+
 	/**
 	 * Sets chooser selected files. All files that are invalid for current selection won't be selected. Files that doesn't
 	 * exist will be ignored.
@@ -959,10 +1166,8 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		deselectAll(false);
 
 		for (FileHandle file : files) {
-			FileItem item = fileListAdapter.getViews().get(file);
-			if (item != null) {
-				item.select(false);
-			}
+			int index = indexOfCurrentFile(file);
+			if (index != -1) selectFile(currentFiles.get(index));
 		}
 
 		removeInvalidSelections();
@@ -988,6 +1193,7 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 
 	/** Refresh chooser lists content */
 	public void refresh () {
+		if (currentDirectory != null) DirectorySnapshotCache.getInstance().invalidate(currentDirectory);
 		refresh(false);
 	}
 
@@ -1047,35 +1253,47 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 	}
 
 	private void deselectAll (boolean updateTextField) {
-		for (FileItem item : selectedItems)
-			item.deselect(false);
+		for (FileHandle file : selection) {
+			FileItem item = fileListAdapter.getViews().get(file);
+			if (item != null) item.deselect(false);
+		}
 
-		selectedItems.clear();
+		selection.clear();
 		if (updateTextField) updateSelectedFileFieldText();
 	}
 
 	private void selectAll () {
-		for (FileItem item : fileListAdapter.getOrderedViews())
-			item.select(false);
+		for (FileHandle file : currentFiles)
+			selectFile(file);
 
 		removeInvalidSelections();
 		updateSelectedFileFieldText();
 	}
 
+	/** Selects file from current files, file view is updated if file is visible. */
+	private void selectFile (FileHandle file) {
+		FileItem item = fileListAdapter.getViews().get(file);
+		if (item != null)
+			item.select(false);
+		else if (selection.contains(file, true) == false)
+			selection.add(file);
+	}
+
 	/**
 	 * Sets chooser selected files. Compared to {@link #setSelectedFiles(FileHandle...)} does not remove invalid files
 	 * from selection.
 	 */
 	public void highlightFiles (FileHandle... files) {
 		for (FileHandle file : files) {
-			FileItem item = fileListAdapter.getViews().get(file);
-			if (item != null) {
-				item.select(false);
-			}
+			int index = indexOfCurrentFile(file);
+			if (index != -1) selectFile(currentFiles.get(index));
 		}
 		if (files.length > 0) {
 			FileItem item = fileListAdapter.getViews().get(files[0]);
-			if (item != null) {
+			if (fileListView.isVirtualized()) {
+				int index = indexOfCurrentFile(files[0]);
+				if (index != -1) fileListView.scrollToItem(index);
+			} else if (item != null) {
 				if (item.getParent() instanceof Table) { //table at this point may need additional layout to calculate proper target scroll cords
 					((Table) item.getParent()).layout();
 				}
@@ -1094,16 +1312,16 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		if (ignoreKeyboardFocus == false && getChooserStage() != null) {
 			if (getChooserStage().getKeyboardFocus() == selectedFileTextField) return;
 		}
-		if (selectedItems.size == 0) {
+		if (selection.size == 0) {
 			selectedFileTextField.setText("");
-		} else if (selectedItems.size == 1) {
-			selectedFileTextField.setText(selectedItems.get(0).getFile().name());
+		} else if (selection.size == 1) {
+			selectedFileTextField.setText(selection.get(0).name());
 		} else {
 			StringBuilder builder = new StringBuilder();
 
-			for (FileItem item : selectedItems) {
+			for (FileHandle file : selection) {
 				builder.append('"');
-				builder.append(item.file.name());
+				builder.append(file.name());
 				builder.append("\" ");
 			}
 
@@ -1114,24 +1332,26 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 
 	private void removeInvalidSelections () {
 		if (selectionMode == SelectionMode.FILES) {
-			Iterator<FileItem> it = selectedItems.iterator();
+			Iterator<FileHandle> it = selection.iterator();
 			while (it.hasNext()) {
-				FileItem item = it.next();
+				FileHandle file = it.next();
 
-				if (item.file.isDirectory()) {
-					item.deselect(false);
+				if (file.isDirectory()) {
+					FileItem item = fileListAdapter.getViews().get(file);
+					if (item != null) item.deselect(false);
 					it.remove();
 				}
 			}
 		}
 
 		if (selectionMode == SelectionMode.DIRECTORIES) {
-			Iterator<FileItem> it = selectedItems.iterator();
+			Iterator<FileHandle> it = selection.iterator();
 			while (it.hasNext()) {
-				FileItem item = it.next();
+				FileHandle file = it.next();
 
-				if (item.file.isDirectory() == false) {
-					item.deselect(false);
+				if (file.isDirectory() == false) {
+					FileItem item = fileListAdapter.getViews().get(file);
+					if (item != null) item.deselect(false);
 					it.remove();
 				}
 			}
@@ -1156,6 +1376,14 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		if (this.viewMode == viewMode) return;
 		this.viewMode = viewMode;
 		iconProvider.viewModeChanged(viewMode);
+		if (fileListView.isVirtualized() == viewMode.isGridMode()) {
+			//changing virtualized mode rebuilds list view, don't create views for files that will be listed again
+			currentFiles.clear();
+			currentFilesMetadata.clear();
+			currentFilesKeys.clear();
+			currentFilesIndex = null;
+			fileListView.setVirtualized(viewMode.isGridMode() == false);
+		}
 		rebuildFileList();
 	}
 
@@ -1200,24 +1428,8 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		return Gdx.files.absolute(System.getProperty("user.home"));
 	}
 
-	/** List currently set directory with all active filters */
-	private FileHandle[] listFilteredCurrentDirectory () {
-		FileHandle[] files = currentDirectory.list(fileFilter);
-		if (fileTypeFilter == null || activeFileTypeRule == null) return files;
-
-		FileHandle[] filtered = new FileHandle[files.length];
-
-		int count = 0;
-		for (FileHandle file : files) {
-			if (file.isDirectory() == false && activeFileTypeRule.accept(file) == false) continue;
-			filtered[count++] = file;
-		}
-
-		if (count == 0) return new FileHandle[0];
-
-		FileHandle[] newFiltered = new FileHandle[count];
-		System.arraycopy(filtered, 0, newFiltered, 0, count);
-		return newFiltered;
+	private FileTypeFilter.Rule getActiveFileTypeRuleIfEnabled () {
+		return fileTypeFilter == null ? null : activeFileTypeRule;
 	}
 
 	public FileFilter getFileFilter () {
@@ -1337,6 +1549,33 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		return showSelectionCheckboxes;
 	}
 
+	/**
+	 * If true then directory content will be displayed progressively while it's being listed, files will be sorted in
+	 * batches and merged into already displayed list. Busy bar will additionally show number of entries that were already
+	 * listed. This is useful for directories containing huge amount of files, for example on network shares.
+	 * Default is false.
+	 */
+	public void setStreamingListingEnabled (boolean streamingListingEnabled) {
+		this.streamingListingEnabled = streamingListingEnabled;
+		rebuildFileList();
+	}
+
+	public boolean isStreamingListingEnabled () {
+		return streamingListingEnabled;
+	}
+
+	/**
+	 * If true then file name suggestions will also include files which names match typed text ignoring case, such files
+	 * are suggested after files matching exactly. Default is false.
+	 */
+	public void setCaseInsensitiveSuggestionsEnabled (boolean caseInsensitiveSuggestionsEnabled) {
+		this.caseInsensitiveSuggestionsEnabled = caseInsensitiveSuggestionsEnabled;
+	}
+
+	public boolean isCaseInsensitiveSuggestionsEnabled () {
+		return caseInsensitiveSuggestionsEnabled;
+	}
+
 	public void setShowSelectionCheckboxes (boolean showSelectionCheckboxes) {
 		this.showSelectionCheckboxes = showSelectionCheckboxes;
 		rebuildFileList();
@@ -1387,7 +1626,7 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 	}
 
 	/**
-	 * If false file chooser won't pool directories for changes, adding new files or connecting new drive won't refresh file list.
+	 * If false file chooser won't watch directories for changes, adding new files or connecting new drive won't refresh file list.
 	 * This must be called when file chooser is not added to Stage
 	 */
 	public void setWatchingFilesEnabled (boolean watchingFilesEnabled) {
@@ -1408,6 +1647,13 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		if (rebuildUI) rebuildShortcutsFavoritesPanel();
 	}
 
+	@Override
+	public void act (float delta) {
+		super.act(delta);
+		if (streamingListing != null) processStreamingListing(delta);
+		if (pendingFileChanges.isEmpty() == false) applyFileChanges();
+	}
+
 	@Override
 	public void draw (Batch batch, float parentAlpha) {
 		super.draw(batch, parentAlpha);
@@ -1433,6 +1679,11 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 			}
 		}
 
+		if (stage == null && streamingListing != null) {
+			listDirFuture.cancel(true);
+			cancelStreamingListing();
+		}
+
 		if (watchingFilesEnabled) {
 			if (stage != null) {
 				startFileWatcher();
@@ -1443,59 +1694,112 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 	}
 
 	private void startFileWatcher () {
-		if (fileWatcherThread != null) return;
+		fileWatcher.setDirectory(currentDirectory);
+		fileWatcher.start();
+	}
 
-		fileWatcherThread = new Thread(new Runnable() {
-			File[] lastRoots;
+	private void stopFileWatcher () {
+		fileWatcher.stop();
+		pendingFileChanges.clear();
+	}
 
-			FileHandle lastCurrentDirectory;
-			FileHandle[] lastCurrentFiles;
+	/**
+	 * Applies changes reported by file watcher to current file list. Files are inserted and removed incrementally,
+	 * if there are too many changes whole directory is listed again. Changes are applied only after current listing
+	 * is finished, applying already listed change again has no effect.
+	 */
+	private void applyFileChanges () {
+		if (fileListingInProgress) return;
 
-			@Override
-			public void run () {
-				lastRoots = File.listRoots();
+		FileChange change;
+		while ((change = pendingFileChanges.poll()) != null) {
+			if (change.directory.equals(currentDirectory)) appliedFileChanges.add(change);
+		}
 
-				lastCurrentDirectory = currentDirectory;
-				lastCurrentFiles = currentDirectory.list();
+		if (appliedFileChanges.size > FILE_WATCHER_MAX_INCREMENTAL_CHANGES) {
+			appliedFileChanges.clear();
+			rebuildFileList();
+			return;
+		}
 
-				while (fileWatcherThread != null) {
-					File[] roots = File.listRoots();
+		Array<FileHandle> reselectedFiles = null;
+		boolean selectionChanged = false;
 
-					if (roots.length != lastRoots.length || Arrays.equals(lastRoots, roots) == false)
-						shortcutsListRebuildScheduled = true;
+		fileListAdapter.beginUpdate();
+		for (FileChange fileChange : appliedFileChanges) {
+			int index = indexOfCurrentFile(fileChange.file);
+			boolean selected = index != -1 && removeCurrentFile(index);
+			if (fileChange.metadata != null) insertCurrentFile(fileChange.file, fileChange.metadata);
 
-					lastRoots = roots;
+			if (selected) {
+				selectionChanged = true;
+				if (fileChange.metadata != null) {
+					if (reselectedFiles == null) reselectedFiles = new Array<FileHandle>();
+					reselectedFiles.add(fileChange.file);
+				}
+			}
+		}
+		appliedFileChanges.clear();
+		fileListAdapter.endUpdate();
 
-					// if current directory changed during pools then our lastCurrentDirectoryFiles list is outdated and we shouldn't
-					// schedule files list rebuild
-					if (lastCurrentDirectory.equals(currentDirectory) == true) {
-						FileHandle[] currentFiles = currentDirectory.list();
+		if (reselectedFiles != null) {
+			for (FileHandle file : reselectedFiles)
+				selectFile(file);
+		}
+		if (selectionChanged) updateSelectedFileFieldText();
+	}
 
-						if (lastCurrentFiles.length != currentFiles.length || Arrays.equals(lastCurrentFiles, currentFiles) == false)
-							filesListRebuildScheduled = true;
+	/** @return true if removed file was selected */
+	private boolean removeCurrentFile (int index) {
+		FileHandle file = currentFiles.get(index);
+		boolean selected = selection.removeValue(file, true);
 
-						lastCurrentFiles = currentFiles;
-					} else
-						lastCurrentFiles = currentDirectory.list(); // if list is outdated, refresh it
+		currentFilesKeys.removeIndex(index);
+		currentFilesMetadata.remove(file);
+		currentFilesIndex = null;
+		fileListAdapter.removeIndex(index);
+		return selected;
+	}
 
-					lastCurrentDirectory = currentDirectory;
+	private void insertCurrentFile (FileHandle file, FileHandleMetadata metadata) {
+		FileSortKey key = new FileSortKey(file, metadata, currentFilesSorting, false);
+		int index = searchCurrentFilesKeys(key, true);
+		currentFilesKeys.insert(index, key);
+		currentFilesMetadata.put(file, metadata);
+		currentFilesIndex = null;
+		fileListAdapter.insert(index, file);
+	}
 
-					try {
-						Thread.sleep(FILE_WATCHER_CHECK_DELAY_MILLIS);
-					} catch (InterruptedException ignored) {
-					}
-				}
-			}
-		}, "FileWatcherThread");
+	/** @return index of file in current files or -1, index is found using binary search of file sort key */
+	private int indexOfCurrentFile (FileHandle file) {
+		FileHandleMetadata metadata = currentFilesMetadata.get(file);
+		if (metadata == null) return -1;
 
-		fileWatcherThread.setDaemon(true);
-		fileWatcherThread.start();
+		FileSortKey key = new FileSortKey(file, metadata, currentFilesSorting, false);
+		for (int i = searchCurrentFilesKeys(key, false); i < currentFilesKeys.size; i++) {
+			if (FileSortKey.compare(currentFilesKeys.get(i), key, currentFilesDescending) != 0) break;
+			if (currentFiles.get(i).equals(file)) return i;
+		}
+		return -1;
 	}
 
-	private void stopFileWatcher () {
-		if (fileWatcherThread == null) return;
-		fileWatcherThread.interrupt();
-		fileWatcherThread = null;
+	/**
+	 * @param afterEqual if true then returned index is placed after all keys equal to given key, otherwise before them
+	 * @return index at which key would be inserted into current files keys
+	 */
+	private int searchCurrentFilesKeys (FileSortKey key, boolean afterEqual) {
+		int low = 0;
+		int high = currentFilesKeys.size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			int result = FileSortKey.compare(currentFilesKeys.get(mid), key, currentFilesDescending);
+			if (result < 0 || (afterEqual && result == 0)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
 	}
 
 	private void showNewDirectoryDialog () {
@@ -1761,6 +2065,21 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 			return true;
 		}
 
+		/**
+		 * Same as {@link #accept(File)} but uses metadata read when directory was listed instead of querying file system
+		 * for each attribute. Access rights are checked only once for each listing, so cached listing of directory is
+		 * filtered again without any file system calls.
+		 */
+		public boolean accept (FileHandle file, FileHandleMetadata metadata) {
+			if (metadata.isHidden()) return false;
+			if (ignoreChooserSelectionMode == false && metadata.isDirectory() == false &&
+					chooser.getSelectionMode() == SelectionMode.DIRECTORIES) {
+				return false;
+			}
+
+			return chooser.getMode() == Mode.OPEN ? metadata.canRead(file) : metadata.canWrite(file);
+		}
+
 		public boolean isIgnoreChooserSelectionMode () {
 			return ignoreChooserSelectionMode;
 		}
@@ -1793,8 +2112,11 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		public void run () {
 			fileListBusyBar.resetSegment();
 			fileListBusyBar.setVisible(true);
+			if (streamingListing != null && streamingListing.viewUpdateStarted) return; //already displaying listed files
 			currentFiles.clear();
 			currentFilesMetadata.clear();
+			currentFilesKeys.clear();
+			currentFilesIndex = null;
 			fileListAdapter.itemsChanged();
 		}
 
@@ -1805,33 +2127,186 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		}
 	}
 
+	/** Receives file watcher events on watcher thread, metadata of changed files is read before passing them to UI thread. */
+	private class ChooserFileWatcherListener implements FileWatcherListener {
+		@Override
+		public void rootsChanged () {
+			shortcutsListRebuildScheduled = true;
+		}
+
+		@Override
+		public void directoryChanged (FileHandle directory) {
+			DirectorySnapshotCache.getInstance().invalidate(directory);
+			if (directory.equals(currentDirectory)) filesListRebuildScheduled = true;
+		}
+
+		@Override
+		public void fileChanged (FileHandle directory, FileHandle file, ChangeType type) {
+			//modified files don't change directory modification date, cached snapshot has to be removed explicitly
+			DirectorySnapshotCache.getInstance().invalidate(directory);
+			FileHandleMetadata metadata = null;
+			if (type != ChangeType.DELETED) {
+				metadata = new FileMetadataScanner(fileFilter, getActiveFileTypeRuleIfEnabled()).readIfAccepted(file);
+			}
+			pendingFileChanges.add(new FileChange(directory, file, metadata));
+		}
+	}
+
+	/** Single file change, null metadata means that file was deleted or is no longer accepted by filters. */
+	private static class FileChange {
+		final FileHandle directory;
+		final FileHandle file;
+		final FileHandleMetadata metadata;
+
+		FileChange (FileHandle directory, FileHandle file, FileHandleMetadata metadata) {
+			this.directory = directory;
+			this.file = file;
+			this.metadata = metadata;
+		}
+	}
+
+	/** State of single streaming directory listing, shared between listing thread and UI thread. */
+	private static class StreamingListing {
+		final FileHandle directory;
+		final FileHandle[] selectedFiles;
+		final boolean stageChanged;
+		final FileSorting sorting;
+		final boolean descending;
+		final FileMetadataScanner scanner;
+
+		final ConcurrentLinkedQueue<ListingBatch> batches = new ConcurrentLinkedQueue<ListingBatch>();
+		volatile boolean finished;
+
+		// accessed only from UI thread
+		final IntArray insertedIndices = new IntArray();
+		boolean viewUpdateStarted;
+		float timeSinceViewUpdate;
+		float viewUpdateInterval = STREAMING_MIN_VIEW_UPDATE_INTERVAL;
+
+		StreamingListing (FileHandle directory, FileHandle[] selectedFiles, boolean stageChanged,
+						  FileSorting sorting, boolean descending, FileMetadataScanner scanner) {
+			this.directory = directory;
+			this.selectedFiles = selectedFiles;
+			this.stageChanged = stageChanged;
+			this.sorting = sorting;
+			this.descending = descending;
+			this.scanner = scanner;
+		}
+	}
+
+	private static class ListingBatch {
+		final Array<FileSortKey> keys = new Array<FileSortKey>();
+		final ObjectMap<FileHandle, FileHandleMetadata> metadata = new ObjectMap<FileHandle, FileHandleMetadata>();
+	}
+
+	/** Collects scanned files on listing thread and publishes them in sorted batches. */
+	private static class ListingBatchPublisher implements FileMetadataScanner.ScanListener {
+		private final StreamingListing listing;
+		private final Sort sorter = new Sort();
+		private ListingBatch batch = new ListingBatch();
+		private long batchStart = System.currentTimeMillis();
+
+		ListingBatchPublisher (StreamingListing listing) {
+			this.listing = listing;
+		}
+
+		@Override
+		public void scanned (FileHandle file, FileHandleMetadata metadata) {
+			batch.keys.add(new FileSortKey(file, metadata, listing.sorting, false));
+			batch.metadata.put(file, metadata);
+
+			if (batch.keys.size >= STREAMING_BATCH_SIZE || System.currentTimeMillis() - batchStart >= STREAMING_BATCH_MAX_DELAY_MILLIS) {
+				publish();
+			}
+		}
+
+		void publish () {
+			if (batch.keys.size == 0) return;
+			FileSortKey.sort(sorter, batch.keys, listing.descending);
+			listing.batches.add(batch);
+			batch = new ListingBatch();
+			batchStart = System.currentTimeMillis();
+		}
+	}
+
 	/** Internal FileChooser API. */
 	public class FileItem extends Table implements Focusable {
 		private FileHandle file;
 		private FileHandleMetadata metadata;
+		private ViewMode viewMode;
 
 		private VisCheckBox selectCheckBox;
 		private VisImage iconImage;
 
+		// used only by rows drawn by row renderer, texts are formatted when row is drawn for the first time
+		private boolean rendered;
+		private boolean detailsRow;
+		private Drawable icon;
+		private float nameWidth = -1;
+		private String sizeText;
+		private String dateText;
+
 		public FileItem (final FileHandle file, ViewMode viewMode) {
+			setTouchable(Touchable.enabled);
+			addListeners();
+			bind(file, viewMode);
+		}
+
+		/**
+		 * Rebuilds this item to display given file. Used by virtualized file list to reuse views of files that are no
+		 * longer visible.
+		 */
+		public void bind (FileHandle file, ViewMode viewMode) {
 			this.file = file;
+			this.viewMode = viewMode;
 			this.metadata = currentFilesMetadata.get(file);
 			if (metadata == null) metadata = FileHandleMetadata.of(file); //fallback, should not ever happen
-			setTouchable(Touchable.enabled);
 
-			VisLabel name = new VisLabel(metadata.name(), viewMode == ViewMode.SMALL_ICONS ? "small" : "default");
-			name.setEllipsis(true);
+			clearChildren();
+			selectCheckBox = null;
+			iconImage = null;
+			rendered = false;
+			detailsRow = false;
+			this.icon = null;
+			nameWidth = -1;
+			sizeText = null;
+			dateText = null;
+			build(viewMode);
+
+			if (selection.contains(file, true))
+				select(false);
+			else
+				deselect(false);
+		}
+
+		private void build (ViewMode viewMode) {
 			Drawable icon = iconProvider.provideIcon(this);
 
-			selectCheckBox = new VisCheckBox("");
-			selectCheckBox.setFocusBorderEnabled(false);
-			selectCheckBox.setProgrammaticChangeEvents(false);
 			boolean shouldShowItemShowCheckBox = showSelectionCheckboxes && (
 					(selectionMode == SelectionMode.FILES_AND_DIRECTORIES)
 							|| (selectionMode == SelectionMode.FILES && metadata.isDirectory() == false)
 							|| (selectionMode == SelectionMode.DIRECTORIES && metadata.isDirectory())
 			);
 
+			if (viewMode.isThumbnailMode() == false && shouldShowItemShowCheckBox == false) {
+				// row without child actors, content is drawn directly by row renderer
+				rendered = true;
+				detailsRow = viewMode == ViewMode.DETAILS;
+				this.icon = icon;
+				invalidateHierarchy();
+				return;
+			}
+
+			VisLabel name = new VisLabel(metadata.name(), viewMode == ViewMode.SMALL_ICONS ? "small" : "default");
+			name.setEllipsis(true);
+
+			if (shouldShowItemShowCheckBox) {
+				selectCheckBox = new VisCheckBox("");
+				selectCheckBox.setFocusBorderEnabled(false);
+				selectCheckBox.setProgrammaticChangeEvents(false);
+				addCheckBoxListeners();
+			}
+
 			left();
 			if (viewMode.isThumbnailMode()) {
 				if (shouldShowItemShowCheckBox) {
@@ -1847,11 +2322,11 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 				add(iconImage = new VisImage(icon)).padTop(3).minWidth(22 * sizes.scaleFactor);
 				add(name).minWidth(1).growX().padRight(10);
 
-				VisLabel size = new VisLabel(isDirectory() ? "" : metadata.readableFileSize(), "small");
-				VisLabel dateLabel = new VisLabel(dateFormat.format(metadata.lastModified()), "small");
-				size.setAlignment(Align.right);
-
 				if (viewMode == ViewMode.DETAILS) {
+					VisLabel size = new VisLabel(isDirectory() ? "" : metadata.readableFileSize(), "small");
+					VisLabel dateLabel = new VisLabel(dateFormat.format(metadata.lastModified()), "small");
+					size.setAlignment(Align.right);
+
 					maxDateLabelWidth = Math.max(dateLabel.getWidth(), maxDateLabelWidth);
 					add(size).right().padRight(isDirectory() ? 0 : 10);
 					add(dateLabel).padRight(6).width(new Value() {
@@ -1862,8 +2337,6 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 					});
 				}
 			}
-
-			addListeners();
 		}
 
 		/**
@@ -1871,6 +2344,11 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		 * even if this item icon will be loaded later.
 		 */
 		public void setIcon (Drawable icon, Scaling scaling) {
+			if (rendered) {
+				this.icon = icon;
+				invalidateHierarchy();
+				return;
+			}
 			iconImage.setDrawable(icon);
 			iconImage.setScaling(scaling);
 			iconImage.invalidateHierarchy();
@@ -1917,7 +2395,7 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 				@Override
 				public void clicked (InputEvent event, float x, float y) {
 					super.clicked(event, x, y);
-					if (getTapCount() == 2 && selectedItems.contains(FileItem.this, true)) {
+					if (getTapCount() == 2 && selection.contains(file, true)) {
 						if (file.isDirectory()) {
 							setDirectory(file, HistoryPolicy.ADD);
 						} else
@@ -1926,7 +2404,9 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 				}
 
 			});
+		}
 
+		private void addCheckBoxListeners () {
 			selectCheckBox.addListener(new InputListener() {
 				@Override
 				public boolean touchDown (InputEvent event, float x, float y, int pointer, int button) {
@@ -1947,7 +2427,7 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 			if (selectedShortcut != null) selectedShortcut.deselect();
 
 			if (checkboxClicked) {
-				if (multiSelectionEnabled == false && selectedItems.contains(FileItem.this, true) == false)
+				if (multiSelectionEnabled == false && selection.contains(file, true) == false)
 					deselectAll();
 			} else {
 				if (multiSelectionEnabled == false || (isMultiSelectKeyPressed() == false && isGroupMultiSelectKeyPressed() == false))
@@ -1956,10 +2436,10 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 
 			boolean itemSelected = select();
 
-			if (selectedItems.size > 1 && multiSelectionEnabled && isGroupMultiSelectKeyPressed())
+			if (selection.size > 1 && multiSelectionEnabled && isGroupMultiSelectKeyPressed())
 				selectGroup();
 
-			if (selectedItems.size > 1) removeInvalidSelections();
+			if (selection.size > 1) removeInvalidSelections();
 
 			updateSelectedFileFieldText();
 
@@ -1967,10 +2447,9 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 		}
 
 		private void selectGroup () {
-			Array<FileItem> actors = fileListAdapter.getOrderedViews();
-
-			int thisSelectionIndex = getItemId(actors, FileItem.this);
-			int lastSelectionIndex = getItemId(actors, selectedItems.get(selectedItems.size - 2));
+			int thisSelectionIndex = indexOfCurrentFile(file);
+			int lastSelectionIndex = indexOfCurrentFile(selection.get(selection.size - 2));
+			if (thisSelectionIndex == -1 || lastSelectionIndex == -1) return;
 
 			int start;
 			int end;
@@ -1984,33 +2463,24 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 			}
 
 			for (int i = start; i < end; i++) {
-				FileItem item = actors.get(i);
-				item.select(false);
+				selectFile(currentFiles.get(i));
 			}
 		}
 
-		private int getItemId (Array<FileItem> actors, FileItem item) {
-			for (int i = 0; i < actors.size; i++) {
-				if (actors.get(i) == item) return i;
-			}
-
-			throw new IllegalStateException("Item not found in cells");
-		}
-
 		/** Selects this items, if item is already in selectedList it will be deselected */
 		private boolean select () {
 			return select(true);
 		}
 
 		private boolean select (boolean deselectIfAlreadySelected) {
-			if (deselectIfAlreadySelected && selectedItems.contains(this, true)) {
+			if (deselectIfAlreadySelected && selection.contains(file, true)) {
 				deselect();
 				return false;
 			}
 
 			setBackground(style.highlight);
-			selectCheckBox.setChecked(true);
-			if (selectedItems.contains(this, true) == false) selectedItems.add(this);
+			if (selectCheckBox != null) selectCheckBox.setChecked(true);
+			if (selection.contains(file, true) == false) selection.add(file);
 			return true;
 		}
 
@@ -2020,8 +2490,8 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 
 		private void deselect (boolean removeFromList) {
 			setBackground((Drawable) null);
-			selectCheckBox.setChecked(false);
-			if (removeFromList) selectedItems.removeValue(this, true);
+			if (selectCheckBox != null) selectCheckBox.setChecked(false);
+			if (removeFromList) selection.removeValue(file, true);
 		}
 
 		@Override
@@ -2034,13 +2504,60 @@ public class FileChooser extends VisWindow implements FileHistoryCallback {
 
 		}
 
+		@Override
+		public void draw (Batch batch, float parentAlpha) {
+			super.draw(batch, parentAlpha);
+			if (rendered == false) return;
+
+			if (detailsRow && dateText == null) {
+				sizeText = isDirectory() ? null : metadata.readableFileSize();
+				dateText = dateFormat.format(metadata.lastModified());
+			}
+			getRowRenderer().draw(batch, getColor(), parentAlpha, getX(), getY(), getWidth(), getHeight(),
+					icon, metadata.name(), sizeText, dateText);
+		}
+
+		@Override
+		public float getPrefWidth () {
+			if (rendered == false) return super.getPrefWidth();
+			if (nameWidth < 0) nameWidth = getRowRenderer().measureName(metadata.name());
+			return getRowRenderer().getPrefWidth(icon, nameWidth, detailsRow);
+		}
+
+		@Override
+		public float getPrefHeight () {
+			if (rendered == false) return super.getPrefHeight();
+			return getRowRenderer().getPrefHeight(icon);
+		}
+
+		@Override
+		public float getMinWidth () {
+			if (rendered == false) return super.getMinWidth();
+			return getRowRenderer().getIconCellWidth(icon);
+		}
+
+		@Override
+		public float getMinHeight () {
+			if (rendered == false) return super.getMinHeight();
+			return getPrefHeight();
+		}
+
 		public FileHandle getFile () {
 			return file;
 		}
 
+		public ViewMode getViewMode () {
+			return viewMode;
+		}
+
 		public boolean isDirectory () {
 			return metadata.isDirectory();
 		}
+
+		/** @return file modification date read when file list was created */
+		public long getLastModified () {
+			return metadata.lastModified();
+		}
 	}
 
 	private class ShortcutItem extends Table implements RootNameListener, Focusable {
@@ -22,6 +22,8 @@ import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Sort;
 import com.kotcrab.vis.ui.util.OsUtils;
+import com.kotcrab.vis.ui.widget.file.FileChooser.FileSorting;
+import com.kotcrab.vis.ui.widget.file.internal.FileSortKey;
 
 import java.io.File;
 import java.io.IOException;
@@ -102,12 +104,18 @@ public class FileUtils {
 
 	/**
 	 * Sorts file list, using this rules: directories first, sorted using provided comparator, then files sorted using provided comparator.
+	 * When one of comparators defined in this class is used, sorting is delegated to
+	 * {@link #sortFiles(FileHandle[], FileSorting, boolean, boolean)}.
 	 * @param files list to sort
 	 * @param comparator comparator used to sort files list
 	 * @param descending if true then sorted list will be in reversed order
 	 * @return sorted file list
 	 */
 	public static Array<FileHandle> sortFiles (FileHandle[] files, Comparator<FileHandle> comparator, boolean descending) {
+		if (comparator == FILE_NAME_COMPARATOR) return sortFiles(files, FileSorting.NAME, descending, false);
+		if (comparator == FILE_MODIFIED_DATE_COMPARATOR) return sortFiles(files, FileSorting.MODIFIED_DATE, descending, false);
+		if (comparator == FILE_SIZE_COMPARATOR) return sortFiles(files, FileSorting.SIZE, descending, false);
+
 		Array<FileHandle> directoriesList = new Array<FileHandle>();
 		Array<FileHandle> filesList = new Array<FileHandle>();
 
@@ -132,6 +140,32 @@ public class FileUtils {
 		return directoriesList;
 	}
 
+	/**
+	 * Sorts file list, using this rules: directories first, then files, both sorted using provided {@link FileSorting},
+	 * files with equal sorting value are sorted by names ignoring upper case. Sort key of each file is computed once
+	 * before sorting, file attributes are read only once per file and comparing files doesn't allocate any memory,
+	 * which makes this method suitable for sorting very large lists.
+	 * @param files list to sort
+	 * @param sorting sorting used for directories and files
+	 * @param descending if true then sorted list will be in reversed order, directories are still placed first
+	 * @param naturalOrder if true then numbers in file names are compared by their value, e.g. "file9" is placed before "file10"
+	 * @return sorted file list
+	 */
+	public static Array<FileHandle> sortFiles (FileHandle[] files, FileSorting sorting, boolean descending, boolean naturalOrder) {
+		Array<FileSortKey> keys = new Array<FileSortKey>(files.length);
+		for (FileHandle file : files) {
+			keys.add(FileSortKey.of(file, sorting, naturalOrder));
+		}
+
+		FileSortKey.sort(new Sort(), keys, descending);
+
+		Array<FileHandle> sortedFiles = new Array<FileHandle>(files.length);
+		for (FileSortKey key : keys) {
+			sortedFiles.add(key.getFile());
+		}
+		return sortedFiles;
+	}
+
 	/**
 	 * Checks whether given name is valid for current user OS.
 	 * @param name that will be checked
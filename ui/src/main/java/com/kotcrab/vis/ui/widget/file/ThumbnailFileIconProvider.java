@@ -0,0 +1,448 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.widget.file;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.Scaling;
+import com.badlogic.gdx.utils.Timer;
+import com.kotcrab.vis.ui.widget.file.FileChooser.FileItem;
+import com.kotcrab.vis.ui.widget.file.FileChooser.ViewMode;
+import com.kotcrab.vis.ui.widget.file.internal.ThumbnailCache;
+import com.kotcrab.vis.ui.widget.file.internal.ThumbnailCache.CachedThumbnail;
+import com.kotcrab.vis.ui.widget.file.internal.ThumbnailCache.EvictionListener;
+import com.kotcrab.vis.ui.widget.file.internal.ThumbnailLoader;
+import com.kotcrab.vis.ui.widget.file.internal.ThumbnailLoader.ThumbnailListener;
+
+import java.util.concurrent.Future;
+
+/**
+ * {@link FileChooser.FileIconProvider} displaying image previews in thumbnail view modes. Thumbnails are decoded and
+ * downscaled on worker threads, items inside visible part of the file list are loaded first and loading of items
+ * scrolled far away is cancelled. Thumbnail textures are kept in least recently used cache bounded by texture memory,
+ * evicted textures are disposed. Optionally, downscaled thumbnails can be stored in disk cache directory which makes
+ * reopening directories with large images much faster. Disk cache size is bounded (see {@link #setMaxDiskCacheSize(long)}),
+ * least recently used thumbnails are deleted when it's exceeded.
+ * <p>
+ * Provider must be disposed when it's no longer needed.
+ * @author Kotcrab
+ * @since 1.5.1
+ */
+public class ThumbnailFileIconProvider extends FileChooser.DefaultFileIconProvider implements Disposable {
+	private static final int LOADER_THREADS = 2;
+	private static final int MAX_RUNNING_REQUESTS = 4;
+	private static final float UPDATE_INTERVAL = 0.1f;
+	/** Space in thumbnail view mode grid cell used by file name label and paddings. */
+	private static final int THUMBNAIL_CELL_PADDING = 32;
+	public static final long DEFAULT_MAX_TEXTURE_MEMORY = 64 * 1024 * 1024;
+	public static final long DEFAULT_MAX_DISK_CACHE_SIZE = 256 * 1024 * 1024;
+
+	private final ThumbnailLoader loader;
+	private long maxTextureMemory = DEFAULT_MAX_TEXTURE_MEMORY;
+
+	private final ThumbnailCache<FileItem, Thumbnail> thumbnails = new ThumbnailCache<FileItem, Thumbnail>();
+	private final ObjectSet<String> failedThumbnails = new ObjectSet<String>();
+	private final Array<ThumbnailRequest> pendingRequests = new Array<ThumbnailRequest>();
+	private final Array<ThumbnailRequest> runningRequests = new Array<ThumbnailRequest>();
+	private final Vector2 tmpVector = new Vector2();
+	private boolean disposed;
+
+	private final Timer.Task updateTask = new Timer.Task() {
+		@Override
+		public void run () {
+			updateRequests();
+		}
+	};
+
+	private final EvictionListener<FileItem, Thumbnail> evictionListener = new EvictionListener<FileItem, Thumbnail>() {
+		@Override
+		public boolean canEvict (CachedThumbnail<FileItem, Thumbnail> cached) {
+			removeDetachedItems(cached, null);
+			return isDisplayedInViewport(cached) == false;
+		}
+
+		@Override
+		public void evicted (CachedThumbnail<FileItem, Thumbnail> cached) {
+			for (FileItem item : cached.getItems()) {
+				item.setIcon(ThumbnailFileIconProvider.super.getImageIcon(item), Scaling.none);
+				if (item.getStage() != null) requestThumbnail(item, cached.getKey(), cached.getThumbnail().size);
+			}
+		}
+	};
+
+	public ThumbnailFileIconProvider (FileChooser chooser) {
+		this(chooser, null);
+	}
+
+	/** @param diskCacheDirectory directory where downscaled thumbnails will be stored, may be null to disable disk cache */
+	public ThumbnailFileIconProvider (FileChooser chooser, FileHandle diskCacheDirectory) {
+		super(chooser);
+		loader = new ThumbnailLoader(LOADER_THREADS, diskCacheDirectory, DEFAULT_MAX_DISK_CACHE_SIZE);
+	}
+
+	@Override
+	public boolean isThumbnailModesSupported () {
+		return true;
+	}
+
+	@Override
+	protected Drawable getImageIcon (FileItem item) {
+		ViewMode viewMode = chooser.getViewMode();
+		if (disposed || viewMode.isThumbnailMode() == false) return super.getImageIcon(item);
+
+		int size = getThumbnailSize(viewMode);
+		String key = item.getFile().path() + '|' + item.getLastModified() + '|' + size;
+		CachedThumbnail<FileItem, Thumbnail> cached = thumbnails.get(key);
+		if (cached != null) {
+			removeDetachedItems(cached, item);
+			cached.addItem(item);
+			return cached.getThumbnail().drawable;
+		}
+
+		if (failedThumbnails.contains(key) == false) requestThumbnail(item, key, size);
+		return super.getImageIcon(item);
+	}
+
+	/** @return size of the square that thumbnails are fitted into for given thumbnail view mode */
+	protected int getThumbnailSize (ViewMode viewMode) {
+		return Math.max(1, (int) viewMode.getGridSize(chooser.getSizes()) - THUMBNAIL_CELL_PADDING);
+	}
+
+	/** Adds item to pending or running request of thumbnail with given key, new pending request is created if there is none. */
+	private void requestThumbnail (FileItem item, String key, int size) {
+		ThumbnailRequest request = findRequest(runningRequests, key);
+		if (request == null) request = findRequest(pendingRequests, key);
+		if (request == null) {
+			request = new ThumbnailRequest(item.getFile(), item.getLastModified(), key, size);
+			pendingRequests.add(request);
+		}
+		request.addItem(item);
+		if (updateTask.isScheduled() == false) Timer.schedule(updateTask, 0, UPDATE_INTERVAL);
+	}
+
+	private ThumbnailRequest findRequest (Array<ThumbnailRequest> requests, String key) {
+		for (ThumbnailRequest request : requests) {
+			if (request.key.equals(key)) return request;
+		}
+		return null;
+	}
+
+	@Override
+	public void directoryChanged (FileHandle newDirectory) {
+		cancelRequests();
+	}
+
+	@Override
+	public void viewModeChanged (ViewMode newViewMode) {
+		cancelRequests();
+	}
+
+	private void cancelRequests () {
+		for (ThumbnailRequest request : runningRequests) {
+			request.cancel();
+		}
+		runningRequests.clear();
+		pendingRequests.clear();
+		failedThumbnails.clear();
+		updateTask.cancel();
+	}
+
+	/** Cancels requests of items that are no longer displayed or were scrolled away, starts loading of visible items. */
+	private void updateRequests () {
+		for (int i = runningRequests.size - 1; i >= 0; i--) {
+			ThumbnailRequest request = runningRequests.get(i);
+			request.removeDetachedItems();
+			if (request.items.size == 0) {
+				request.cancel();
+				runningRequests.removeIndex(i);
+			} else if (getDistanceFromViewport(request) > getPrefetchDistance(request)) {
+				request.cancel();
+				runningRequests.removeIndex(i);
+				pendingRequests.add(request.copy());
+			}
+		}
+
+		for (int i = pendingRequests.size - 1; i >= 0; i--) {
+			ThumbnailRequest request = pendingRequests.get(i);
+			request.removeDetachedItems();
+			if (request.items.size == 0) pendingRequests.removeIndex(i);
+		}
+
+		while (runningRequests.size < MAX_RUNNING_REQUESTS) {
+			ThumbnailRequest request = takeNearestPendingRequest();
+			if (request == null) break;
+			startRequest(request);
+		}
+
+		if (pendingRequests.size == 0 && runningRequests.size == 0) updateTask.cancel();
+	}
+
+	/**
+	 * Visible items are always loaded. Items outside of visible area are prefetched only when their thumbnail fits in texture
+	 * memory limit, otherwise loading them would evict other prefetched thumbnails which would be then loaded again.
+	 */
+	private ThumbnailRequest takeNearestPendingRequest () {
+		long freeMemory = maxTextureMemory - thumbnails.getMemory();
+		for (ThumbnailRequest request : runningRequests) {
+			freeMemory -= request.getMaxMemory();
+		}
+
+		int nearestIndex = -1;
+		float nearestDistance = Float.MAX_VALUE;
+		for (int i = 0; i < pendingRequests.size; i++) {
+			ThumbnailRequest request = pendingRequests.get(i);
+			float distance = getDistanceFromViewport(request);
+			if (distance > 0 && (distance > getPrefetchDistance(request) || request.getMaxMemory() > freeMemory)) continue;
+			if (distance < nearestDistance) {
+				nearestIndex = i;
+				nearestDistance = distance;
+			}
+		}
+		return nearestIndex == -1 ? null : pendingRequests.removeIndex(nearestIndex);
+	}
+
+	private void startRequest (final ThumbnailRequest request) {
+		runningRequests.add(request);
+		request.future = loader.load(request.file, request.lastModified, request.size, new ThumbnailListener() {
+			@Override
+			public void loaded (final Pixmap pixmap) {
+				Gdx.app.postRunnable(new Runnable() {
+					@Override
+					public void run () {
+						thumbnailLoaded(request, pixmap);
+					}
+				});
+			}
+		});
+	}
+
+	private void thumbnailLoaded (ThumbnailRequest request, Pixmap pixmap) {
+		if (request.cancelled || disposed) {
+			if (pixmap != null) pixmap.dispose();
+			return;
+		}
+
+		runningRequests.removeValue(request, true);
+		if (pixmap == null) {
+			failedThumbnails.add(request.key);
+			return;
+		}
+
+		CachedThumbnail<FileItem, Thumbnail> cached = thumbnails.get(request.key);
+		if (cached != null) { //already loaded by other request, cached thumbnail is used instead
+			pixmap.dispose();
+		} else {
+			Texture texture = new Texture(pixmap);
+			texture.setFilter(TextureFilter.Linear, TextureFilter.Linear);
+			pixmap.dispose();
+			long memory = texture.getWidth() * texture.getHeight() * 4L;
+			cached = thumbnails.put(request.key, new Thumbnail(texture, request.size), memory, request.items.first());
+		}
+
+		for (FileItem item : request.items) {
+			cached.addItem(item);
+			item.setIcon(cached.getThumbnail().drawable, Scaling.none);
+		}
+
+		evictThumbnails();
+	}
+
+	/**
+	 * Disposes least recently used thumbnails until texture memory limit is satisfied. Thumbnails displayed in visible part
+	 * of the file list are never evicted, items displaying other evicted thumbnails are reset to default icon.
+	 */
+	private void evictThumbnails () {
+		thumbnails.evict(maxTextureMemory, evictionListener);
+		if (pendingRequests.size > 0 && updateTask.isScheduled() == false) Timer.schedule(updateTask, 0, UPDATE_INTERVAL);
+	}
+
+	/**
+	 * Removes items that are no longer displayed by file list, for example after directory was listed again. Removed items
+	 * are reset to default icon so they never display disposed thumbnail if they are added back to file list.
+	 * @param attachedItem item which icon is being provided, it is not on stage yet and must not be removed
+	 */
+	private void removeDetachedItems (CachedThumbnail<FileItem, Thumbnail> cached, FileItem attachedItem) {
+		Array<FileItem> items = cached.getItems();
+		for (int i = items.size - 1; i >= 0; i--) {
+			FileItem item = items.get(i);
+			if (item == attachedItem || item.getStage() != null) continue;
+			item.setIcon(super.getImageIcon(item), Scaling.none);
+			items.removeIndex(i);
+		}
+	}
+
+	private boolean isDisplayedInViewport (CachedThumbnail<FileItem, Thumbnail> cached) {
+		for (FileItem item : cached.getItems()) {
+			if (item.getStage() != null && getDistanceFromViewport(item) == 0) return true;
+		}
+		return false;
+	}
+
+	/** @return distance between viewport and nearest item of request, request must have at least one item */
+	private float getDistanceFromViewport (ThumbnailRequest request) {
+		float distance = Float.MAX_VALUE;
+		for (FileItem item : request.items) {
+			distance = Math.min(distance, getDistanceFromViewport(item));
+		}
+		return distance;
+	}
+
+	/** @return vertical distance between item and visible area of its scroll pane, 0 if item is visible */
+	private float getDistanceFromViewport (FileItem item) {
+		ScrollPane scrollPane = findScrollPane(item);
+		if (scrollPane == null) return 0;
+
+		item.localToAscendantCoordinates(scrollPane, tmpVector.setZero());
+		float bottom = tmpVector.y;
+		float top = bottom + item.getHeight();
+		if (top < 0) return -top;
+		if (bottom > scrollPane.getHeight()) return bottom - scrollPane.getHeight();
+		return 0;
+	}
+
+	/** Items closer to the viewport than one viewport height are loaded in advance. */
+	private float getPrefetchDistance (ThumbnailRequest request) {
+		ScrollPane scrollPane = findScrollPane(request.items.first());
+		return scrollPane == null ? 0 : scrollPane.getHeight();
+	}
+
+	private ScrollPane findScrollPane (Actor actor) {
+		while (actor != null) {
+			if (actor instanceof ScrollPane) return (ScrollPane) actor;
+			actor = actor.getParent();
+		}
+		return null;
+	}
+
+	/**
+	 * Sets texture memory in bytes that can be used by cached thumbnails, visible thumbnails may exceed this limit. Thumbnails
+	 * outside of visible area are prefetched only when they fit in this limit.
+	 */
+	public void setMaxTextureMemory (long maxTextureMemory) {
+		this.maxTextureMemory = maxTextureMemory;
+		evictThumbnails();
+	}
+
+	public long getMaxTextureMemory () {
+		return maxTextureMemory;
+	}
+
+	/**
+	 * Sets size in bytes of files that can be stored in disk cache directory, when exceeded least recently used thumbnails are
+	 * deleted. Has no effect when disk cache is disabled. Default is {@link #DEFAULT_MAX_DISK_CACHE_SIZE}.
+	 */
+	public void setMaxDiskCacheSize (long maxDiskCacheSize) {
+		loader.setMaxDiskCacheSize(maxDiskCacheSize);
+	}
+
+	public long getMaxDiskCacheSize () {
+		return loader.getMaxDiskCacheSize();
+	}
+
+	/** @return texture memory in bytes currently used by cached thumbnails */
+	public long getTextureMemory () {
+		return thumbnails.getMemory();
+	}
+
+	@Override
+	public void dispose () {
+		disposed = true;
+		cancelRequests();
+		loader.dispose();
+
+		for (CachedThumbnail<FileItem, Thumbnail> cached : thumbnails.getThumbnails()) {
+			for (FileItem item : cached.getItems()) {
+				item.setIcon(super.getImageIcon(item), Scaling.none);
+			}
+		}
+		thumbnails.clear();
+	}
+
+	private static class Thumbnail implements Disposable {
+		final Texture texture;
+		final Drawable drawable;
+		final int size;
+
+		Thumbnail (Texture texture, int size) {
+			this.texture = texture;
+			this.drawable = new TextureRegionDrawable(texture);
+			this.size = size;
+		}
+
+		@Override
+		public void dispose () {
+			texture.dispose();
+		}
+	}
+
+	/** Request to load single thumbnail, shared by all items displaying the same file. */
+	private static class ThumbnailRequest {
+		final FileHandle file;
+		final long lastModified;
+		final String key;
+		final int size;
+		final Array<FileItem> items = new Array<FileItem>();
+		Future<?> future;
+		boolean cancelled;
+
+		ThumbnailRequest (FileHandle file, long lastModified, String key, int size) {
+			this.file = file;
+			this.lastModified = lastModified;
+			this.key = key;
+			this.size = size;
+		}
+
+		void addItem (FileItem item) {
+			if (items.contains(item, true) == false) items.add(item);
+		}
+
+		void removeDetachedItems () {
+			for (int i = items.size - 1; i >= 0; i--) {
+				if (items.get(i).getStage() == null) items.removeIndex(i);
+			}
+		}
+
+		/** @return new request of the same thumbnail that can be started again after this request was cancelled */
+		ThumbnailRequest copy () {
+			ThumbnailRequest request = new ThumbnailRequest(file, lastModified, key, size);
+			request.items.addAll(items);
+			return request;
+		}
+
+		/** @return texture memory that thumbnail may use, thumbnail fits in square of requested size */
+		long getMaxMemory () {
+			return size * size * 4L;
+		}
+
+		void cancel () {
+			cancelled = true;
+			if (future != null) future.cancel(true);
+		}
+	}
+}
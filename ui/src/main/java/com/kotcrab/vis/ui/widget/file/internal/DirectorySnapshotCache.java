@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.widget.file.internal;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Process wide cache of directory listings shared by all file choosers. Cached snapshot is valid as long as modification
+ * date of its directory doesn't change. Least recently used snapshots are evicted when total count of cached entries
+ * exceeds the limit.
+ * @author Kotcrab
+ */
+public class DirectorySnapshotCache {
+	private static final int MAX_CACHED_ENTRIES = 200000;
+	/** Directories modified recently are not cached, file system may not update modification date for changes made within its precision. */
+	private static final long MIN_SNAPSHOT_AGE_MILLIS = 2000;
+
+	private static DirectorySnapshotCache instance;
+
+	private final LinkedHashMap<String, DirectorySnapshot> snapshots = new LinkedHashMap<String, DirectorySnapshot>(16, 0.75f, true);
+	private int cachedEntries;
+
+	public static synchronized DirectorySnapshotCache getInstance () {
+		if (instance == null) instance = new DirectorySnapshotCache();
+		return instance;
+	}
+
+	/** @return snapshot of directory or null if directory is not cached or was modified after snapshot was created */
+	public synchronized DirectorySnapshot get (FileHandle directory, long lastModified) {
+		DirectorySnapshot snapshot = snapshots.get(directory.path());
+		if (snapshot == null) return null;
+		if (snapshot.lastModified != lastModified) {
+			remove(directory.path());
+			return null;
+		}
+		return snapshot;
+	}
+
+	public synchronized void put (FileHandle directory, DirectorySnapshot snapshot) {
+		if (snapshot.lastModified == 0 || snapshot.size() > MAX_CACHED_ENTRIES) return;
+		if (System.currentTimeMillis() - snapshot.lastModified < MIN_SNAPSHOT_AGE_MILLIS) return;
+
+		remove(directory.path());
+		snapshots.put(directory.path(), snapshot);
+		cachedEntries += snapshot.size();
+
+		Iterator<DirectorySnapshot> iterator = snapshots.values().iterator();
+		while (cachedEntries > MAX_CACHED_ENTRIES && iterator.hasNext()) {
+			cachedEntries -= iterator.next().size();
+			iterator.remove();
+		}
+	}
+
+	/** Removes snapshot of given directory, should be called when change not reflected by directory modification date is detected. */
+	public synchronized void invalidate (FileHandle directory) {
+		remove(directory.path());
+	}
+
+	public synchronized void clear () {
+		snapshots.clear();
+		cachedEntries = 0;
+	}
+
+	private void remove (String path) {
+		DirectorySnapshot snapshot = snapshots.remove(path);
+		if (snapshot != null) cachedEntries -= snapshot.size();
+	}
+
+	/**
+	 * Unfiltered content of single directory. Snapshot must not be modified after it was added to cache, only access rights
+	 * remembered by its {@link FileHandleMetadata} are filled when they are checked for the first time.
+	 */
+	public static class DirectorySnapshot {
+		private final long lastModified;
+		private final Array<FileHandle> files = new Array<FileHandle>();
+		private final Array<FileHandleMetadata> metadata = new Array<FileHandleMetadata>();
+
+		/** @param lastModified modification date of directory read before its listing was started */
+		public DirectorySnapshot (long lastModified) {
+			this.lastModified = lastModified;
+		}
+
+		public void add (FileHandle file, FileHandleMetadata fileMetadata) {
+			files.add(file);
+			metadata.add(fileMetadata);
+		}
+
+		public int size () {
+			return files.size;
+		}
+
+		public FileHandle getFile (int index) {
+			return files.get(index);
+		}
+
+		public FileHandleMetadata getMetadata (int index) {
+			return metadata.get(index);
+		}
+	}
+}
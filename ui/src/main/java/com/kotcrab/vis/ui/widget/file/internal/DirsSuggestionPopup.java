@@ -27,6 +27,8 @@ import com.kotcrab.vis.ui.widget.MenuItem;
 import com.kotcrab.vis.ui.widget.VisTextField;
 import com.kotcrab.vis.ui.widget.file.FileChooser;
 
+import java.io.FileFilter;
+import java.io.IOException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -38,6 +40,13 @@ public class DirsSuggestionPopup extends AbstractSuggestionPopup {
 	private ExecutorService listDirExecutor = Executors.newSingleThreadExecutor(new ServiceThreadFactory("FileChooserListDirThread"));
 	private Future<?> listDirFuture;
 
+	// accessed only from listing thread
+	private FileNameIndex dirsIndex;
+	private FileHandle indexedDirectory;
+	private long indexedDirectoryLastModified;
+	private FileFilter indexedFileFilter;
+	private FileChooser.Mode indexedMode;
+
 	public DirsSuggestionPopup (FileChooser chooser, VisTextField pathField) {
 		super(chooser);
 		this.pathField = pathField;
@@ -71,8 +80,11 @@ public class DirsSuggestionPopup extends AbstractSuggestionPopup {
 					partialPath = enteredDir.name();
 				}
 
-				final FileHandle[] files = listDir.list(chooser.getFileFilter());
-				if (Thread.currentThread().isInterrupted()) return;
+				FileNameIndex index = getDirsIndex(listDir);
+				if (index == null) return;
+				final Array<FileHandle> dirs = new Array<FileHandle>();
+				index.findByPrefix(partialPath, false, true, MAX_SUGGESTIONS, dirs);
+
 				Gdx.app.postRunnable(new Runnable() {
 					@Override
 					public void run () {
@@ -80,11 +92,7 @@ public class DirsSuggestionPopup extends AbstractSuggestionPopup {
 						clearActions();
 						int suggestions = 0;
 
-						for (final FileHandle file : files) {
-							if (file.exists() == false || file.isDirectory() == false) continue;
-							if (file.name().startsWith(partialPath) == false || file.name().equals(partialPath))
-								continue;
-
+						for (final FileHandle file : dirs) {
 							MenuItem item = createMenuItem(file.path());
 							item.getLabel().setEllipsis(true);
 							item.getLabelCell().width(width - 20);
@@ -117,6 +125,40 @@ public class DirsSuggestionPopup extends AbstractSuggestionPopup {
 		});
 	}
 
+	/**
+	 * Returns index of directories inside given directory, index is reused while user is typing names in the same directory.
+	 * @return index or null if listing was interrupted or directory can't be listed
+	 */
+	private FileNameIndex getDirsIndex (FileHandle directory) {
+		long lastModified = directory.lastModified();
+		FileFilter fileFilter = chooser.getFileFilter();
+		FileChooser.Mode mode = chooser.getMode();
+		if (dirsIndex != null && directory.equals(indexedDirectory) && lastModified == indexedDirectoryLastModified
+				&& fileFilter == indexedFileFilter && mode == indexedMode) {
+			return dirsIndex;
+		}
+
+		final Array<FileHandle> dirs = new Array<FileHandle>();
+		try {
+			boolean completed = new FileMetadataScanner(fileFilter, null).scan(directory, new FileMetadataScanner.ScanListener() {
+				@Override
+				public void scanned (FileHandle file, FileHandleMetadata metadata) {
+					if (metadata.isDirectory()) dirs.add(file);
+				}
+			});
+			if (completed == false) return null;
+		} catch (IOException e) {
+			return null; //entered path can't be listed, nothing to suggest
+		}
+
+		dirsIndex = new FileNameIndex(dirs);
+		indexedDirectory = directory;
+		indexedDirectoryLastModified = lastModified;
+		indexedFileFilter = fileFilter;
+		indexedMode = mode;
+		return dirsIndex;
+	}
+
 	public void showRecentDirectories (Stage stage, Array<FileHandle> recentDirectories, float width) {
 		int suggestions = createRecentDirSuggestions(recentDirectories, width);
 		if (suggestions == 0) {
@@ -84,7 +84,9 @@ public enum FileChooserText implements BundleText {
 	VIEW_MODE_DETAILS("viewModeDetails"),
 	VIEW_MODE_BIG_ICONS("viewModeBigIcons"),
 	VIEW_MODE_MEDIUM_ICONS("viewModeMediumIcons"),
-	VIEW_MODE_SMALL_ICONS("viewModeSmallIcons");
+	VIEW_MODE_SMALL_ICONS("viewModeSmallIcons"),
+
+	LISTING_PROGRESS("listingProgress");
 
 	private final String name;
 
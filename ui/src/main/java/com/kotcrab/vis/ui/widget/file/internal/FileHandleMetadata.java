@@ -19,23 +19,45 @@ package com.kotcrab.vis.ui.widget.file.internal;
 import com.badlogic.gdx.files.FileHandle;
 import com.kotcrab.vis.ui.widget.file.FileUtils;
 
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributes;
+
 public class FileHandleMetadata {
+	private static final byte ACCESS_UNKNOWN = 0;
+	private static final byte ACCESS_ALLOWED = 1;
+	private static final byte ACCESS_DENIED = 2;
+
 	private final String name;
 	private final boolean directory;
+	private final boolean hidden;
 	private final long lastModified;
 	private final long length;
-	private final String readableFileSize;
+	private String readableFileSize;
+	/** Checked access rights, metadata can be shared by cached directory snapshot, racing threads would only check it again. */
+	private byte readAccess = ACCESS_UNKNOWN;
+	private byte writeAccess = ACCESS_UNKNOWN;
 
 	public static FileHandleMetadata of (FileHandle file) {
-		return new FileHandleMetadata(file);
+		return new FileHandleMetadata(file.name(), file.isDirectory(), file.file().isHidden(), file.lastModified(), file.length());
 	}
 
-	private FileHandleMetadata (FileHandle file) {
-		this.name = file.name();
-		this.directory = file.isDirectory();
-		this.lastModified = file.lastModified();
-		this.length = file.length();
-		this.readableFileSize = FileUtils.readableFileSize(length);
+	/**
+	 * Creates metadata from already read attributes, avoids querying file system for each attribute separately. Hidden flag
+	 * is taken from {@link DosFileAttributes} if provided, otherwise file is hidden when its name starts with dot, the same as
+	 * {@link java.io.File#isHidden()} on UNIX systems.
+	 */
+	public static FileHandleMetadata of (FileHandle file, BasicFileAttributes attributes) {
+		String name = file.name();
+		boolean hidden = attributes instanceof DosFileAttributes ? ((DosFileAttributes) attributes).isHidden() : name.startsWith(".");
+		return new FileHandleMetadata(name, attributes.isDirectory(), hidden, attributes.lastModifiedTime().toMillis(), attributes.size());
+	}
+
+	private FileHandleMetadata (String name, boolean directory, boolean hidden, long lastModified, long length) {
+		this.name = name;
+		this.directory = directory;
+		this.hidden = hidden;
+		this.lastModified = lastModified;
+		this.length = length;
 	}
 
 	public String name () {
@@ -46,6 +68,10 @@ public class FileHandleMetadata {
 		return directory;
 	}
 
+	public boolean isHidden () {
+		return hidden;
+	}
+
 	public long lastModified () {
 		return lastModified;
 	}
@@ -54,7 +80,28 @@ public class FileHandleMetadata {
 		return length;
 	}
 
+	/**
+	 * @param file file described by this metadata
+	 * @return true if file can be read. File system is queried only on first call, result is remembered.
+	 */
+	public boolean canRead (FileHandle file) {
+		//checked on demand, file chooser in open mode never checks write access and vice versa
+		if (readAccess == ACCESS_UNKNOWN) readAccess = file.file().canRead() ? ACCESS_ALLOWED : ACCESS_DENIED;
+		return readAccess == ACCESS_ALLOWED;
+	}
+
+	/**
+	 * @param file file described by this metadata
+	 * @return true if file can be written. File system is queried only on first call, result is remembered.
+	 */
+	public boolean canWrite (FileHandle file) {
+		if (writeAccess == ACCESS_UNKNOWN) writeAccess = file.file().canWrite() ? ACCESS_ALLOWED : ACCESS_DENIED;
+		return writeAccess == ACCESS_ALLOWED;
+	}
+
 	public String readableFileSize () {
+		//formatted on demand, most of the listed files are never displayed with size
+		if (readableFileSize == null) readableFileSize = FileUtils.readableFileSize(length);
 		return readableFileSize;
 	}
 }
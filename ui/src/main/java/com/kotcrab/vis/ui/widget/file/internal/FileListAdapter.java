@@ -17,6 +17,9 @@
 package com.kotcrab.vis.ui.widget.file.internal;
 
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.kotcrab.vis.ui.layout.GridGroup;
@@ -27,13 +30,29 @@ import com.kotcrab.vis.ui.widget.file.FileChooser;
 /** @author Kotcrab */
 public class FileListAdapter extends ArrayAdapter<FileHandle, FileChooser.FileItem> {
 	private final FileChooser chooser;
-	private final Array<FileChooser.FileItem> orderedViews = new Array<FileChooser.FileItem>();
 	private GridGroup gridGroup;
 
 	public FileListAdapter (FileChooser chooser, Array<FileHandle> files) {
 		super(files);
 		this.chooser = chooser;
-		gridGroup = new GridGroup(128f, 2f);
+		gridGroup = new GridGroup(128f, 2f) {
+			private final Rectangle gridCullingArea = new Rectangle();
+
+			@Override
+			public void draw (Batch batch, float parentAlpha) {
+				//grid is placed inside list view items table, derive visible area from its culling area
+				Group parent = getParent();
+				Rectangle parentCullingArea = parent == null ? null : parent.getCullingArea();
+				if (parentCullingArea == null) {
+					setCullingArea(null);
+				} else {
+					gridCullingArea.set(parentCullingArea.x - getX(), parentCullingArea.y - getY(),
+							parentCullingArea.width, parentCullingArea.height);
+					setCullingArea(gridCullingArea);
+				}
+				super.draw(batch, parentAlpha);
+			}
+		};
 	}
 
 	@Override
@@ -41,43 +60,41 @@ public class FileListAdapter extends ArrayAdapter<FileHandle, FileChooser.FileIt
 		return chooser.new FileItem(item, chooser.getViewMode());
 	}
 
+	@Override
+	protected void updateView (FileChooser.FileItem view, FileHandle item) {
+		//virtualized list view reuses views of files that are no longer visible
+		if (view.getFile() != item || view.getViewMode() != chooser.getViewMode()) view.bind(item, chooser.getViewMode());
+	}
+
 	@Override
 	public void fillTable (VisTable itemsTable) {
-		getViews().clear(); //clear cache
-		orderedViews.clear();
+		//views cache is cleared by itemsChanged, cached views are reused when items are inserted incrementally
 		gridGroup.clear();
 
-		if (getItemsSorter() != null) sort(getItemsSorter());
-
 		FileChooser.ViewMode viewMode = chooser.getViewMode();
+		if (viewMode.isGridMode() == false) {
+			super.fillTable(itemsTable);
+			return;
+		}
 
-		if (viewMode.isGridMode()) {
-			viewMode.setupGridGroup(chooser.getSizes(), gridGroup);
-			for (final FileHandle item : iterable()) {
-				final FileChooser.FileItem view = getView(item);
-				orderedViews.add(view);
-				prepareViewBeforeAddingToTable(item, view);
-				gridGroup.addActor(view);
-			}
-
-			itemsTable.add(gridGroup).growX().minWidth(0);
-		} else {
-			for (final FileHandle item : iterable()) {
-				final FileChooser.FileItem view = getView(item);
-				orderedViews.add(view);
-				prepareViewBeforeAddingToTable(item, view);
-				itemsTable.add(view).growX();
-				itemsTable.row();
-			}
+		prepareItems();
+		viewMode.setupGridGroup(chooser.getSizes(), gridGroup);
+		for (final FileHandle item : iterable()) {
+			final FileChooser.FileItem view = getView(item);
+			prepareViewBeforeAddingToTable(item, view);
+			gridGroup.addActor(view);
 		}
+
+		itemsTable.add(gridGroup).growX().minWidth(0);
 	}
 
 	@Override
-	public ObjectMap<FileHandle, FileChooser.FileItem> getViews () {
-		return super.getViews();
+	public boolean isRowLayout () {
+		return chooser.getViewMode().isGridMode() == false;
 	}
 
-	public Array<FileChooser.FileItem> getOrderedViews () {
-		return orderedViews;
+	@Override
+	public ObjectMap<FileHandle, FileChooser.FileItem> getViews () {
+		return super.getViews();
 	}
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.ui.widget.file.internal;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.kotcrab.vis.ui.util.OsUtils;
+import com.kotcrab.vis.ui.widget.file.FileChooser.DefaultFileFilter;
+import com.kotcrab.vis.ui.widget.file.FileTypeFilter;
+import com.kotcrab.vis.ui.widget.file.internal.DirectorySnapshotCache.DirectorySnapshot;
+
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributes;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lists directory content together with metadata of its entries. All attributes of single entry are read at once using
+ * {@link Files#readAttributes(Path, Class, java.nio.file.LinkOption...)}, on some platforms attributes are already
+ * provided by directory listing and no additional file system calls are needed. Listings are stored in
+ * {@link DirectorySnapshotCache} and reused when directory wasn't modified since it was listed. {@link DefaultFileFilter} is
+ * applied using the stored metadata so cached listings are filtered without any file system calls, custom file filters
+ * are always called with {@link java.io.File}.
+ * @author Kotcrab
+ */
+public class FileMetadataScanner {
+	/** On Windows hidden flag is read together with other attributes, on other systems it is determined by file name. */
+	private static final boolean READ_DOS_ATTRIBUTES = OsUtils.isWindows();
+
+	private final FileFilter fileFilter;
+	private final FileTypeFilter.Rule fileTypeRule;
+	private final AtomicInteger scannedEntries = new AtomicInteger();
+	private final DirectorySnapshotCache snapshotCache = DirectorySnapshotCache.getInstance();
+
+	/**
+	 * @param fileFilter filter used to reject directory entries, may be null
+	 * @param fileTypeRule rule used to reject files (directories are always accepted), may be null
+	 */
+	public FileMetadataScanner (FileFilter fileFilter, FileTypeFilter.Rule fileTypeRule) {
+		this.fileFilter = fileFilter;
+		this.fileTypeRule = fileTypeRule;
+	}
+
+	/**
+	 * Scans directory content, must not be called on multiple threads at once.
+	 * @return false if scanning was stopped because current thread was interrupted, true otherwise
+	 * @throws IOException when directory couldn't be listed
+	 */
+	public boolean scan (FileHandle directory, ScanListener listener) throws IOException {
+		long lastModified = directory.lastModified();
+		DirectorySnapshot snapshot = snapshotCache.get(directory, lastModified);
+		if (snapshot != null) return scanSnapshot(snapshot, listener);
+
+		snapshot = new DirectorySnapshot(lastModified);
+		DirectoryStream<Path> stream = Files.newDirectoryStream(directory.file().toPath());
+		try {
+			for (Path path : stream) {
+				if (Thread.currentThread().isInterrupted()) return false;
+				scannedEntries.incrementAndGet();
+
+				FileHandle fileHandle = directory.child(path.getFileName().toString());
+				FileHandleMetadata metadata = readMetadata(fileHandle, path);
+				snapshot.add(fileHandle, metadata);
+				if (accept(fileHandle, metadata)) listener.scanned(fileHandle, metadata);
+			}
+		} catch (DirectoryIteratorException e) {
+			throw e.getCause();
+		} finally {
+			stream.close();
+		}
+
+		snapshotCache.put(directory, snapshot);
+		return true;
+	}
+
+	private boolean scanSnapshot (DirectorySnapshot snapshot, ScanListener listener) {
+		for (int i = 0; i < snapshot.size(); i++) {
+			if (Thread.currentThread().isInterrupted()) return false;
+			scannedEntries.incrementAndGet();
+
+			FileHandle file = snapshot.getFile(i);
+			FileHandleMetadata metadata = snapshot.getMetadata(i);
+			if (accept(file, metadata)) listener.scanned(file, metadata);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Reads metadata of single file, the same filters as during directory scanning are applied.
+	 * @return file metadata or null if file was rejected by filters
+	 */
+	public FileHandleMetadata readIfAccepted (FileHandle file) {
+		FileHandleMetadata metadata = readMetadata(file, file.file().toPath());
+		return accept(file, metadata) ? metadata : null;
+	}
+
+	private boolean accept (FileHandle file, FileHandleMetadata metadata) {
+		if (fileFilter != null) {
+			if (fileFilter.getClass() == DefaultFileFilter.class) { //subclasses may override accept(File)
+				if (((DefaultFileFilter) fileFilter).accept(file, metadata) == false) return false;
+			} else if (fileFilter.accept(file.file()) == false) {
+				return false;
+			}
+		}
+		return metadata.isDirectory() || fileTypeRule == null || fileTypeRule.accept(file);
+	}
+
+	private FileHandleMetadata readMetadata (FileHandle file, Path path) {
+		try {
+			if (READ_DOS_ATTRIBUTES) return FileHandleMetadata.of(file, Files.readAttributes(path, DosFileAttributes.class));
+			return FileHandleMetadata.of(file, Files.readAttributes(path, BasicFileAttributes.class));
+		} catch (IOException e) {
+			return FileHandleMetadata.of(file); //for example broken symbolic link, fallback to java.io.File behaviour
+		} catch (UnsupportedOperationException e) {
+			return FileHandleMetadata.of(file); //file system without DOS attributes
+		}
+	}
+
+	/** @return number of directory entries processed so far, including rejected ones. Can be called from any thread. */
+	public int getScannedEntries () {
+		return scannedEntries.get();
+	}
+
+	public interface ScanListener {
+		/** Called for each directory entry accepted by filters. */
+		void scanned (FileHandle file, FileHandleMetadata metadata);
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.widget.file.internal;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Sort;
+
+import java.util.Comparator;
+
+/**
+ * Immutable index of file names answering prefix queries in O(log n + k) time, where k is number of returned files.
+ * Index should be built once per directory listing.
+ * @author Kotcrab
+ */
+public class FileNameIndex {
+	private static final Comparator<Entry> NAME_COMPARATOR = new Comparator<Entry>() {
+		@Override
+		public int compare (Entry e1, Entry e2) {
+			return e1.name.compareTo(e2.name);
+		}
+	};
+
+	private static final Comparator<Entry> LOWER_CASE_NAME_COMPARATOR = new Comparator<Entry>() {
+		@Override
+		public int compare (Entry e1, Entry e2) {
+			int result = e1.lowerCaseName.compareTo(e2.lowerCaseName);
+			return result != 0 ? result : e1.name.compareTo(e2.name);
+		}
+	};
+
+	private final Entry[] entries;
+	private final Entry[] lowerCaseEntries;
+
+	/** @param files files from single directory */
+	public FileNameIndex (Array<FileHandle> files) {
+		entries = new Entry[files.size];
+		for (int i = 0; i < files.size; i++) {
+			entries[i] = new Entry(files.get(i));
+		}
+		lowerCaseEntries = entries.clone();
+
+		Sort sorter = new Sort();
+		sorter.sort(entries, NAME_COMPARATOR);
+		sorter.sort(lowerCaseEntries, LOWER_CASE_NAME_COMPARATOR);
+	}
+
+	/** @return file with exactly matching name or null if there is no such file */
+	public FileHandle find (String name) {
+		int index = lowerBound(entries, name, false);
+		if (index < entries.length && entries[index].name.equals(name)) return entries[index].file;
+		return null;
+	}
+
+	/**
+	 * Finds files which names start with given prefix, results are sorted by file names.
+	 * @param ignoreCase if true then upper and lower case letters are considered equal
+	 * @param limit maximum number of files that will be added to result array
+	 * @param excludeExactMatch if true then file with name exactly equal to prefix is not included in results
+	 * @return number of files added to result array
+	 */
+	public int findByPrefix (String prefix, boolean ignoreCase, boolean excludeExactMatch, int limit, Array<FileHandle> result) {
+		Entry[] searchedEntries = ignoreCase ? lowerCaseEntries : entries;
+		String searchedPrefix = ignoreCase ? prefix.toLowerCase() : prefix;
+
+		int found = 0;
+		for (int i = lowerBound(searchedEntries, searchedPrefix, ignoreCase); i < searchedEntries.length && found < limit; i++) {
+			Entry entry = searchedEntries[i];
+			if (entry.getKey(ignoreCase).startsWith(searchedPrefix) == false) break;
+			if (excludeExactMatch && entry.name.equals(prefix)) continue;
+			result.add(entry.file);
+			found++;
+		}
+		return found;
+	}
+
+	/** @return index of first entry which key is not less than given key */
+	private int lowerBound (Entry[] searchedEntries, String key, boolean ignoreCase) {
+		int low = 0;
+		int high = searchedEntries.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (searchedEntries[mid].getKey(ignoreCase).compareTo(key) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	public int size () {
+		return entries.length;
+	}
+
+	private static class Entry {
+		final FileHandle file;
+		final String name;
+		final String lowerCaseName;
+
+		Entry (FileHandle file) {
+			this.file = file;
+			this.name = file.name();
+			this.lowerCaseName = name.toLowerCase();
+		}
+
+		String getKey (boolean ignoreCase) {
+			return ignoreCase ? lowerCaseName : name;
+		}
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.widget.file.internal;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.utils.Align;
+import com.kotcrab.vis.ui.Sizes;
+import com.kotcrab.vis.ui.VisUI;
+
+/**
+ * Draws file list rows of details and list view modes directly, without creating labels and images for each row. Single
+ * glyph layout is shared by all rows, text is laid out only for rows that are drawn.
+ * @author Kotcrab
+ */
+public class FileRowRenderer {
+	private static final float ICON_PAD_TOP = 3;
+	private static final float NAME_PAD_RIGHT = 10;
+	private static final float SIZE_PAD_RIGHT = 10;
+	private static final float DATE_PAD_RIGHT = 6;
+	/** Used to estimate width of size column when computing preferred row width. */
+	private static final String SIZE_WIDTH_SAMPLE = "1023.9 MB";
+
+	private final LabelStyle nameStyle;
+	private final LabelStyle smallStyle;
+	private final float minIconWidth;
+	private final GlyphLayout layout = new GlyphLayout();
+	private final Color tmpColor = new Color();
+
+	private final float dateColumnWidth;
+	private final float sizeColumnWidth;
+
+	/** @param sampleDate any formatted date, all dates are expected to have similar width */
+	public FileRowRenderer (Sizes sizes, String sampleDate) {
+		nameStyle = VisUI.getSkin().get("default", LabelStyle.class);
+		smallStyle = VisUI.getSkin().get("small", LabelStyle.class);
+		minIconWidth = 22 * sizes.scaleFactor;
+		dateColumnWidth = measure(smallStyle.font, sampleDate);
+		sizeColumnWidth = measure(smallStyle.font, SIZE_WIDTH_SAMPLE);
+	}
+
+	public float measureName (String name) {
+		return measure(nameStyle.font, name);
+	}
+
+	private float measure (BitmapFont font, String text) {
+		layout.setText(font, text);
+		return layout.width;
+	}
+
+	public float getPrefWidth (Drawable icon, float nameWidth, boolean details) {
+		float width = getIconCellWidth(icon) + nameWidth + NAME_PAD_RIGHT;
+		if (details) width += sizeColumnWidth + SIZE_PAD_RIGHT + dateColumnWidth + DATE_PAD_RIGHT;
+		return width;
+	}
+
+	public float getPrefHeight (Drawable icon) {
+		float iconHeight = icon == null ? 0 : icon.getMinHeight() + ICON_PAD_TOP;
+		return Math.max(iconHeight, Math.max(nameStyle.font.getLineHeight(), smallStyle.font.getLineHeight()));
+	}
+
+	public float getIconCellWidth (Drawable icon) {
+		return icon == null ? minIconWidth : Math.max(minIconWidth, icon.getMinWidth());
+	}
+
+	/**
+	 * Draws row content, background must be drawn by the row itself.
+	 * @param sizeText size of the file, null for directories and in list view mode
+	 * @param dateText modification date of the file, null in list view mode
+	 */
+	public void draw (Batch batch, Color color, float parentAlpha, float x, float y, float width, float height,
+					  Drawable icon, String name, String sizeText, String dateText) {
+		float iconCellWidth = getIconCellWidth(icon);
+		if (icon != null) {
+			batch.setColor(color.r, color.g, color.b, color.a * parentAlpha);
+			float iconWidth = icon.getMinWidth();
+			float iconHeight = icon.getMinHeight();
+			icon.draw(batch, (int) (x + (iconCellWidth - iconWidth) / 2), (int) (y + (height - ICON_PAD_TOP - iconHeight) / 2),
+					iconWidth, iconHeight);
+		}
+
+		float textRight = x + width - NAME_PAD_RIGHT;
+		if (dateText != null) {
+			float dateLeft = x + width - DATE_PAD_RIGHT - dateColumnWidth;
+			drawText(batch, smallStyle, color, parentAlpha, dateText, dateLeft, y, height, Align.left, -1);
+
+			if (sizeText != null) {
+				float sizeRight = dateLeft - SIZE_PAD_RIGHT;
+				float sizeWidth = drawText(batch, smallStyle, color, parentAlpha, sizeText, sizeRight, y, height, Align.right, -1);
+				textRight = sizeRight - sizeWidth - NAME_PAD_RIGHT;
+			} else {
+				textRight = dateLeft - NAME_PAD_RIGHT;
+			}
+		}
+
+		float nameLeft = x + iconCellWidth;
+		drawText(batch, nameStyle, color, parentAlpha, name, nameLeft, y, height, Align.left, Math.max(1, textRight - nameLeft));
+	}
+
+	/**
+	 * @param textX left edge of text for left alignment, right edge for right alignment
+	 * @param targetWidth width used to truncate text with ellipsis, -1 to disable truncating
+	 * @return drawn text width
+	 */
+	private float drawText (Batch batch, LabelStyle style, Color color, float parentAlpha, String text, float textX,
+							float y, float height, int align, float targetWidth) {
+		tmpColor.set(style.fontColor == null ? Color.WHITE : style.fontColor).mul(color);
+		tmpColor.a *= parentAlpha;
+
+		if (targetWidth < 0) {
+			layout.setText(style.font, text, tmpColor, 0, Align.left, false);
+		} else {
+			layout.setText(style.font, text, 0, text.length(), tmpColor, targetWidth, Align.left, false, "...");
+		}
+
+		float drawX = align == Align.right ? textX - layout.width : textX;
+		float drawY = y + (height + layout.height) / 2;
+		style.font.draw(batch, layout, (int) drawX, (int) drawY);
+		return layout.width;
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.widget.file.internal;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Sort;
+import com.kotcrab.vis.ui.widget.file.FileChooser.FileSorting;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+
+/**
+ * Precomputed sort key of single file. Keys are created once per file before sorting so comparing them does not
+ * allocate new strings nor query file system. Directories are always sorted before files, then keys are compared by
+ * value of used {@link FileSorting} and finally by lower case file name.
+ * @author Kotcrab
+ */
+public class FileSortKey {
+	private static final Comparator<FileSortKey> ASCENDING_COMPARATOR = new Comparator<FileSortKey>() {
+		@Override
+		public int compare (FileSortKey k1, FileSortKey k2) {
+			return FileSortKey.compare(k1, k2, false);
+		}
+	};
+
+	private static final Comparator<FileSortKey> DESCENDING_COMPARATOR = new Comparator<FileSortKey>() {
+		@Override
+		public int compare (FileSortKey k1, FileSortKey k2) {
+			return FileSortKey.compare(k1, k2, true);
+		}
+	};
+
+	private final FileHandle file;
+	private final boolean directory;
+	private final long primaryKey;
+	private final String nameKey;
+	private final boolean naturalOrder;
+
+	public FileSortKey (FileHandle file, FileHandleMetadata metadata, FileSorting sorting, boolean naturalOrder) {
+		this(file, metadata.isDirectory(), metadata.lastModified(), metadata.length(), sorting, naturalOrder);
+	}
+
+	private FileSortKey (FileHandle file, boolean directory, long lastModified, long length, FileSorting sorting, boolean naturalOrder) {
+		this.file = file;
+		this.directory = directory;
+		this.naturalOrder = naturalOrder;
+		this.nameKey = file.name().toLowerCase();
+
+		switch (sorting) {
+			case MODIFIED_DATE:
+				primaryKey = lastModified;
+				break;
+			case SIZE:
+				primaryKey = -length; //bigger files first
+				break;
+			default:
+				primaryKey = 0;
+				break;
+		}
+	}
+
+	/**
+	 * Creates sort key for file, reading all required file attributes at once when possible.
+	 * @param naturalOrder if true then numbers in file names are compared by their value, e.g. "file9" is placed before "file10"
+	 */
+	public static FileSortKey of (FileHandle file, FileSorting sorting, boolean naturalOrder) {
+		if (file.type() == FileType.Absolute || file.type() == FileType.External) {
+			try {
+				BasicFileAttributes attributes = Files.readAttributes(file.file().toPath(), BasicFileAttributes.class);
+				return new FileSortKey(file, attributes.isDirectory(), attributes.lastModifiedTime().toMillis(), attributes.size(),
+						sorting, naturalOrder);
+			} catch (IOException ignored) {
+				//for example broken symbolic link, fallback to FileHandle behaviour
+			}
+		}
+
+		boolean directory = file.isDirectory();
+		long lastModified = sorting == FileSorting.MODIFIED_DATE ? file.lastModified() : 0;
+		long length = sorting == FileSorting.SIZE ? file.length() : 0;
+		return new FileSortKey(file, directory, lastModified, length, sorting, naturalOrder);
+	}
+
+	/** Sorts keys in place. Keys must be created using the same {@link FileSorting} and natural order setting. */
+	public static void sort (Sort sorter, Array<FileSortKey> keys, boolean descending) {
+		sorter.sort(keys, getComparator(descending));
+	}
+
+	public static Comparator<FileSortKey> getComparator (boolean descending) {
+		return descending ? DESCENDING_COMPARATOR : ASCENDING_COMPARATOR;
+	}
+
+	public static int compare (FileSortKey k1, FileSortKey k2, boolean descending) {
+		if (k1.directory != k2.directory) return k1.directory ? -1 : 1;
+
+		int result;
+		if (k1.primaryKey != k2.primaryKey) {
+			result = k1.primaryKey < k2.primaryKey ? -1 : 1;
+		} else if (k1.naturalOrder) {
+			result = compareNatural(k1.nameKey, k2.nameKey);
+		} else {
+			result = k1.nameKey.compareTo(k2.nameKey);
+		}
+		return descending ? -result : result;
+	}
+
+	/**
+	 * Compares strings treating runs of digits as numbers. When numbers have the same value but different count of
+	 * leading zeros, the one with less zeros is placed first, but only if rest of the strings is equal.
+	 */
+	static int compareNatural (String s1, String s2) {
+		int length1 = s1.length();
+		int length2 = s2.length();
+		int i1 = 0;
+		int i2 = 0;
+		int zerosResult = 0;
+
+		while (i1 < length1 && i2 < length2) {
+			char c1 = s1.charAt(i1);
+			char c2 = s2.charAt(i2);
+
+			if (isDigit(c1) && isDigit(c2)) {
+				int start1 = i1;
+				int start2 = i2;
+				while (i1 < length1 && s1.charAt(i1) == '0') i1++;
+				while (i2 < length2 && s2.charAt(i2) == '0') i2++;
+				int zeros1 = i1 - start1;
+				int zeros2 = i2 - start2;
+
+				int end1 = i1;
+				int end2 = i2;
+				while (end1 < length1 && isDigit(s1.charAt(end1))) end1++;
+				while (end2 < length2 && isDigit(s2.charAt(end2))) end2++;
+
+				int digits1 = end1 - i1;
+				int digits2 = end2 - i2;
+				if (digits1 != digits2) return digits1 < digits2 ? -1 : 1;
+				for (; i1 < end1; i1++, i2++) {
+					char d1 = s1.charAt(i1);
+					char d2 = s2.charAt(i2);
+					if (d1 != d2) return d1 < d2 ? -1 : 1;
+				}
+
+				if (zerosResult == 0 && zeros1 != zeros2) zerosResult = zeros1 < zeros2 ? -1 : 1;
+			} else {
+				if (c1 != c2) return c1 < c2 ? -1 : 1;
+				i1++;
+				i2++;
+			}
+		}
+
+		int remaining1 = length1 - i1;
+		int remaining2 = length2 - i2;
+		if (remaining1 != remaining2) return remaining1 < remaining2 ? -1 : 1;
+		return zerosResult;
+	}
+
+	private static boolean isDigit (char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	public FileHandle getFile () {
+		return file;
+	}
+}
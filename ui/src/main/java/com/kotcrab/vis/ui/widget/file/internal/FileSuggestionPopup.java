@@ -28,11 +28,13 @@ import com.kotcrab.vis.ui.widget.file.FileTypeFilter;
 
 /** @author Kotcrab */
 public class FileSuggestionPopup extends AbstractSuggestionPopup {
+	private final Array<FileHandle> matchingFiles = new Array<FileHandle>();
+
 	public FileSuggestionPopup (FileChooser chooser) {
 		super(chooser);
 	}
 
-	public void pathFieldKeyTyped (Stage stage, Array<FileHandle> files, VisTextField pathField) {
+	public void pathFieldKeyTyped (Stage stage, FileNameIndex files, VisTextField pathField) {
 		if (pathField.getText().length() == 0) {
 			remove();
 			return;
@@ -47,26 +49,35 @@ public class FileSuggestionPopup extends AbstractSuggestionPopup {
 		showMenu(stage, pathField);
 	}
 
-	private int createSuggestions (Array<FileHandle> files, final VisTextField fileNameField) {
+	private int createSuggestions (FileNameIndex files, final VisTextField fileNameField) {
 		clearChildren();
-		int suggestions = 0;
-		for (final FileHandle file : files) {
-			if (file.name().startsWith(fileNameField.getText()) && file.name().equals(fileNameField.getText()) == false) {
-				MenuItem item = createMenuItem(getTrimmedName(file.name()));
-				item.addListener(new ChangeListener() {
-					@Override
-					public void changed (ChangeEvent event, Actor actor) {
-						chooser.highlightFiles(file);
-					}
-				});
-				addItem(item);
-				suggestions++;
-			}
+		String text = fileNameField.getText();
 
-			if (suggestions == MAX_SUGGESTIONS) {
-				break;
+		// exact case matches first, then matches ignoring case if enabled
+		matchingFiles.clear();
+		files.findByPrefix(text, false, true, MAX_SUGGESTIONS, matchingFiles);
+		if (chooser.isCaseInsensitiveSuggestionsEnabled() && matchingFiles.size < MAX_SUGGESTIONS) {
+			int exactCaseMatches = matchingFiles.size;
+			files.findByPrefix(text, true, true, MAX_SUGGESTIONS, matchingFiles);
+			for (int i = matchingFiles.size - 1; i >= exactCaseMatches; i--) {
+				if (matchingFiles.indexOf(matchingFiles.get(i), true) < exactCaseMatches) matchingFiles.removeIndex(i);
 			}
+			if (matchingFiles.size > MAX_SUGGESTIONS) matchingFiles.truncate(MAX_SUGGESTIONS);
+		}
+
+		int suggestions = 0;
+		for (final FileHandle file : matchingFiles) {
+			MenuItem item = createMenuItem(getTrimmedName(file.name()));
+			item.addListener(new ChangeListener() {
+				@Override
+				public void changed (ChangeEvent event, Actor actor) {
+					chooser.highlightFiles(file);
+				}
+			});
+			addItem(item);
+			suggestions++;
 		}
+		matchingFiles.clear();
 
 		if (chooser.getMode() == FileChooser.Mode.SAVE && suggestions == 0 //don't show matches when there are files that actually exist and matched previous search
 				&& chooser.getActiveFileTypeFilterRule() != null && fileNameField.getText().matches(".*\\.")) {
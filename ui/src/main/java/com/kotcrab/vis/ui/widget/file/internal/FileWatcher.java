@@ -0,0 +1,211 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.widget.file.internal;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches single directory and file system roots for changes. Directory changes are reported as single file events
+ * using {@link WatchService}, if watch service is not available for directory then its content is periodically polled
+ * and only generic change is reported. Roots are always polled. All listener methods are called on watcher thread.
+ * @author Kotcrab
+ */
+public class FileWatcher {
+	private static final long POLLING_DELAY_MILLIS = 2000;
+	private static final long WATCH_SERVICE_POLL_TIMEOUT_MILLIS = 250;
+
+	private final FileWatcherListener listener;
+	private volatile FileHandle directory;
+	private Thread thread;
+
+	public FileWatcher (FileWatcherListener listener) {
+		this.listener = listener;
+	}
+
+	/** Changes watched directory, can be called from any thread. */
+	public void setDirectory (FileHandle directory) {
+		this.directory = directory;
+	}
+
+	public void start () {
+		if (thread != null) return;
+		thread = new Thread(new WatcherRunnable(), "FileWatcherThread");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	public void stop () {
+		if (thread == null) return;
+		thread.interrupt();
+		thread = null;
+	}
+
+	private class WatcherRunnable implements Runnable {
+		private WatchService watchService;
+
+		private FileHandle watchedDirectory;
+		private WatchKey watchKey;
+		private FileHandle[] lastFiles;
+
+		private File[] lastRoots;
+		private long lastRootsCheck;
+
+		@Override
+		public void run () {
+			try {
+				watchService = FileSystems.getDefault().newWatchService();
+			} catch (IOException e) {
+				watchService = null;
+			} catch (UnsupportedOperationException e) {
+				watchService = null;
+			}
+
+			lastRoots = File.listRoots();
+			lastRootsCheck = System.currentTimeMillis();
+
+			try {
+				while (Thread.currentThread().isInterrupted() == false) {
+					FileHandle currentDirectory = directory;
+					if (currentDirectory != watchedDirectory) watchDirectory(currentDirectory);
+
+					if (watchKey != null) {
+						waitForEvents();
+					} else {
+						pollDirectory();
+					}
+
+					checkRoots();
+				}
+			} catch (InterruptedException ignored) {
+			} catch (ClosedWatchServiceException ignored) {
+			} finally {
+				closeWatchService();
+			}
+		}
+
+		private void watchDirectory (FileHandle newDirectory) {
+			if (watchKey != null) watchKey.cancel();
+			watchKey = null;
+			lastFiles = null;
+			watchedDirectory = newDirectory;
+			if (newDirectory == null) return;
+
+			if (watchService != null) {
+				try {
+					watchKey = newDirectory.file().toPath().register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+				} catch (IOException e) {
+					watchKey = null; //directory can't be watched, for example on some network drives, fallback to polling
+				} catch (UnsupportedOperationException e) {
+					watchKey = null;
+				}
+			}
+
+			if (watchKey == null) lastFiles = newDirectory.list();
+		}
+
+		private void waitForEvents () throws InterruptedException {
+			WatchKey key = watchService.poll(WATCH_SERVICE_POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+			if (key == null) return;
+
+			if (key != watchKey) { //event from previously watched directory
+				key.pollEvents();
+				key.reset();
+				return;
+			}
+
+			for (WatchEvent<?> event : key.pollEvents()) {
+				WatchEvent.Kind<?> kind = event.kind();
+				if (kind == OVERFLOW) {
+					listener.directoryChanged(watchedDirectory);
+					continue;
+				}
+
+				FileHandle file = watchedDirectory.child(((Path) event.context()).toString());
+				if (kind == ENTRY_CREATE) {
+					listener.fileChanged(watchedDirectory, file, ChangeType.CREATED);
+				} else if (kind == ENTRY_DELETE) {
+					listener.fileChanged(watchedDirectory, file, ChangeType.DELETED);
+				} else {
+					listener.fileChanged(watchedDirectory, file, ChangeType.MODIFIED);
+				}
+			}
+
+			if (key.reset() == false) { //directory is no longer accessible, for example it was deleted
+				watchKey = null;
+				lastFiles = watchedDirectory.list();
+				listener.directoryChanged(watchedDirectory);
+			}
+		}
+
+		private void pollDirectory () throws InterruptedException {
+			Thread.sleep(POLLING_DELAY_MILLIS);
+			if (watchedDirectory == null || directory != watchedDirectory) return; //outdated, directory will be switched
+
+			FileHandle[] files = watchedDirectory.list();
+			if (lastFiles.length != files.length || Arrays.equals(lastFiles, files) == false)
+				listener.directoryChanged(watchedDirectory);
+			lastFiles = files;
+		}
+
+		private void checkRoots () {
+			if (System.currentTimeMillis() - lastRootsCheck < POLLING_DELAY_MILLIS) return;
+			lastRootsCheck = System.currentTimeMillis();
+
+			File[] roots = File.listRoots();
+			if (roots.length != lastRoots.length || Arrays.equals(lastRoots, roots) == false)
+				listener.rootsChanged();
+			lastRoots = roots;
+		}
+
+		private void closeWatchService () {
+			if (watchService == null) return;
+			try {
+				watchService.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+	public enum ChangeType {
+		CREATED, DELETED, MODIFIED
+	}
+
+	public interface FileWatcherListener {
+		/** Called when file system roots were changed, for example new drive was connected. */
+		void rootsChanged ();
+
+		/** Called when watched directory changed in a way that requires listing it again. */
+		void directoryChanged (FileHandle directory);
+
+		/** Called when single file in watched directory was changed. */
+		void fileChanged (FileHandle directory, FileHandle file, ChangeType type);
+	}
+}
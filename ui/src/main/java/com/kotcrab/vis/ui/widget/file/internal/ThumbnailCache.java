@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.widget.file.internal;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Least recently used cache of loaded thumbnails. Only one thumbnail is stored for each key, when thumbnail for already cached
+ * key is added then it is disposed and items are attached to cached thumbnail instead, so texture memory can't leak when the
+ * same thumbnail was loaded twice. Memory used by cached thumbnails is tracked so cache can be bounded. Not thread safe.
+ * @param <I> type of items displaying thumbnails
+ * @param <T> type of thumbnail, disposed when it's evicted from cache
+ * @author Kotcrab
+ */
+public class ThumbnailCache<I, T extends Disposable> {
+	private final LinkedHashMap<String, CachedThumbnail<I, T>> thumbnails = new LinkedHashMap<String, CachedThumbnail<I, T>>(16, 0.75f, true);
+	private long memory;
+
+	/** @return cached thumbnail or null if there is no thumbnail for given key, returned thumbnail becomes most recently used */
+	public CachedThumbnail<I, T> get (String key) {
+		return thumbnails.get(key);
+	}
+
+	/**
+	 * Adds thumbnail to cache. If thumbnail with given key is already cached then new thumbnail is disposed and item is
+	 * attached to already cached thumbnail.
+	 * @param memory memory in bytes used by thumbnail
+	 * @param item item that will display the thumbnail
+	 * @return thumbnail that is cached for given key after this call
+	 */
+	public CachedThumbnail<I, T> put (String key, T thumbnail, long memory, I item) {
+		CachedThumbnail<I, T> cached = thumbnails.get(key);
+		if (cached != null) {
+			thumbnail.dispose();
+		} else {
+			cached = new CachedThumbnail<I, T>(key, thumbnail, memory);
+			thumbnails.put(key, cached);
+			this.memory += memory;
+		}
+		cached.addItem(item);
+		return cached;
+	}
+
+	/**
+	 * Disposes least recently used thumbnails until memory used by cache is not larger than given limit or there are no more
+	 * thumbnails that can be evicted.
+	 */
+	public void evict (long maxMemory, EvictionListener<I, T> listener) {
+		Iterator<CachedThumbnail<I, T>> iterator = thumbnails.values().iterator();
+		while (memory > maxMemory && iterator.hasNext()) {
+			CachedThumbnail<I, T> cached = iterator.next();
+			if (listener.canEvict(cached) == false) continue;
+
+			iterator.remove();
+			memory -= cached.memory;
+			listener.evicted(cached);
+			cached.thumbnail.dispose();
+		}
+	}
+
+	/** @return all cached thumbnails, from least recently used. Returned collection must not be modified. */
+	public Collection<CachedThumbnail<I, T>> getThumbnails () {
+		return thumbnails.values();
+	}
+
+	/** Disposes all cached thumbnails. */
+	public void clear () {
+		for (CachedThumbnail<I, T> cached : thumbnails.values()) {
+			cached.thumbnail.dispose();
+		}
+		thumbnails.clear();
+		memory = 0;
+	}
+
+	/** @return memory in bytes used by cached thumbnails */
+	public long getMemory () {
+		return memory;
+	}
+
+	public int size () {
+		return thumbnails.size();
+	}
+
+	public interface EvictionListener<I, T extends Disposable> {
+		/** @return true if thumbnail can be evicted, for example false when it is currently visible */
+		boolean canEvict (CachedThumbnail<I, T> cached);
+
+		/** Called when thumbnail was removed from cache, before it is disposed. */
+		void evicted (CachedThumbnail<I, T> cached);
+	}
+
+	public static class CachedThumbnail<I, T extends Disposable> {
+		private final String key;
+		private final T thumbnail;
+		private final long memory;
+		/** Items that may display this thumbnail, they must be reset when thumbnail is disposed. */
+		private final Array<I> items = new Array<I>();
+
+		CachedThumbnail (String key, T thumbnail, long memory) {
+			this.key = key;
+			this.thumbnail = thumbnail;
+			this.memory = memory;
+		}
+
+		/** Attaches item to this thumbnail, has no effect if item is already attached. */
+		public void addItem (I item) {
+			if (items.contains(item, true) == false) items.add(item);
+		}
+
+		public String getKey () {
+			return key;
+		}
+
+		public T getThumbnail () {
+			return thumbnail;
+		}
+
+		public long getMemory () {
+			return memory;
+		}
+
+		/** @return items attached to this thumbnail, array can be modified to remove items that no longer display it */
+		public Array<I> getItems () {
+			return items;
+		}
+	}
+}
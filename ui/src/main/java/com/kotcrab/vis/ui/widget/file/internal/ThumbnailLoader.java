@@ -0,0 +1,209 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.widget.file.internal;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Blending;
+import com.badlogic.gdx.graphics.Pixmap.Filter;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Decodes and downscales image thumbnails on worker threads. Downscaled thumbnails can be stored in disk cache directory,
+ * cached thumbnails are identified by path, modification date of source image and thumbnail size. Size of disk cache is
+ * bounded, when it's exceeded least recently used thumbnails are deleted.
+ * @author Kotcrab
+ */
+public class ThumbnailLoader implements Disposable {
+	private static final String CACHE_FILE_SUFFIX = ".png";
+	private static final Comparator<FileHandle> LAST_MODIFIED_COMPARATOR = new Comparator<FileHandle>() {
+		@Override
+		public int compare (FileHandle f1, FileHandle f2) {
+			long lastModified1 = f1.lastModified();
+			long lastModified2 = f2.lastModified();
+			return lastModified1 < lastModified2 ? -1 : (lastModified1 == lastModified2 ? 0 : 1);
+		}
+	};
+
+	private final ExecutorService pool;
+	private final FileHandle diskCacheDirectory;
+	private volatile long maxDiskCacheSize;
+	private final Object diskCacheLock = new Object();
+	/** Size of files in disk cache directory, -1 when not known yet. Guarded by diskCacheLock. */
+	private long diskCacheSize = -1;
+
+	/**
+	 * @param diskCacheDirectory directory where thumbnails will be cached, may be null to disable disk cache
+	 * @param maxDiskCacheSize size in bytes of disk cache, when exceeded least recently used thumbnails are deleted
+	 */
+	public ThumbnailLoader (int threads, FileHandle diskCacheDirectory, long maxDiskCacheSize) {
+		this.pool = Executors.newFixedThreadPool(threads, new ServiceThreadFactory("FileChooserThumbnailThread"));
+		this.diskCacheDirectory = diskCacheDirectory;
+		this.maxDiskCacheSize = maxDiskCacheSize;
+	}
+
+	/**
+	 * Loads thumbnail asynchronously, listener is called on worker thread. Returned future can be used to cancel loading,
+	 * listener is not called when loading was cancelled before thumbnail was decoded.
+	 */
+	public Future<?> load (final FileHandle file, final long lastModified, final int size, final ThumbnailListener listener) {
+		return pool.submit(new Runnable() {
+			@Override
+			public void run () {
+				Pixmap thumbnail = loadThumbnail(file, lastModified, size);
+				if (Thread.currentThread().isInterrupted()) {
+					if (thumbnail != null) thumbnail.dispose();
+					return;
+				}
+				listener.loaded(thumbnail);
+			}
+		});
+	}
+
+	private Pixmap loadThumbnail (FileHandle file, long lastModified, int size) {
+		FileHandle cacheFile = getCacheFile(file, lastModified, size);
+		if (cacheFile != null && cacheFile.exists()) {
+			try {
+				Pixmap thumbnail = new Pixmap(cacheFile);
+				cacheFile.file().setLastModified(System.currentTimeMillis()); //used to find least recently used thumbnails
+				return thumbnail;
+			} catch (GdxRuntimeException e) {
+				cacheFile.delete(); //corrupted cache file, thumbnail will be created again
+			}
+		}
+
+		Pixmap source;
+		try {
+			source = new Pixmap(file);
+		} catch (GdxRuntimeException e) {
+			return null; //not supported or corrupted image
+		}
+
+		if (Thread.currentThread().isInterrupted()) {
+			source.dispose();
+			return null;
+		}
+
+		Pixmap thumbnail = downscale(source, size);
+		if (thumbnail != source) source.dispose();
+		if (cacheFile != null) writeCacheFile(cacheFile, thumbnail);
+		return thumbnail;
+	}
+
+	/** @return pixmap fitting in square of given size, keeping aspect ratio, source is returned if it already fits */
+	private Pixmap downscale (Pixmap source, int size) {
+		int width = source.getWidth();
+		int height = source.getHeight();
+		if (width <= size && height <= size) return source;
+
+		float scale = Math.min(size / (float) width, size / (float) height);
+		int targetWidth = Math.max(1, Math.round(width * scale));
+		int targetHeight = Math.max(1, Math.round(height * scale));
+
+		Pixmap thumbnail = new Pixmap(targetWidth, targetHeight, Format.RGBA8888);
+		thumbnail.setBlending(Blending.None);
+		thumbnail.setFilter(Filter.BiLinear);
+		thumbnail.drawPixmap(source, 0, 0, width, height, 0, 0, targetWidth, targetHeight);
+		return thumbnail;
+	}
+
+	private FileHandle getCacheFile (FileHandle file, long lastModified, int size) {
+		if (diskCacheDirectory == null) return null;
+		String key = file.path() + '|' + lastModified + '|' + size;
+
+		long hash = 0xcbf29ce484222325L; // 64 bit FNV-1a
+		for (int i = 0; i < key.length(); i++) {
+			hash ^= key.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return diskCacheDirectory.child(Long.toHexString(hash) + CACHE_FILE_SUFFIX);
+	}
+
+	private void writeCacheFile (FileHandle cacheFile, Pixmap thumbnail) {
+		// written to temporary file first so other thread can't read partially written thumbnail
+		FileHandle tmpFile = cacheFile.sibling(cacheFile.name() + "." + Thread.currentThread().getId() + ".tmp");
+		try {
+			PixmapIO.writePNG(tmpFile, thumbnail);
+			tmpFile.moveTo(cacheFile);
+		} catch (GdxRuntimeException e) {
+			tmpFile.delete();
+			Gdx.app.log("VisUI", "Can't write thumbnail cache file " + cacheFile.path(), e);
+			return;
+		}
+
+		synchronized (diskCacheLock) {
+			if (diskCacheSize != -1) diskCacheSize += cacheFile.length();
+			if (diskCacheSize == -1 || diskCacheSize > maxDiskCacheSize) trimDiskCache();
+		}
+	}
+
+	/**
+	 * Deletes least recently used thumbnails until disk cache uses at most three quarters of its maximum size, so
+	 * directory doesn't have to be listed again after every written thumbnail. Must be called with diskCacheLock held.
+	 */
+	private void trimDiskCache () {
+		FileHandle[] files = diskCacheDirectory.list(CACHE_FILE_SUFFIX);
+		long size = 0;
+		for (FileHandle file : files) {
+			size += file.length();
+		}
+
+		if (size > maxDiskCacheSize) {
+			long targetSize = maxDiskCacheSize / 4 * 3;
+			Arrays.sort(files, LAST_MODIFIED_COMPARATOR);
+			for (int i = 0; i < files.length && size > targetSize; i++) {
+				long length = files[i].length();
+				if (files[i].delete()) size -= length;
+			}
+		}
+
+		diskCacheSize = size;
+	}
+
+	/** Sets size in bytes of disk cache, least recently used thumbnails are deleted when next thumbnail is written. */
+	public void setMaxDiskCacheSize (long maxDiskCacheSize) {
+		this.maxDiskCacheSize = maxDiskCacheSize;
+	}
+
+	public long getMaxDiskCacheSize () {
+		return maxDiskCacheSize;
+	}
+
+	@Override
+	public void dispose () {
+		pool.shutdownNow();
+	}
+
+	public interface ThumbnailListener {
+		/**
+		 * Called on worker thread when thumbnail was loaded. Listener is responsible for disposing thumbnail.
+		 * @param thumbnail loaded thumbnail or null if image couldn't be decoded
+		 */
+		void loaded (Pixmap thumbnail);
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.test;
+
+import com.kotcrab.vis.ui.util.text.GapTextBuffer;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class GapTextBufferTest {
+
+	@Test
+	public void testRandomEdits () throws Exception {
+		Random random = new Random(42);
+		GapTextBuffer buffer = new GapTextBuffer(4);
+		StringBuilder expected = new StringBuilder();
+
+		for (int i = 0; i < 5000; i++) {
+			int start = random.nextInt(expected.length() + 1);
+			int end = start + random.nextInt(Math.min(expected.length() - start, 20) + 1);
+			String content = randomString(random, random.nextInt(30));
+
+			buffer.replace(start, end, content);
+			expected.replace(start, end, content);
+
+			assertEquals(expected.length(), buffer.length());
+			int index = random.nextInt(expected.length() + 1);
+			if (index < expected.length()) assertEquals(expected.charAt(index), buffer.charAt(index));
+			int subEnd = index + random.nextInt(expected.length() - index + 1);
+			assertEquals(expected.substring(index, subEnd), buffer.substring(index, subEnd));
+			assertEquals(expected.substring(index, subEnd), buffer.subSequence(index, subEnd).toString());
+		}
+
+		assertEquals(expected.toString(), buffer.toString());
+		char[] chars = new char[expected.length() + 2];
+		buffer.getChars(0, buffer.length(), chars, 1);
+		assertEquals(expected.toString(), new String(chars, 1, expected.length()));
+	}
+
+	@Test
+	public void testEmpty () throws Exception {
+		GapTextBuffer buffer = new GapTextBuffer(0);
+		assertEquals(0, buffer.length());
+		assertEquals("", buffer.toString());
+
+		buffer.replace(0, 0, "abc");
+		buffer.replace(0, 3, "");
+		assertEquals(0, buffer.length());
+		assertEquals("", buffer.toString());
+	}
+
+	private String randomString (Random random, int length) {
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			builder.append((char) ('a' + random.nextInt(26)));
+		}
+		return builder.toString();
+	}
+}
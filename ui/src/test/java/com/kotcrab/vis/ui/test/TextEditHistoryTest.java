@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.test;
+
+import com.kotcrab.vis.ui.util.text.TextEditHistory;
+import com.kotcrab.vis.ui.util.text.TextEditHistory.Edit;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TextEditHistoryTest {
+
+	@Test
+	public void testTypingMerged () throws Exception {
+		TextEditHistory history = new TextEditHistory();
+		history.textReplaced(0, "", "a", true, 0);
+		history.textReplaced(1, "", "b", true, 100);
+		history.textReplaced(2, "", "c", true, 200);
+
+		assertEdit(history.getUndoEdit(), 0, "", "abc");
+		history.undone();
+		assertFalse(history.canUndo());
+		assertTrue(history.canRedo());
+	}
+
+	@Test
+	public void testBackspaceAndDeleteMerged () throws Exception {
+		TextEditHistory history = new TextEditHistory();
+		history.textReplaced(4, "e", "", true, 0);
+		history.textReplaced(3, "d", "", true, 100);
+		assertEdit(history.getUndoEdit(), 3, "de", "");
+
+		history.textReplaced(1, "b", "", false, 200);
+		history.textReplaced(0, "a", "", true, 300);
+		history.textReplaced(0, "c", "", true, 400);
+		assertEdit(history.getUndoEdit(), 0, "ac", "");
+	}
+
+	@Test
+	public void testNotMerged () throws Exception {
+		TextEditHistory history = new TextEditHistory();
+		history.textReplaced(0, "", "a", true, 0);
+		history.textReplaced(1, "", "b", true, TextEditHistory.MERGE_TIME + 1); //too late
+		history.textReplaced(5, "", "c", true, TextEditHistory.MERGE_TIME + 2); //different position
+		history.textReplaced(6, "", "d", false, TextEditHistory.MERGE_TIME + 3); //not typed
+		history.textReplaced(7, "", "e", true, TextEditHistory.MERGE_TIME + 4); //previous not typed
+
+		assertEquals(5, undoAll(history));
+	}
+
+	@Test
+	public void testNotMergedAfterUndo () throws Exception {
+		TextEditHistory history = new TextEditHistory();
+		history.textReplaced(0, "", "a", true, 0);
+		history.textReplaced(1, "", "b", false, 100);
+		history.undone();
+		history.textReplaced(1, "", "c", true, 200);
+
+		assertFalse(history.canRedo());
+		assertEdit(history.getUndoEdit(), 1, "", "c");
+		assertEquals(2, undoAll(history));
+	}
+
+	@Test
+	public void testRedo () throws Exception {
+		TextEditHistory history = new TextEditHistory();
+		history.textReplaced(0, "", "abc", false, 0);
+		history.textReplaced(1, "b", "x", false, 0);
+		history.undone();
+
+		assertEdit(history.getRedoEdit(), 1, "b", "x");
+		history.redone();
+		assertFalse(history.canRedo());
+		assertEdit(history.getUndoEdit(), 1, "b", "x");
+	}
+
+	@Test
+	public void testMaxSize () throws Exception {
+		TextEditHistory history = new TextEditHistory();
+		history.setMaxSize(8);
+		history.textReplaced(0, "", "ab", false, 0);
+		history.textReplaced(2, "", "cd", false, 0);
+		history.textReplaced(4, "", "ef", false, 0);
+
+		assertEquals(8, history.getSize());
+		assertEquals(2, undoAll(history));
+
+		history.setMaxSize(0);
+		assertEquals(0, history.getSize());
+		history.textReplaced(0, "", "a", false, 0);
+		assertFalse(history.canUndo());
+	}
+
+	@Test
+	public void testOversizedEditSkipped () throws Exception {
+		TextEditHistory history = new TextEditHistory();
+		history.setMaxSize(8);
+		history.textReplaced(0, "", "ab", false, 0); //"ab"
+		history.textReplaced(2, "", "cd", false, 0); //"abcd"
+		history.textReplaced(0, "", "0123456789", false, 0); //"0123456789abcd", can't be stored
+
+		assertEdit(history.getUndoEdit(), 12, "", "cd");
+		history.undone();
+		assertEdit(history.getUndoEdit(), 10, "", "ab");
+		history.undone();
+		assertFalse(history.canUndo());
+	}
+
+	@Test
+	public void testOversizedEditRemovesOverlappingEdits () throws Exception {
+		TextEditHistory history = new TextEditHistory();
+		history.setMaxSize(8);
+		history.textReplaced(0, "", "ab", false, 0); //"ab"
+		history.textReplaced(2, "", "cd", false, 0); //"abcd"
+		history.textReplaced(1, "bc", "0123456789", false, 0); //"a0123456789d", overlaps both edits
+
+		assertFalse(history.canUndo());
+		assertEquals(0, history.getSize());
+	}
+
+	private int undoAll (TextEditHistory history) {
+		int count = 0;
+		while (history.canUndo()) {
+			assertNotNull(history.getUndoEdit());
+			history.undone();
+			count++;
+		}
+		return count;
+	}
+
+	private void assertEdit (Edit edit, int start, String removed, String inserted) {
+		assertNotNull(edit);
+		assertEquals(start, edit.getStart());
+		assertEquals(removed, edit.getRemoved().toString());
+		assertEquals(inserted, edit.getInserted().toString());
+	}
+}
@@ -46,11 +46,13 @@ public class TestHighlightTextArea extends VisWindow {
 				"  String foobar;\n" +
 				"}");
 		Highlighter highlighter = new Highlighter();
+		highlighter.setCombineRegexRules(true);
 		//it is much more reliable to use regex for keyword detection
-		highlighter.regex(Color.valueOf("66CCB3"), "\\b(class|private|protected|public|if|else|void|for|while|continue|break)\\b");
-		highlighter.regex(Color.valueOf("BED6FF"), "\\b(int|float|boolean|short|long|char)\\b");
-		highlighter.regex(Color.valueOf("EFC090"), "\\b(foo|bar)\\b");
-		highlighter.regex(Color.valueOf("75715E"), "/\\*(?:.|[\\n\\r])*?\\*/"); //block comments (/* comment */)
+		//line based rules allows text area to highlight again only modified lines
+		highlighter.lineRegex(Color.valueOf("66CCB3"), "\\b(class|private|protected|public|if|else|void|for|while|continue|break)\\b");
+		highlighter.lineRegex(Color.valueOf("BED6FF"), "\\b(int|float|boolean|short|long|char)\\b");
+		highlighter.lineRegex(Color.valueOf("EFC090"), "\\b(foo|bar)\\b");
+		highlighter.block(Color.valueOf("75715E"), "/*", "*/"); //block comments (/* comment */)
 		textArea.setHighlighter(highlighter);
 		add(textArea.createCompatibleScrollPane()).grow();
 	}
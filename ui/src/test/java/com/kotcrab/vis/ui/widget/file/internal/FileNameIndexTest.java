@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.widget.file.internal;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class FileNameIndexTest {
+	private static final String[] NAMES = {"a", "ab", "Ab", "abc", "ABC", "abd", "b", "B.txt", "b.txt", "file1", "file10", "file2",
+			"File3", "z", ".hidden"};
+
+	@Test
+	public void testFind () throws Exception {
+		FileNameIndex index = new FileNameIndex(createFiles(NAMES));
+		assertEquals(NAMES.length, index.size());
+		assertEquals("Ab", index.find("Ab").name());
+		assertEquals("ab", index.find("ab").name());
+		assertNull(index.find("aB"));
+		assertNull(index.find("file"));
+	}
+
+	@Test
+	public void testFindByPrefix () throws Exception {
+		FileNameIndex index = new FileNameIndex(createFiles(NAMES));
+
+		assertNames(index, "ab", false, false, 10, "ab", "abc", "abd");
+		assertNames(index, "ab", false, true, 10, "abc", "abd");
+		assertNames(index, "file", false, false, 2, "file1", "file10");
+		assertNames(index, "B", false, false, 10, "B.txt");
+		assertNames(index, "c", false, false, 10);
+		assertNames(index, "", false, false, 3, ".hidden", "ABC", "Ab");
+
+		assertNames(index, "ab", true, false, 10, "Ab", "ab", "ABC", "abc", "abd");
+		assertNames(index, "ab", true, true, 10, "Ab", "ABC", "abc", "abd");
+		assertNames(index, "FILE", true, false, 10, "file1", "file10", "file2", "File3");
+		assertNames(index, "b.", true, false, 10, "B.txt", "b.txt");
+	}
+
+	@Test
+	public void testFindByPrefixRandom () throws Exception {
+		Random random = new Random(42);
+		String[] names = new String[500];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = randomName(random, 1 + random.nextInt(5));
+		}
+		FileNameIndex index = new FileNameIndex(createFiles(names));
+
+		Array<FileHandle> result = new Array<FileHandle>();
+		for (int i = 0; i < 1000; i++) {
+			String prefix = randomName(random, random.nextInt(3));
+			boolean ignoreCase = random.nextBoolean();
+			boolean excludeExactMatch = random.nextBoolean();
+
+			int expected = 0;
+			for (String name : names) {
+				String key = ignoreCase ? name.toLowerCase() : name;
+				if (key.startsWith(ignoreCase ? prefix.toLowerCase() : prefix) && (excludeExactMatch == false || name.equals(prefix) == false)) {
+					expected++;
+				}
+			}
+
+			result.clear();
+			assertEquals(expected, index.findByPrefix(prefix, ignoreCase, excludeExactMatch, Integer.MAX_VALUE, result));
+			assertEquals(expected, result.size);
+			for (FileHandle file : result) {
+				String name = ignoreCase ? file.name().toLowerCase() : file.name();
+				assertTrue(name.startsWith(ignoreCase ? prefix.toLowerCase() : prefix));
+			}
+		}
+	}
+
+	private void assertNames (FileNameIndex index, String prefix, boolean ignoreCase, boolean excludeExactMatch, int limit,
+			String... expectedNames) {
+		Array<FileHandle> result = new Array<FileHandle>();
+		assertEquals(expectedNames.length, index.findByPrefix(prefix, ignoreCase, excludeExactMatch, limit, result));
+		assertEquals(expectedNames.length, result.size);
+		for (int i = 0; i < expectedNames.length; i++) {
+			assertEquals(expectedNames[i], result.get(i).name());
+		}
+	}
+
+	private Array<FileHandle> createFiles (String[] names) {
+		Array<FileHandle> files = new Array<FileHandle>();
+		for (String name : names) {
+			files.add(new FileHandle(name));
+		}
+		return files;
+	}
+
+	private String randomName (Random random, int length) {
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			char c = (char) ('a' + random.nextInt(3));
+			builder.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.widget.file.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FileSortKeyTest {
+
+	@Test
+	public void testCompareNatural () throws Exception {
+		assertOrder("file9", "file10");
+		assertOrder("file2.txt", "file10.txt");
+		assertOrder("file", "file1");
+		assertOrder("a1b2", "a1b10");
+		assertOrder("a", "b");
+		assertOrder("1", "a");
+		assertOrder("file99", "filea");
+		assertOrder("10000000000000000000000", "20000000000000000000000");
+
+		assertEquals(0, FileSortKey.compareNatural("", ""));
+		assertEquals(0, FileSortKey.compareNatural("file10", "file10"));
+	}
+
+	@Test
+	public void testCompareNaturalLeadingZeros () throws Exception {
+		assertOrder("file1", "file01");
+		assertOrder("file01", "file001");
+		assertOrder("file001", "file2");
+		assertOrder("file01a", "file1b");
+		assertOrder("a1b01", "a01b1"); //first difference in leading zeros decides
+	}
+
+	@Test
+	public void testCompareNaturalConsistent () throws Exception {
+		String[] names = {"", "a", "a0", "a00", "a1", "a01", "a001", "a1b", "a01b", "a2", "a10", "a010", "b", "1", "01", "9", "10",
+				"a1b1", "a1b01", "a01b1", "x99y", "x100"};
+		for (String s1 : names) {
+			for (String s2 : names) {
+				int result = FileSortKey.compareNatural(s1, s2);
+				assertEquals(s1 + " " + s2, -result, FileSortKey.compareNatural(s2, s1));
+				if (s1.equals(s2)) assertEquals(0, result);
+				for (String s3 : names) {
+					if (result < 0 && FileSortKey.compareNatural(s2, s3) < 0) {
+						assertTrue(s1 + " " + s2 + " " + s3, FileSortKey.compareNatural(s1, s3) < 0);
+					}
+				}
+			}
+		}
+	}
+
+	private void assertOrder (String first, String second) {
+		assertTrue(first + " " + second, FileSortKey.compareNatural(first, second) < 0);
+		assertTrue(second + " " + first, FileSortKey.compareNatural(second, first) > 0);
+	}
+}
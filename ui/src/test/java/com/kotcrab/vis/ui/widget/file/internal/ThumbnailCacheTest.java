@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.ui.widget.file.internal;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.kotcrab.vis.ui.widget.file.internal.ThumbnailCache.CachedThumbnail;
+import com.kotcrab.vis.ui.widget.file.internal.ThumbnailCache.EvictionListener;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ThumbnailCacheTest {
+
+	@Test
+	public void testDoubleLoad () throws Exception {
+		ThumbnailCache<String, TestThumbnail> cache = new ThumbnailCache<String, TestThumbnail>();
+		TestThumbnail first = new TestThumbnail();
+		TestThumbnail second = new TestThumbnail();
+
+		CachedThumbnail<String, TestThumbnail> cached = cache.put("a", first, 100, "item1");
+		assertSame(cached, cache.put("a", second, 100, "item2"));
+
+		assertSame(first, cache.get("a").getThumbnail());
+		assertFalse(first.disposed);
+		assertTrue(second.disposed);
+		assertEquals(100, cache.getMemory());
+		assertEquals(1, cache.size());
+		assertEquals(2, cached.getItems().size);
+		assertTrue(cached.getItems().contains("item1", false));
+		assertTrue(cached.getItems().contains("item2", false));
+
+		cache.put("a", new TestThumbnail(), 100, "item2");
+		assertEquals(2, cached.getItems().size);
+	}
+
+	@Test
+	public void testEvictLeastRecentlyUsed () throws Exception {
+		ThumbnailCache<String, TestThumbnail> cache = new ThumbnailCache<String, TestThumbnail>();
+		TestThumbnail a = new TestThumbnail();
+		TestThumbnail b = new TestThumbnail();
+		TestThumbnail c = new TestThumbnail();
+		cache.put("a", a, 100, "item");
+		cache.put("b", b, 100, "item");
+		cache.put("c", c, 100, "item");
+		cache.get("a");
+
+		TestEvictionListener listener = new TestEvictionListener(null);
+		cache.evict(200, listener);
+
+		assertEquals(200, cache.getMemory());
+		assertTrue(b.disposed);
+		assertFalse(a.disposed);
+		assertFalse(c.disposed);
+		assertNull(cache.get("b"));
+		assertEquals(1, listener.evicted.size());
+		assertEquals("b", listener.evicted.get(0));
+	}
+
+	@Test
+	public void testEvictSkipsRetainedThumbnails () throws Exception {
+		ThumbnailCache<String, TestThumbnail> cache = new ThumbnailCache<String, TestThumbnail>();
+		TestThumbnail a = new TestThumbnail();
+		TestThumbnail b = new TestThumbnail();
+		cache.put("a", a, 100, "item");
+		cache.put("b", b, 100, "item");
+
+		cache.evict(0, new TestEvictionListener("a"));
+		assertEquals(100, cache.getMemory());
+		assertFalse(a.disposed);
+		assertTrue(b.disposed);
+
+		cache.clear();
+		assertTrue(a.disposed);
+		assertEquals(0, cache.getMemory());
+		assertEquals(0, cache.size());
+	}
+
+	private static class TestThumbnail implements Disposable {
+		boolean disposed;
+
+		@Override
+		public void dispose () {
+			assertFalse("Thumbnail disposed twice", disposed);
+			disposed = true;
+		}
+	}
+
+	private static class TestEvictionListener implements EvictionListener<String, TestThumbnail> {
+		private final String retainedKey;
+		final List<String> evicted = new ArrayList<String>();
+
+		TestEvictionListener (String retainedKey) {
+			this.retainedKey = retainedKey;
+		}
+
+		@Override
+		public boolean canEvict (CachedThumbnail<String, TestThumbnail> cached) {
+			return cached.getKey().equals(retainedKey) == false;
+		}
+
+		@Override
+		public void evicted (CachedThumbnail<String, TestThumbnail> cached) {
+			assertFalse(cached.getThumbnail().disposed);
+			evicted.add(cached.getKey());
+		}
+	}
+}
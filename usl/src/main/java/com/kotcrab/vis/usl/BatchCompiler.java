@@ -0,0 +1,235 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.usl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Compiles multiple USL files concurrently using fork-join pool. Includes shared by compiled files are lexed only once.
+ * @author Kotcrab
+ */
+public class BatchCompiler {
+	private final USLCompiler compiler;
+
+	public BatchCompiler (USLCompiler compiler) {
+		this.compiler = compiler;
+	}
+
+	/**
+	 * Compiles all jobs and writes their output files. Failure of single job does not stop other jobs, see
+	 * {@link Job#getError()}. Output file is not written if its current content is same as compiled JSON.
+	 */
+	public void compile (List<Job> jobs) {
+		ForkJoinPool pool = new ForkJoinPool();
+		try {
+			pool.invoke(new CompileTask(jobs, 0, jobs.size()));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private void compile (Job job) {
+		long start = System.nanoTime();
+		job.written = false;
+		job.error = null;
+		try {
+			String json = compiler.compile(job.input);
+			job.written = writeOutput(job.output, json);
+		} catch (RuntimeException e) {
+			job.error = e;
+		}
+		job.time = System.nanoTime() - start;
+	}
+
+	/** @return false if output file already had given content and was not written */
+	private static boolean writeOutput (File output, String json) {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		Path path = output.toPath();
+
+		try {
+			if (Files.exists(path) && Files.size(path) == bytes.length && json.equals(Utils.readFile(output))) return false;
+
+			FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			try {
+				ByteBuffer buffer = ByteBuffer.wrap(bytes);
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			} finally {
+				channel.close();
+			}
+			return true;
+		} catch (IOException e) {
+			throw new IllegalStateException("Writing file '" + output.getPath() + "' failed!", e);
+		}
+	}
+
+	/**
+	 * Reads batch manifest. Each line of manifest contains input USL file path and optionally output JSON file path separated by
+	 * whitespace. If output is not specified, it will be placed next to input file with 'json' extension. Relative paths are
+	 * resolved against manifest location. Empty lines and lines starting with '//' are ignored.
+	 */
+	public static List<Job> readManifest (File manifest) {
+		File baseDir = manifest.getAbsoluteFile().getParentFile();
+		ArrayList<Job> jobs = new ArrayList<Job>();
+
+		String[] lines = Utils.readFile(manifest).split("\\r?\\n");
+		for (int i = 0; i < lines.length; i++) {
+			String line = lines[i].trim();
+			if (line.isEmpty() || line.startsWith("//")) continue;
+
+			String[] paths = line.split("\\s+");
+			if (paths.length > 2) throw new USLException("Invalid manifest entry: '" + line + "' (line " + (i + 1) + ")");
+
+			File input = resolve(baseDir, paths[0]);
+			File output = paths.length == 2 ? resolve(baseDir, paths[1]) : getDefaultOutput(input);
+			jobs.add(new Job(input, output));
+		}
+
+		return jobs;
+	}
+
+	/**
+	 * Finds input files matching glob pattern, for example 'styles/**.usl'. Output files will be placed next to input files
+	 * with 'json' extension.
+	 */
+	public static List<Job> findInputs (String glob) {
+		final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+		final ArrayList<Job> jobs = new ArrayList<Job>();
+
+		//walk from the deepest directory that does not contain any glob characters
+		String[] segments = glob.split("[/\\\\]");
+		StringBuilder baseDir = new StringBuilder();
+		for (int i = 0; i < segments.length - 1 && isGlobPattern(segments[i]) == false; i++) {
+			if (i > 0 || glob.startsWith("/")) baseDir.append(File.separator);
+			baseDir.append(segments[i]);
+		}
+		final boolean relative = baseDir.length() == 0;
+		final Path start = Paths.get(relative ? "." : baseDir.toString());
+
+		try {
+			Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile (Path file, BasicFileAttributes attrs) {
+					Path path = relative ? start.relativize(file) : file;
+					if (matcher.matches(path)) jobs.add(new Job(path.toFile(), getDefaultOutput(path.toFile())));
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			throw new IllegalStateException("Searching for input files failed!", e);
+		}
+
+		Collections.sort(jobs, new Comparator<Job>() {
+			@Override
+			public int compare (Job job1, Job job2) {
+				return job1.input.getPath().compareTo(job2.input.getPath());
+			}
+		});
+		return jobs;
+	}
+
+	private static boolean isGlobPattern (String segment) {
+		return segment.contains("*") || segment.contains("?") || segment.contains("[") || segment.contains("{");
+	}
+
+	private static File resolve (File baseDir, String path) {
+		File file = new File(path);
+		return file.isAbsolute() ? file : new File(baseDir, path);
+	}
+
+	private static File getDefaultOutput (File input) {
+		String name = input.getName();
+		int extensionIndex = name.lastIndexOf('.');
+		if (extensionIndex != -1) name = name.substring(0, extensionIndex);
+		return new File(input.getParentFile(), name + ".json");
+	}
+
+	private class CompileTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final List<Job> jobs;
+		private final int start;
+		private final int end;
+
+		CompileTask (List<Job> jobs, int start, int end) {
+			this.jobs = jobs;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute () {
+			if (end - start == 1) {
+				compile(jobs.get(start));
+			} else if (end - start > 1) {
+				int middle = (start + end) / 2;
+				invokeAll(new CompileTask(jobs, start, middle), new CompileTask(jobs, middle, end));
+			}
+		}
+	}
+
+	/** Single file compiled by {@link BatchCompiler} */
+	public static class Job {
+		private final File input;
+		private final File output;
+
+		private volatile long time;
+		private volatile boolean written;
+		private volatile RuntimeException error;
+
+		public Job (File input, File output) {
+			this.input = input;
+			this.output = output;
+		}
+
+		public File getInput () {
+			return input;
+		}
+
+		public File getOutput () {
+			return output;
+		}
+
+		/** @return compilation time including writing output file in nanoseconds */
+		public long getTime () {
+			return time;
+		}
+
+		/** @return true if output file was written, false if it was up to date or compilation failed */
+		public boolean isWritten () {
+			return written;
+		}
+
+		/** @return exception that caused compilation failure or null if file was compiled successfully */
+		public RuntimeException getError () {
+			return error;
+		}
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.usl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of tokens of included files, allows to reuse lexed includes between compilations. Cache is thread safe, cached tokens
+ * are never modified after being added to cache.
+ * @author Kotcrab
+ */
+class IncludeCache {
+	private final ConcurrentHashMap<String, CachedInclude> includes = new ConcurrentHashMap<String, CachedInclude>();
+	private final ConcurrentHashMap<String, Object> locks = new ConcurrentHashMap<String, Object>();
+
+	CachedInclude get (String includeKey) {
+		return includes.get(includeKey);
+	}
+
+	void put (String includeKey, CachedInclude include) {
+		includes.put(includeKey, include);
+	}
+
+	/** @return lock that must be held while include with given key is lexed and added to cache */
+	Object getLock (String includeKey) {
+		Object lock = new Object();
+		Object currentLock = locks.putIfAbsent(includeKey, lock);
+		return currentLock != null ? currentLock : lock;
+	}
+
+	/** Tokens of included file, can be reused as long as the file and all files included by it were not changed. */
+	static class CachedInclude {
+		final String content;
+		final List<Token> tokens;
+		final Map<String, String> includes;
+
+		CachedInclude (String content, List<Token> tokens, Map<String, String> includes) {
+			this.content = content;
+			this.tokens = tokens;
+			this.includes = includes;
+		}
+
+		boolean isValid (String currentContent) {
+			if (content.equals(currentContent) == false) return false;
+
+			for (Map.Entry<String, String> include : includes.entrySet()) {
+				if (include.getValue().equals(Lexer.loadInclude(include.getKey())) == false) return false;
+			}
+
+			return true;
+		}
+	}
+}
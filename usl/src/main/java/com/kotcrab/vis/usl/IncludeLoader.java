@@ -44,7 +44,7 @@ public class IncludeLoader {
 		includeSources.add("https://raw.githubusercontent.com/kotcrab/vis-ui/master/usl/styles/");
 	}
 
-	public String loadInclude (String includeName) {
+	public synchronized String loadInclude (String includeName) {
 		return fileToString(loadIncludeFile(includeName));
 	}
 
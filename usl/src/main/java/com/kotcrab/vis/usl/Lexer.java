@@ -16,27 +16,30 @@
 
 package com.kotcrab.vis.usl;
 
+import com.kotcrab.vis.usl.IncludeCache.CachedInclude;
 import com.kotcrab.vis.usl.Token.Type;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
 
-/** USL Lexer that turns USL file intro stream of tokens */
+/**
+ * USL Lexer that turns USL file intro stream of tokens. Lexer reads source in single pass, lookahead is limited to currently
+ * lexed declaration, so lexing time is linear in size of source.
+ */
 public class Lexer {
-	private static final String INCLUDE = "include";
+	private static final String INCLUDE = "include ";
 	private static final String EXTENDS = "extends";
 	private static final String INHERITS = "inherits";
-	private static final String PACKAGE = "package";
-
-	private static final Pattern globalStyleRegex = Pattern.compile("^\\.[a-zA-Z0-9-_]+:.*$", Pattern.DOTALL);
-	private static final Pattern metaStyleRegex = Pattern.compile("^-[a-zA-Z0-9-_ ]+:.*$", Pattern.DOTALL);
+	private static final String PACKAGE = "package ";
 
 	private static IncludeLoader includeLoader = new IncludeLoader();
 
 	static void lexUsl (LexerContext ctx, String usl) {
-		usl = usl.replace("\r\n", "\n");
-		usl = removeComments(usl);
+		Source src = new Source(removeComments(usl));
+		usl = src.usl;
 
 		for (int i = 0; i < usl.length(); ) {
 			char ch = usl.charAt(i);
@@ -44,72 +47,70 @@ public class Lexer {
 			if (Character.isWhitespace(ch)) { //white space
 				i++;
 
-			} else if (usl.startsWith(INCLUDE + " ", i)) { //include <type> <path> directive
-				i = parseAndLexInclude(ctx, usl, i + INCLUDE.length() + 1);
+			} else if (usl.startsWith(INCLUDE, i)) { //include <type> <path> directive
+				i = parseAndLexInclude(ctx, src, i + INCLUDE.length());
 
-			} else if (usl.startsWith(PACKAGE + " ", i)) { //package <path> directive
-				i = lexPackage(ctx, usl, i + PACKAGE.length() + 1);
+			} else if (usl.startsWith(PACKAGE, i)) { //package <path> directive
+				i = lexPackage(ctx, src, i + PACKAGE.length());
 
 			} else if (ch == '#') { //block style definition
-				i = lexStyleBlock(ctx, usl, i + 1);
+				i = lexStyleBlock(ctx, src, i + 1);
 
 			} else if (ch == '^') { //block style override block definition
-				i = lexStyleBlockOverride(ctx, usl, i + 1);
+				i = lexStyleBlockOverride(ctx, src, i + 1);
 
 			} else if (ch == '.') { //global block style definition
-				if (globalStyleRegex.matcher(usl.substring(i)).matches() == false)
-					Utils.throwException("Unexpected '.' or invalid global style block declaration", usl, i);
+				if (checkStyleDef(usl, i + 1, false) == false)
+					src.throwException("Unexpected '.' or invalid global style block declaration", i);
 
-				i = lexGlobalStyleDeclaration(ctx, usl, i + 1);
+				i = lexGlobalStyleDeclaration(ctx, src, i + 1);
 
-			} else if (ch == '-' && peek(ctx.tokens).type != Type.IDENTIFIER) { //meta style definition
-				if (metaStyleRegex.matcher(usl.substring(i)).matches() == false) {
-					Utils.throwException("Unexpected '-'", usl, i);
+			} else if (ch == '-' && peekType(ctx.tokens, 1) != Type.IDENTIFIER) { //meta style definition
+				if (checkStyleDef(usl, i + 1, true) == false) {
+					src.throwException("Unexpected '-'", i);
 				}
 
 				//put meta token and continue, lexIdentifier will be called in next loop
-				ctx.tokens.add(new Token(usl, i, Type.META_STYLE));
+				ctx.tokens.add(src.token(i, Type.META_STYLE, null));
 				i++;
 
 			} else if (ch == '{') {
 				ctx.curliesLevel++;
-				ctx.tokens.add(new Token(usl, i, Type.LCURL));
+				ctx.tokens.add(src.token(i, Type.LCURL, null));
 				i++;
 			} else if (ch == '}') {
 				ctx.curliesLevel--;
-				if (ctx.curliesLevel < 0) Utils.throwException("Unexpected '}'", usl, i);
-				ctx.tokens.add(new Token(usl, i, Type.RCURL));
+				if (ctx.curliesLevel < 0) src.throwException("Unexpected '}'", i);
+				ctx.tokens.add(src.token(i, Type.RCURL, null));
 				i++;
 			} else if (ch == ',') {
-				if (ctx.curliesLevel > 1 && peek(ctx.tokens, 2).type == Type.IDENTIFIER_CONTENT) //',' will be valid if we are currently inside style definition
+				if (ctx.curliesLevel > 1 && peekType(ctx.tokens, 2) == Type.IDENTIFIER_CONTENT) //',' will be valid if we are currently inside style definition
 					i++;
 				else
-					Utils.throwException("Unexpected ','", usl, i);
-			} else if (peek(ctx.tokens).type == Type.IDENTIFIER) { //identifier content: someName: content
-				i = lexIdentifierContent(ctx, usl, i);
+					src.throwException("Unexpected ','", i);
+			} else if (peekType(ctx.tokens, 1) == Type.IDENTIFIER) { //identifier content: someName: content
+				i = lexIdentifierContent(ctx, src, i);
 			} else if (checkIdentifierDef(usl, i)) { // identifier: someName: content
-				i = lexIdentifier(ctx, usl, i);
+				i = lexIdentifier(ctx, src, i);
 			} else {
-				Utils.throwException("Unrecognized symbol '" + usl.substring(i, usl.indexOf(" ", i)) + "'", usl, i);
+				int symbolEnd = i;
+				while (symbolEnd < usl.length() && Character.isWhitespace(usl.charAt(symbolEnd)) == false) symbolEnd++;
+				src.throwException("Unrecognized symbol '" + usl.substring(i, symbolEnd) + "'", i);
 			}
 		}
 	}
 
+	/** Removes comments and converts CRLF line endings to LF. Line breaks are kept so lines numbers are not changed. */
 	private static String removeComments (String usl) {
 		StringBuilder newUsl = new StringBuilder(usl.length());
-		boolean insideComment = false;
-		for (int i = 0; i < usl.length(); i++) {
+		int length = usl.length();
+		for (int i = 0; i < length; i++) {
 			char ch = usl.charAt(i);
+			char next = i + 1 < length ? usl.charAt(i + 1) : 0;
 
-			if (usl.startsWith("//", i)) {
-				insideComment = true;
-			}
-
-			if (ch == '\n' && insideComment) {
-				insideComment = false;
-			}
-
-			if (insideComment == false) {
+			if (ch == '/' && next == '/') {
+				while (i + 1 < length && usl.charAt(i + 1) != '\n') i++;
+			} else if (ch != '\r' || next != '\n') {
 				newUsl.append(ch);
 			}
 		}
@@ -117,177 +118,264 @@ public class Lexer {
 		return newUsl.toString();
 	}
 
-	private static int lexPackage (LexerContext ctx, String usl, int i) {
-		int curlyIndex = usl.indexOf('{', i);
-		String packageName = usl.substring(i, curlyIndex);
-		ctx.tokens.add(new Token(usl, i, Type.PACKAGE, packageName.replace(" ", "")));
-		return curlyIndex - 1;
+	private static int lexPackage (LexerContext ctx, Source src, int i) {
+		int curlyIndex = src.usl.indexOf('{', i);
+		if (curlyIndex == -1) src.throwException("Expected '{' after package name", i);
+		String packageName = src.usl.substring(i, curlyIndex);
+		ctx.tokens.add(src.token(i, Type.PACKAGE, packageName.replace(" ", "")));
+		return curlyIndex;
 	}
 
-	private static int lexIdentifier (LexerContext ctx, String usl, int i) {
-		int idDefEnd = usl.indexOf(":", i);
+	private static int lexIdentifier (LexerContext ctx, Source src, int i) {
+		int idDefEnd = src.usl.indexOf(':', i);
 
-		String idDef = usl.substring(i, idDefEnd);
+		String idDef = src.usl.substring(i, idDefEnd);
 
 		if (idDef.contains(" ")) { //blocks definition contains inherits
-			if (idDef.contains(INHERITS) == false) Utils.throwException("Expected inherits", usl, i);
+			if (idDef.contains(INHERITS) == false) src.throwException("Expected inherits", i);
 			String parts[] = idDef.split(" ", 3);
-			if (parts.length != 3) Utils.throwException("Invalid inherits format", usl, i);
+			if (parts.length != 3) src.throwException("Invalid inherits format", i);
 
-			ctx.tokens.add(new Token(usl, i, Type.IDENTIFIER, parts[0]));
-			ctx.tokens.add(new Token(usl, i, Type.INHERITS));
-			lexInherits(usl, i, ctx, parts[2]);
+			ctx.tokens.add(src.token(i, Type.IDENTIFIER, parts[0]));
+			ctx.tokens.add(src.token(i, Type.INHERITS, null));
+			lexInherits(ctx, src, i, parts[2]);
 		} else {
-			ctx.tokens.add(new Token(usl, i, Type.IDENTIFIER, idDef));
+			ctx.tokens.add(src.token(i, Type.IDENTIFIER, idDef));
 		}
 
 		return idDefEnd + 1; //+1 for : at the end of id definition
 	}
 
-	private static int lexIdentifierContent (LexerContext ctx, String usl, int i) {
-		int commaIndex = usl.indexOf(',', i);
-		int curlyIndex = usl.indexOf('}', i);
-		int endLineIndex = usl.indexOf('\r', i);
-		if (endLineIndex == -1) endLineIndex = usl.indexOf('\n', i);
-
-		if (commaIndex == -1) commaIndex = Integer.MAX_VALUE;
-		if (curlyIndex == -1) curlyIndex = Integer.MAX_VALUE;
-		if (endLineIndex == -1) endLineIndex = Integer.MAX_VALUE;
-
-		int end = Math.min(commaIndex, Math.min(curlyIndex, endLineIndex));
-		if (end == -1) Utils.throwException("Identifier content end could not be found", usl, i);
+	private static int lexIdentifierContent (LexerContext ctx, Source src, int i) {
+		String usl = src.usl;
+		int end = i;
+		while (true) {
+			if (end == usl.length()) src.throwException("Identifier content end could not be found", i);
+			char ch = usl.charAt(end);
+			if (ch == ',' || ch == '}' || ch == '\n' || ch == '\r') break;
+			end++;
+		}
 
 		String content = usl.substring(i, end);
-		int origLength = content.length();
 		if (content.endsWith(" ")) content = content.substring(0, content.length() - 1);
-		ctx.tokens.add(new Token(usl, i, Type.IDENTIFIER_CONTENT, content));
+		ctx.tokens.add(src.token(i, Type.IDENTIFIER_CONTENT, content));
 
-		i = i + origLength;
-		if (usl.charAt(i) == ',') i++;
-		return i;
+		if (usl.charAt(end) == ',') end++;
+		return end;
 	}
 
-	private static int lexGlobalStyleDeclaration (LexerContext ctx, String usl, int i) {
-		int end = usl.indexOf(':', i);
-		if (end == -1) Utils.throwException("Global style definition end could not be found", usl, i);
+	private static int lexGlobalStyleDeclaration (LexerContext ctx, Source src, int i) {
+		int end = src.usl.indexOf(':', i);
+		if (end == -1) src.throwException("Global style definition end could not be found", i);
 
-		String declaration = usl.substring(i, end);
+		String declaration = src.usl.substring(i, end);
 
 		if (declaration.contains(" ")) { //global style definition contains inherits
-			if (declaration.contains(INHERITS) == false) Utils.throwException("Expected inherits", usl, i);
+			if (declaration.contains(INHERITS) == false) src.throwException("Expected inherits", i);
 			String parts[] = declaration.split(" ", 3);
-			if (parts.length != 3) Utils.throwException("Invalid inherits format", usl, i);
+			if (parts.length != 3) src.throwException("Invalid inherits format", i);
 
-			ctx.tokens.add(new Token(usl, i, Type.GLOBAL_STYLE, parts[0]));
-			ctx.tokens.add(new Token(usl, i, Type.INHERITS));
-			lexInherits(usl, i, ctx, parts[2]);
+			ctx.tokens.add(src.token(i, Type.GLOBAL_STYLE, parts[0]));
+			ctx.tokens.add(src.token(i, Type.INHERITS, null));
+			lexInherits(ctx, src, i, parts[2]);
 		} else {
-			ctx.tokens.add(new Token(usl, i, Type.GLOBAL_STYLE, declaration));
+			ctx.tokens.add(src.token(i, Type.GLOBAL_STYLE, declaration));
 		}
 
 		return end + 1;
 	}
 
-	private static void lexInherits (String usl, int i, LexerContext ctx, String inheritString) {
+	private static void lexInherits (LexerContext ctx, Source src, int i, String inheritString) {
 		inheritString = inheritString.replace(" ", "");
 		String[] inherits = inheritString.split(",");
 
 		for (String inherit : inherits)
-			ctx.tokens.add(new Token(usl, i, Type.INHERITS_NAME, inherit));
+			ctx.tokens.add(src.token(i, Type.INHERITS_NAME, inherit));
+	}
+
+	/** Checks if style name starting at given index is followed by ':'. Only checks current line. */
+	private static boolean checkStyleDef (String usl, int i, boolean allowSpaces) {
+		int end = i;
+		while (end < usl.length()) {
+			char ch = usl.charAt(end);
+			if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '-' || ch == '_'
+					|| (allowSpaces && ch == ' '))
+				end++;
+			else
+				break;
+		}
+
+		return end > i && end < usl.length() && usl.charAt(end) == ':';
 	}
 
 	private static boolean checkIdentifierDef (String usl, int i) {
-		//checks if this is possible identifier definition
-		int colonIndex = usl.indexOf(':', i);
-		int spaceIndex = usl.indexOf(' ', i);
-		if (colonIndex == -1) return false;
-		if (colonIndex < spaceIndex)
-			return true;
-		else {
-			if (usl.substring(spaceIndex + 1, colonIndex).startsWith(INHERITS))
-				return true;
+		//checks if this is possible identifier definition, identifier definition must be in single line
+		for (int j = i; j < usl.length(); j++) {
+			char ch = usl.charAt(j);
+			if (ch == ':') return true;
+			if (ch == ' ') return usl.startsWith(INHERITS, j + 1) && usl.indexOf(':', j) != -1;
+			if (ch == '\n' || ch == '\r') return false;
 		}
 
 		return false;
 	}
 
-	private static int lexStyleBlock (LexerContext ctx, String usl, int i) {
-		int blockDefEnd = usl.indexOf(":", i);
-		if (blockDefEnd == -1) Utils.throwException("Expected block definition end", usl, i);
+	private static int lexStyleBlock (LexerContext ctx, Source src, int i) {
+		int blockDefEnd = src.usl.indexOf(':', i);
+		if (blockDefEnd == -1) src.throwException("Expected block definition end", i);
 
-		String blockDef = usl.substring(i, blockDefEnd);
+		String blockDef = src.usl.substring(i, blockDefEnd);
 
 		if (blockDef.contains(" ")) { //blocks definition contains extends
-			if (blockDef.contains(EXTENDS) == false) Utils.throwException("Expected extends", usl, i);
+			if (blockDef.contains(EXTENDS) == false) src.throwException("Expected extends", i);
 			String parts[] = blockDef.split(" ");
-			if (parts.length != 3) Utils.throwException("Invalid extends format", usl, i);
+			if (parts.length != 3) src.throwException("Invalid extends format", i);
 
-			ctx.tokens.add(new Token(usl, i, Type.STYLE_BLOCK, parts[0]));
-			ctx.tokens.add(new Token(usl, i, Type.STYLE_BLOCK_EXTENDS, parts[2]));
+			ctx.tokens.add(src.token(i, Type.STYLE_BLOCK, parts[0]));
+			ctx.tokens.add(src.token(i, Type.STYLE_BLOCK_EXTENDS, parts[2]));
 		} else
-			ctx.tokens.add(new Token(usl, i, Type.STYLE_BLOCK, blockDef));
+			ctx.tokens.add(src.token(i, Type.STYLE_BLOCK, blockDef));
 
 		return blockDefEnd + 1; //+1 for : at the end of style definition
 	}
 
-	private static int lexStyleBlockOverride (LexerContext ctx, String usl, int i) {
-		int blockDefEnd = usl.indexOf(":", i);
-		if (blockDefEnd == -1) Utils.throwException("Expected block definition end", usl, i);
+	private static int lexStyleBlockOverride (LexerContext ctx, Source src, int i) {
+		int blockDefEnd = src.usl.indexOf(':', i);
+		if (blockDefEnd == -1) src.throwException("Expected block definition end", i);
 
-		String blockDef = usl.substring(i, blockDefEnd);
+		String blockDef = src.usl.substring(i, blockDefEnd);
 
 		if (blockDef.contains(" ")) {
-			if (blockDef.contains("extends"))
-				Utils.throwException("Override style block cannot extend other style", usl, i);
+			if (blockDef.contains(EXTENDS))
+				src.throwException("Override style block cannot extend other style", i);
 			else
-				Utils.throwException("Invalid block definition", usl, i);
+				src.throwException("Invalid block definition", i);
 		} else
-			ctx.tokens.add(new Token(usl, i, Type.STYLE_BLOCK_OVERRIDE, blockDef));
+			ctx.tokens.add(src.token(i, Type.STYLE_BLOCK_OVERRIDE, blockDef));
 
 		return blockDefEnd + 1; //+1 for : at the end of style definition
 	}
 
-	private static int parseAndLexInclude (LexerContext ctx, String usl, int i) {
+	private static int parseAndLexInclude (LexerContext ctx, Source src, int i) {
+		String usl = src.usl;
 		if (usl.startsWith("<", i)) {
-			int includeEnd = usl.indexOf(">", i);
-			if (includeEnd == -1) Utils.throwException("Invalid include format, '>` expected", usl, i);
+			int includeEnd = usl.indexOf('>', i);
+			if (includeEnd == -1) src.throwException("Invalid include format, '>` expected", i);
 
 			String includeName = usl.substring(i + 1, includeEnd);
 			String content = includeLoader.loadInclude(includeName);
-			lexUsl(ctx, content);
+			lexInclude(ctx, "<" + includeName + ">", content);
 
 			return includeEnd + 1;
 		} else if (usl.startsWith("\"", i)) {
-			int includeEnd = usl.indexOf("\"", i + 1);
-			if (includeEnd == -1) Utils.throwException("Invalid include format, '\"' expected", usl, i);
+			int includeEnd = usl.indexOf('"', i + 1);
+			if (includeEnd == -1) src.throwException("Invalid include format, '\"' expected", i);
 
 			String path = usl.substring(i + 1, includeEnd);
 			File file = new File(path);
 
 			if (file.exists() == false)
-				Utils.throwException("Include file does not exist, file: " + file.getAbsolutePath(), usl, i);
-			lexUsl(ctx, Utils.readFile(file));
+				src.throwException("Include file does not exist, file: " + file.getAbsolutePath(), i);
+			lexInclude(ctx, file.getAbsolutePath(), Utils.readFile(file));
 			return includeEnd + 1;
 		} else
-			Utils.throwException("Invalid include format", usl, i);
+			src.throwException("Invalid include format", i);
 
 		return -1;
 	}
 
+	private static void lexInclude (LexerContext ctx, String includeKey, String content) {
+		ctx.includes.put(includeKey, content);
+
+		//tokens of included file can be reused only if it was included outside of any block
+		IncludeCache cache = ctx.includeCache;
+		if (cache == null || ctx.curliesLevel != 0) {
+			lexUsl(ctx, content);
+			return;
+		}
+
+		//other compilations sharing the cache will wait until include is lexed instead of lexing it again
+		synchronized (cache.getLock(includeKey)) {
+			CachedInclude cachedInclude = cache.get(includeKey);
+			if (cachedInclude != null && cachedInclude.isValid(content)) {
+				ctx.tokens.addAll(cachedInclude.tokens);
+				ctx.includes.putAll(cachedInclude.includes);
+				return;
+			}
+
+			Map<String, String> parentIncludes = ctx.includes;
+			ctx.includes = new LinkedHashMap<String, String>();
+			int tokensStart = ctx.tokens.size();
+			lexUsl(ctx, content);
+			Map<String, String> includes = ctx.includes;
+			ctx.includes = parentIncludes;
+			ctx.includes.putAll(includes);
+
+			if (ctx.curliesLevel == 0) {
+				List<Token> tokens = new ArrayList<Token>(ctx.tokens.subList(tokensStart, ctx.tokens.size()));
+				cache.put(includeKey, new CachedInclude(content, tokens, includes));
+			}
+		}
+	}
+
+	/**
+	 * Loads content of included file.
+	 * @param includeKey '&lt;name&gt;' for includes loaded from include sources or absolute file path for file includes
+	 * @return content of included file or null if file does not exist
+	 */
+	static String loadInclude (String includeKey) {
+		if (includeKey.startsWith("<") && includeKey.endsWith(">"))
+			return includeLoader.loadInclude(includeKey.substring(1, includeKey.length() - 1));
+
+		File file = new File(includeKey);
+		if (file.exists() == false) return null;
+		return Utils.readFile(file);
+	}
+
 	public static void addIncludeSource (String path) {
 		includeLoader.addIncludeSource(path);
 	}
 
-	private static <T> T peek (List<T> list) {
-		return peek(list, 1);
+	private static Type peekType (List<Token> tokens, int i) {
+		if (tokens.size() < i) return Type.INVALID;
+		return tokens.get(tokens.size() - i).type;
 	}
 
-	private static <T> T peek (List<T> list, int i) {
-		if (list != null && !list.isEmpty()) {
-			return list.get(list.size() - i);
+	/** Lexed source, tracks line and column of created tokens. Tokens must be created in order of their position in source. */
+	private static class Source {
+		final String usl;
+
+		private int position;
+		private int line = 1;
+		private int lineStart;
+
+		Source (String usl) {
+			this.usl = usl;
 		}
 
-		return null;
-	}
+		private void moveTo (int i) {
+			if (i < position) {
+				position = 0;
+				line = 1;
+				lineStart = 0;
+			}
+
+			for (; position < i; position++) {
+				if (usl.charAt(position) == '\n') {
+					line++;
+					lineStart = position + 1;
+				}
+			}
+		}
+
+		Token token (int i, Type type, String content) {
+			moveTo(i);
+			return new Token(usl, i, line, i - lineStart + 1, type, content);
+		}
 
+		void throwException (String exception, int i) {
+			moveTo(i);
+			Utils.throwException(exception, line, i - lineStart + 1);
+		}
+	}
 }
@@ -18,7 +18,9 @@ package com.kotcrab.vis.usl;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /** Class holding properties required for USL {@link Lexer} */
 public class LexerContext {
@@ -27,6 +29,11 @@ public class LexerContext {
 	final List<Token> tokens = new ArrayList<Token>();
 	int curliesLevel = 0;
 
+	/** Contents of all files included during lexing, keyed by include key, see {@link Lexer#loadInclude(String)} */
+	Map<String, String> includes = new LinkedHashMap<String, String>();
+	/** Optional cache of tokens of included files, keyed by include key */
+	IncludeCache includeCache;
+
 	public LexerContext (File workingDirectory) {
 		this.workingDirectory = workingDirectory;
 	}
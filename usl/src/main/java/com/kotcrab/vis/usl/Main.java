@@ -16,21 +16,38 @@
 
 package com.kotcrab.vis.usl;
 
+import com.kotcrab.vis.usl.BatchCompiler.Job;
+
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.List;
 
 /** Main class of ULS, allowing to use it from command line */
 public class Main {
 	public static void main (String[] args) {
+		if (args.length >= 2 && args[0].equals("--batch")) {
+			boolean incremental = args.length > 2 && args[2].equals("--incremental");
+			System.exit(compileBatch(args[1], incremental) ? 0 : 3);
+		}
+
+		if (args.length >= 2 && args[0].equals("--watch")) {
+			boolean incremental = args.length > 2 && args[2].equals("--incremental");
+			watch(args[1], incremental);
+			return;
+		}
+
 		if (args.length < 2) {
-			System.out.println("Usage: <input usl file> <output json file>");
+			System.out.println("Usage: <input usl file> <output json file> [--incremental]");
+			System.out.println("       --batch <manifest file or input files glob> [--incremental]");
+			System.out.println("       --watch <manifest file or input files glob> [--incremental]");
 			System.exit(1);
 		}
 
 		File input = new File(args[0]);
 		File output = new File(args[1]);
+		boolean incremental = args.length > 2 && args[2].equals("--incremental");
 
 		if (input.exists() == false) {
 			System.out.println("Input file does not exist");
@@ -38,7 +55,12 @@ public class Main {
 		}
 
 		System.out.println("Parsing USL...");
-		String usl = USL.parse(input);
+		String usl = incremental ? new USLCompiler().compile(input) : USL.parse(input);
+
+		if (incremental && output.exists() && usl.equals(Utils.readFile(output))) {
+			System.out.println("Output is up to date.");
+			return;
+		}
 
 		try {
 			if (output.exists() == false) {
@@ -54,4 +76,65 @@ public class Main {
 			e.printStackTrace();
 		}
 	}
+
+	/** @return true if all files were compiled successfully */
+	private static boolean compileBatch (String inputs, boolean incremental) {
+		long start = System.nanoTime();
+
+		List<Job> jobs = findJobs(inputs);
+		if (jobs.size() == 0) {
+			System.out.println("No input files found");
+			return false;
+		}
+
+		System.out.println("Compiling " + jobs.size() + " USL files...");
+		USLCompiler compiler = incremental ? new USLCompiler() : new USLCompiler(null);
+		new BatchCompiler(compiler).compile(jobs);
+
+		int failed = 0;
+		for (Job job : jobs) {
+			String status;
+			if (job.getError() != null) {
+				status = "FAILED";
+				failed++;
+			} else {
+				status = job.isWritten() ? "written" : "up to date";
+			}
+
+			System.out.println(String.format("%6d ms  %-10s %s -> %s", job.getTime() / 1000000, status, job.getInput().getPath(), job.getOutput().getPath()));
+			if (job.getError() != null) System.out.println("           " + job.getError().getMessage());
+		}
+
+		System.out.println(String.format("Compiled %d files, %d failed, total time %d ms", jobs.size() - failed, failed, (System.nanoTime() - start) / 1000000));
+		return failed == 0;
+	}
+
+	private static void watch (String inputs, boolean incremental) {
+		List<Job> jobs = findJobs(inputs);
+		if (jobs.size() == 0) {
+			System.out.println("No input files found");
+			System.exit(1);
+		}
+
+		USLWatcher watcher = new USLWatcher(incremental ? new USLCompiler() : new USLCompiler(null), jobs);
+		watcher.addListener(new USLWatcher.Listener() {
+			@Override
+			public void compiled (Job job) {
+				System.out.println(String.format("%6d ms  compiled %s -> %s", job.getTime() / 1000000, job.getInput().getPath(), job.getOutput().getPath()));
+			}
+
+			@Override
+			public void failed (Job job, RuntimeException e) {
+				System.out.println(String.format("%6d ms  FAILED   %s: %s", job.getTime() / 1000000, job.getInput().getPath(), e.getMessage()));
+			}
+		});
+
+		System.out.println("Watching " + jobs.size() + " USL files, press Ctrl+C to stop...");
+		watcher.run();
+	}
+
+	private static List<Job> findJobs (String inputs) {
+		File manifest = new File(inputs);
+		return manifest.isFile() ? BatchCompiler.readManifest(manifest) : BatchCompiler.findInputs(inputs);
+	}
 }
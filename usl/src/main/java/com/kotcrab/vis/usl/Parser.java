@@ -19,9 +19,7 @@ package com.kotcrab.vis.usl;
 import com.kotcrab.vis.usl.Token.Type;
 import com.kotcrab.vis.usl.lang.*;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Stack;
+import java.util.*;
 
 /** Converts stream of tokens created by {@link Lexer} into json string. */
 public class Parser {
@@ -38,6 +36,11 @@ public class Parser {
 	private ArrayList<StyleBlock> styleBlocksOverride = new ArrayList<StyleBlock>();
 	private ArrayList<StyleIdentifier> globalStyles = new ArrayList<StyleIdentifier>();
 
+	/** Style blocks indexed by full name, by name after last '$' and by name after last '.' used when resolving extends */
+	private Map<String, ArrayList<StyleBlock>> blocksByFullName = new HashMap<String, ArrayList<StyleBlock>>();
+	private Map<String, ArrayList<StyleBlock>> blocksByInnerClassName = new HashMap<String, ArrayList<StyleBlock>>();
+	private Map<String, ArrayList<StyleBlock>> blocksBySimpleName = new HashMap<String, ArrayList<StyleBlock>>();
+
 	private Stack<GroupIdentifier> identifiers = new Stack<GroupIdentifier>();
 
 	public String getJson (List<Token> tokens) {
@@ -69,6 +72,7 @@ public class Parser {
 				else
 					currentStyleBlock.fullName = t.content;
 
+				indexStyleBlock(currentStyleBlock);
 				continue;
 			}
 
@@ -182,31 +186,40 @@ public class Parser {
 		return new USLJsonWriter(mergedStyleBlocks).getJson();
 	}
 
-	private StyleBlock findMatchingStyle (Token t, String name) {
-		ArrayList<StyleBlock> matches = new ArrayList<StyleBlock>();
+	private void indexStyleBlock (StyleBlock block) {
+		addToIndex(blocksByFullName, block.fullName, block);
+		addToIndex(blocksByInnerClassName, getNameAfterSeparator(block.fullName, '$'), block);
+		addToIndex(blocksBySimpleName, getNameAfterSeparator(block.fullName, '.'), block);
+	}
 
-		//search for literal match
-		for (StyleBlock block : styleBlocks) {
-			if (block.fullName.equals(name)) {
-				matches.add(block);
-			}
-		}
+	/** @return part of name after separator if name contains exactly one separator and that part is not empty, null otherwise */
+	private String getNameAfterSeparator (String name, char separator) {
+		int index = name.indexOf(separator);
+		if (index == -1 || index == name.length() - 1 || name.indexOf(separator, index + 1) != -1) return null;
+		return name.substring(index + 1);
+	}
 
-		//search for last $ match
-		for (StyleBlock block : styleBlocks) {
-			String parts[] = block.fullName.split("\\$");
-			if (parts.length == 2 && parts[1].equals(name)) {
-				matches.add(block);
-			}
+	private void addToIndex (Map<String, ArrayList<StyleBlock>> index, String name, StyleBlock block) {
+		if (name == null) return;
+		ArrayList<StyleBlock> blocks = index.get(name);
+		if (blocks == null) {
+			blocks = new ArrayList<StyleBlock>();
+			index.put(name, blocks);
 		}
+		blocks.add(block);
+	}
 
-		//search for last . match
-		for (StyleBlock block : styleBlocks) {
-			String parts[] = block.fullName.split("\\.");
-			if (parts.length == 2 && parts[1].equals(name)) {
-				matches.add(block);
-			}
-		}
+	private void addMatches (Map<String, ArrayList<StyleBlock>> index, String name, ArrayList<StyleBlock> matches) {
+		ArrayList<StyleBlock> blocks = index.get(name);
+		if (blocks != null) matches.addAll(blocks);
+	}
+
+	private StyleBlock findMatchingStyle (Token t, String name) {
+		ArrayList<StyleBlock> matches = new ArrayList<StyleBlock>();
+
+		addMatches(blocksByFullName, name, matches); //search for literal match
+		addMatches(blocksByInnerClassName, name, matches); //search for last $ match
+		addMatches(blocksBySimpleName, name, matches); //search for last . match
 
 		if (matches.size() == 0) Utils.throwException("Style block extends unknown undefined style: " + name, t);
 
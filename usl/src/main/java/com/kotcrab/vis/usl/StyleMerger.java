@@ -21,14 +21,25 @@ import com.kotcrab.vis.usl.lang.Identifier;
 import com.kotcrab.vis.usl.lang.StyleBlock;
 import com.kotcrab.vis.usl.lang.StyleIdentifier;
 
-import java.util.ArrayList;
+import java.util.*;
 
-/** Performs styles mering during USL parsing. */
+/**
+ * Performs styles mering during USL parsing. Blocks, styles and identifiers are looked up using hash maps which are kept
+ * up to date during merging. Styles inherited inside block are merged in topological order, so each style is merged after
+ * all of the styles it inherits.
+ */
 public class StyleMerger {
 	private ArrayList<StyleIdentifier> globalStyles;
 	private ArrayList<StyleBlock> styleBlocks;
 	private ArrayList<StyleBlock> styleBlocksOverride;
 
+	private Map<String, StyleBlock> blocksByName = new HashMap<String, StyleBlock>();
+	private Map<String, StyleIdentifier> globalStylesByName = new HashMap<String, StyleIdentifier>();
+	/** Styles of each block by name, built when first needed */
+	private Map<StyleBlock, Map<String, StyleIdentifier>> blockStyles = new IdentityHashMap<StyleBlock, Map<String, StyleIdentifier>>();
+	/** Names of identifiers of each group, built when first needed */
+	private Map<GroupIdentifier, Set<String>> identifierNames = new IdentityHashMap<GroupIdentifier, Set<String>>();
+
 	public StyleMerger (ArrayList<StyleIdentifier> globalStyles, ArrayList<StyleBlock> styleBlocks, ArrayList<StyleBlock> styleBlocksOverride) {
 		this.globalStyles = globalStyles;
 		this.styleBlocks = styleBlocks;
@@ -36,43 +47,65 @@ public class StyleMerger {
 	}
 
 	public ArrayList<StyleBlock> merge () {
+		for (StyleBlock block : styleBlocks) {
+			if (blocksByName.containsKey(block.fullName) == false) blocksByName.put(block.fullName, block);
+		}
+
+		for (StyleIdentifier style : globalStyles) {
+			if (globalStylesByName.containsKey(style.name) == false) globalStylesByName.put(style.name, style);
+		}
+
 		mergeBlocksOverrides();
 		mergeGlobalStyles();
 
 		for (StyleBlock block : styleBlocks) {
 			//merge 'style a extends style b'
-			if (block.extendsStyle != null) mergeBlocksExtends(block, block.extendsStyle);
+			if (block.extendsStyle != null) mergeBlocksExtends(block);
 
 			//merge inner styles
+			Set<StyleIdentifier> mergedStyles = Collections.newSetFromMap(new IdentityHashMap<StyleIdentifier, Boolean>());
+			Set<StyleIdentifier> visitedStyles = Collections.newSetFromMap(new IdentityHashMap<StyleIdentifier, Boolean>());
 			for (StyleIdentifier baseStyle : block.styles) {
-				for (String inherit : baseStyle.inherits) {
-					if (inherit.startsWith(".")) continue; //global styles was already merged at this point
-					StyleIdentifier styleToBeMerged = findStyle(block.styles, inherit);
-
-					if (styleToBeMerged == null)
-						throw new USLException("Style to inherit: '" + inherit + "' not found, block: " + block.fullName);
-
-					mergeStylesContent(styleToBeMerged, baseStyle);
-				}
+				mergeInheritedStyles(block, baseStyle, mergedStyles, visitedStyles);
 			}
 		}
 
 		return styleBlocks;
 	}
 
+	private void mergeInheritedStyles (StyleBlock block, StyleIdentifier baseStyle, Set<StyleIdentifier> mergedStyles, Set<StyleIdentifier> visitedStyles) {
+		if (mergedStyles.contains(baseStyle)) return;
+		if (visitedStyles.add(baseStyle) == false)
+			throw new USLException("Cyclic inherits found, style: '" + baseStyle.name + "', block: " + block.fullName);
+
+		for (String inherit : baseStyle.inherits) {
+			if (inherit.startsWith(".")) continue; //global styles was already merged at this point
+			StyleIdentifier styleToBeMerged = findStyle(block, inherit);
+
+			if (styleToBeMerged == null)
+				throw new USLException("Style to inherit: '" + inherit + "' not found, block: " + block.fullName);
+
+			mergeInheritedStyles(block, styleToBeMerged, mergedStyles, visitedStyles);
+			mergeContent(styleToBeMerged, baseStyle);
+		}
+
+		mergedStyles.add(baseStyle);
+	}
+
 	private void mergeBlocksOverrides () {
 		for (StyleBlock overrider : styleBlocksOverride) {
-			StyleBlock mergeTarget = findBlock(styleBlocks, overrider.fullName);
+			StyleBlock mergeTarget = findBlock(overrider.fullName);
 
 			for (StyleIdentifier styleToBeMerged : overrider.styles) {
-				StyleIdentifier mergeTargetStyle = findStyle(mergeTarget.styles, styleToBeMerged.name);
+				StyleIdentifier mergeTargetStyle = findStyle(mergeTarget, styleToBeMerged.name);
 
 				if (mergeTargetStyle != null) {
 					System.out.println("Warn: overriding existing super style inside block: '" + overrider.fullName + "', style: '" + mergeTargetStyle.name + "'");
 					mergeTarget.styles.remove(mergeTargetStyle);
+					blockStyles.remove(mergeTarget); //there might be other style with the same name, index will be rebuilt
 				}
 
-				mergeTarget.styles.add(styleToBeMerged);
+				addStyle(mergeTarget, styleToBeMerged);
 			}
 		}
 	}
@@ -80,69 +113,61 @@ public class StyleMerger {
 	private void mergeGlobalStyles () {
 		for (StyleBlock block : styleBlocks) {
 			for (StyleIdentifier style : block.styles) {
-				mergeGlobalStyles(block.fullName, style.inherits, style.content);
-				for (String inherit : style.inherits) {
-					if (inherit.startsWith(".")) {
-						StyleIdentifier styleToInherit = findStyle(globalStyles, inherit);
-
-						if (styleToInherit == null) {
-							throw new USLException("Style to inherit: '" + inherit + "' not found, block: " + block.fullName);
-						}
-
-						for (Identifier id : styleToInherit.content) {
-							if (findIdentifier(style.content, id.name) == null)
-								style.content.add(id);
-						}
-					}
-				}
+				mergeGlobalStyles(block.fullName, style);
 			}
 		}
 
 		for (StyleBlock block : styleBlocks) {
 			for (StyleIdentifier style : block.styles) {
-				mergeGlobalStylesForIds(block.fullName, style.content);
+				mergeGlobalStylesForIds(block.fullName, style);
 			}
 		}
 	}
 
-	private void mergeGlobalStylesForIds (String blockName, ArrayList<Identifier> content) {
-		for (Identifier id : content) {
+	private void mergeGlobalStylesForIds (String blockName, GroupIdentifier group) {
+		for (Identifier id : group.content) {
 			if (id instanceof GroupIdentifier) {
 				GroupIdentifier gid = (GroupIdentifier) id;
-				mergeGlobalStyles(blockName, gid.inherits, gid.content);
-				mergeGlobalStylesForIds(blockName, gid.content);
+				mergeGlobalStyles(blockName, gid);
+				mergeGlobalStylesForIds(blockName, gid);
 			}
 		}
 	}
 
-	private void mergeGlobalStyles (String blockName, ArrayList<String> inherits, ArrayList<Identifier> content) {
-		for (String inherit : inherits) {
+	private void mergeGlobalStyles (String blockName, GroupIdentifier group) {
+		for (String inherit : group.inherits) {
 			if (inherit.startsWith(".")) {
-				StyleIdentifier styleToInherit = findStyle(globalStyles, inherit);
+				StyleIdentifier styleToInherit = globalStylesByName.get(inherit);
 
 				if (styleToInherit == null) {
 					throw new USLException("Style to inherit: '" + inherit + "' not found, block: " + blockName);
 				}
 
-				for (Identifier id : styleToInherit.content) {
-					if (findIdentifier(content, id.name) == null) {
-						content.add(id);
-					}
-				}
+				mergeContent(styleToInherit, group);
 			}
 		}
 	}
 
-	private void mergeBlocksExtends (StyleBlock mergeTarget, StyleBlock blockToMerge) {
-		if (blockToMerge.extendsStyle != null) mergeBlocksExtends(mergeTarget, blockToMerge.extendsStyle);
+	/** Merges styles of all blocks extended by given block, starting from the root of extends chain */
+	private void mergeBlocksExtends (StyleBlock mergeTarget) {
+		ArrayList<StyleBlock> extendsChain = new ArrayList<StyleBlock>();
+		Set<StyleBlock> chainBlocks = Collections.newSetFromMap(new IdentityHashMap<StyleBlock, Boolean>());
+		chainBlocks.add(mergeTarget);
+		for (StyleBlock block = mergeTarget.extendsStyle; block != null; block = block.extendsStyle) {
+			if (chainBlocks.add(block) == false)
+				throw new USLException("Cyclic extends found, block: " + mergeTarget.fullName + ", extended block: " + block.fullName);
+			extendsChain.add(block);
+		}
 
-		for (StyleIdentifier styleToBeMerged : blockToMerge.styles) {
-			StyleIdentifier mergeTargetStyle = findStyle(mergeTarget.styles, styleToBeMerged.name);
+		for (int i = extendsChain.size() - 1; i >= 0; i--) {
+			for (StyleIdentifier styleToBeMerged : extendsChain.get(i).styles) {
+				StyleIdentifier mergeTargetStyle = findStyle(mergeTarget, styleToBeMerged.name);
 
-			if (mergeTargetStyle != null)
-				mergeStyles(styleToBeMerged, mergeTargetStyle);
-			else if (mergeTarget.extendsInheritOnlyDefinedStyles == false)
-				mergeTarget.styles.add(new StyleIdentifier(styleToBeMerged));
+				if (mergeTargetStyle != null)
+					mergeStyles(styleToBeMerged, mergeTargetStyle);
+				else if (mergeTarget.extendsInheritOnlyDefinedStyles == false)
+					addStyle(mergeTarget, new StyleIdentifier(styleToBeMerged));
+			}
 		}
 	}
 
@@ -150,34 +175,57 @@ public class StyleMerger {
 		for (String inherit : styleToBeMerge.inherits)
 			if (mergeTargetStyle.inherits.contains(inherit) == false) mergeTargetStyle.inherits.add(inherit);
 
-		mergeStylesContent(styleToBeMerge, mergeTargetStyle);
+		mergeContent(styleToBeMerge, mergeTargetStyle);
 	}
 
-	private void mergeStylesContent (StyleIdentifier styleToBeMerged, StyleIdentifier mergeTargetStyle) {
-		for (Identifier id : styleToBeMerged.content) {
-			if (findIdentifier(mergeTargetStyle.content, id.name) == null) //mergeTargetStyle.content.remove(id);
-				mergeTargetStyle.content.add(id);
+	/** Adds identifiers from source group to target group, identifiers already defined in target group are skipped */
+	private void mergeContent (GroupIdentifier source, GroupIdentifier target) {
+		Set<String> targetNames = getIdentifierNames(target);
+		for (Identifier id : source.content) {
+			if (targetNames.add(id.name))
+				target.content.add(id);
 		}
 	}
 
-	private StyleBlock findBlock (ArrayList<StyleBlock> target, String fullName) {
-		for (StyleBlock block : target)
-			if (block.fullName.equals(fullName)) return block;
+	private Set<String> getIdentifierNames (GroupIdentifier group) {
+		Set<String> names = identifierNames.get(group);
+		if (names == null) {
+			names = new HashSet<String>();
+			for (Identifier id : group.content) {
+				names.add(id.name);
+			}
+			identifierNames.put(group, names);
+		}
+
+		return names;
+	}
 
-		throw new USLException("Block '" + fullName + "' not found");
+	private StyleBlock findBlock (String fullName) {
+		StyleBlock block = blocksByName.get(fullName);
+		if (block == null) throw new USLException("Block '" + fullName + "' not found");
+		return block;
 	}
 
-	private StyleIdentifier findStyle (ArrayList<StyleIdentifier> target, String name) {
-		for (StyleIdentifier style : target)
-			if (style.name.equals(name)) return style;
+	private StyleIdentifier findStyle (StyleBlock block, String name) {
+		return getBlockStyles(block).get(name);
+	}
 
-		return null;
+	private void addStyle (StyleBlock block, StyleIdentifier style) {
+		block.styles.add(style);
+		Map<String, StyleIdentifier> styles = getBlockStyles(block);
+		if (styles.containsKey(style.name) == false) styles.put(style.name, style);
 	}
 
-	private Identifier findIdentifier (ArrayList<? extends Identifier> target, String name) {
-		for (Identifier identifier : target)
-			if (identifier.name.equals(name)) return identifier;
+	private Map<String, StyleIdentifier> getBlockStyles (StyleBlock block) {
+		Map<String, StyleIdentifier> styles = blockStyles.get(block);
+		if (styles == null) {
+			styles = new HashMap<String, StyleIdentifier>();
+			for (StyleIdentifier style : block.styles) {
+				if (styles.containsKey(style.name) == false) styles.put(style.name, style);
+			}
+			blockStyles.put(block, styles);
+		}
 
-		return null;
+		return styles;
 	}
 }
@@ -20,6 +20,9 @@ package com.kotcrab.vis.usl;
 public class Token {
 	public String usl;
 	public int i;
+	/** Line and column of token in source, both starting from 1. 0 if unknown. */
+	public int line;
+	public int column;
 
 	public Type type;
 	public String content;
@@ -37,6 +40,12 @@ public class Token {
 		this.content = content;
 	}
 
+	public Token (String usl, int i, int line, int column, Type type, String content) {
+		this(usl, i, type, content);
+		this.line = line;
+		this.column = column;
+	}
+
 	public enum Type {
 		INVALID,
 		LCURL, RCURL, // { }
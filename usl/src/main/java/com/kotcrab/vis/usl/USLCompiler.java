@@ -0,0 +1,159 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.usl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Incremental USL compiler. Include graph and content hashes of all inputs of compiled file are stored in build cache
+ * together with produced JSON, which is reused as long as none of the inputs were changed. Tokens of included files are
+ * additionally cached in memory and reused between compilations done by the same compiler.
+ * @author Kotcrab
+ */
+public class USLCompiler {
+	/** Must be changed when format of build cache or produced JSON changes */
+	private static final String BUILD_RECORD_HEADER = "usl-build 1";
+
+	private final File buildCacheFolder;
+	private final IncludeCache includeCache = new IncludeCache();
+	/** Include keys of last successful compilation of each file, keyed by absolute file path */
+	private final Map<String, List<String>> fileIncludes = new ConcurrentHashMap<String, List<String>>();
+
+	public USLCompiler () {
+		this(new File(USL.CACHE_FOLDER_PATH, "build"));
+	}
+
+	/** @param buildCacheFolder folder where compiled files are stored, if null only in memory cache of included files is used */
+	public USLCompiler (File buildCacheFolder) {
+		this.buildCacheFolder = buildCacheFolder;
+	}
+
+	/**
+	 * Compiles given file. This method can be called concurrently from multiple threads, lexed includes are shared
+	 * between compilations.
+	 * @return JSON produced from given USL file, same as returned by {@link USL#parse(File)}
+	 */
+	public String compile (File uslFile) {
+		String usl = Utils.readFile(uslFile);
+		File recordFile = null;
+		File outputFile = null;
+
+		if (buildCacheFolder != null) {
+			String buildKey = hash(uslFile.getAbsolutePath());
+			recordFile = new File(buildCacheFolder, buildKey + ".deps");
+			outputFile = new File(buildCacheFolder, buildKey + ".json");
+
+			List<String> includes = new ArrayList<String>();
+			String json = readCachedOutput(recordFile, outputFile, usl, includes);
+			if (json != null) {
+				fileIncludes.put(uslFile.getAbsolutePath(), includes);
+				return json;
+			}
+		}
+
+		LexerContext context = new LexerContext(uslFile.getParentFile());
+		context.includeCache = includeCache;
+		Lexer.lexUsl(context, usl);
+		String json = new Parser().getJson(context.tokens);
+
+		if (buildCacheFolder != null) writeCachedOutput(recordFile, outputFile, usl, context.includes, json);
+		fileIncludes.put(uslFile.getAbsolutePath(), new ArrayList<String>(context.includes.keySet()));
+		return json;
+	}
+
+	/**
+	 * @return files included directly or indirectly by given file during its last successful compilation. Includes loaded
+	 * from include sources (such as 'include &lt;visui-1.4.0&gt;') are not returned. Empty if file was not compiled yet.
+	 */
+	public List<File> getDependencies (File uslFile) {
+		List<String> includes = fileIncludes.get(uslFile.getAbsolutePath());
+		if (includes == null) return Collections.emptyList();
+
+		List<File> dependencies = new ArrayList<File>();
+		for (String include : includes) {
+			if (include.startsWith("<") == false) dependencies.add(new File(include));
+		}
+		return dependencies;
+	}
+
+	/** @return cached JSON or null if there is no cached output or some of the inputs were changed */
+	private String readCachedOutput (File recordFile, File outputFile, String usl, List<String> includes) {
+		if (recordFile.exists() == false || outputFile.exists() == false) return null;
+
+		try {
+			List<String> record = Files.readAllLines(recordFile.toPath(), StandardCharsets.UTF_8);
+			if (record.size() < 2 || record.get(0).equals(BUILD_RECORD_HEADER) == false) return null;
+			if (record.get(1).equals(hash(usl)) == false) return null;
+
+			for (int i = 2; i < record.size(); i++) {
+				String[] include = record.get(i).split("\t", 2);
+				if (include.length != 2) return null;
+
+				String content = Lexer.loadInclude(include[1]);
+				if (content == null || include[0].equals(hash(content)) == false) return null;
+				includes.add(include[1]);
+			}
+
+			return Utils.readFile(outputFile);
+		} catch (IOException e) {
+			return null;
+		} catch (IllegalStateException e) { //include could not be loaded, full compilation will report the error
+			return null;
+		}
+	}
+
+	private void writeCachedOutput (File recordFile, File outputFile, String usl, Map<String, String> includes, String json) {
+		StringBuilder record = new StringBuilder();
+		record.append(BUILD_RECORD_HEADER).append('\n');
+		record.append(hash(usl)).append('\n');
+		for (Map.Entry<String, String> include : includes.entrySet()) {
+			record.append(hash(include.getValue())).append('\t').append(include.getKey()).append('\n');
+		}
+
+		try {
+			buildCacheFolder.mkdirs();
+			recordFile.delete();
+			Files.write(outputFile.toPath(), json.getBytes(StandardCharsets.UTF_8));
+			Files.write(recordFile.toPath(), record.toString().getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			System.out.println("Warn: writing build cache failed: " + e.getMessage());
+		}
+	}
+
+	private static String hash (String content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(content.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hash = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hash.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
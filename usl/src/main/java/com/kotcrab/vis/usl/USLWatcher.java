@@ -0,0 +1,196 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.usl;
+
+import com.kotcrab.vis.usl.BatchCompiler.Job;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches USL files and recompiles them when they or any of the files they include are modified. Allows applications to
+ * reload their skin without restarting, see {@link Listener}.
+ * @author Kotcrab
+ */
+public class USLWatcher implements Runnable {
+	/** Time in ms to wait for more events after file change was detected, editors often modify file multiple times when saving */
+	private static final long EVENTS_DELAY = 50;
+
+	private final USLCompiler compiler;
+	private final BatchCompiler batchCompiler;
+	private final List<Job> jobs;
+	private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+
+	private final Set<Path> watchedDirs = new HashSet<Path>();
+	private WatchService watchService;
+	private Thread thread;
+	private volatile boolean running;
+
+	public USLWatcher (USLCompiler compiler, List<Job> jobs) {
+		this.compiler = compiler;
+		this.batchCompiler = new BatchCompiler(compiler);
+		this.jobs = new ArrayList<Job>(jobs);
+	}
+
+	public void addListener (Listener listener) {
+		listeners.add(listener);
+	}
+
+	public boolean removeListener (Listener listener) {
+		return listeners.remove(listener);
+	}
+
+	/** Starts watching files on new daemon thread. All files are compiled when watcher starts. */
+	public void start () {
+		if (thread != null) throw new IllegalStateException("Watcher was already started");
+		thread = new Thread(this, "USLWatcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/** Stops watching files. */
+	public void stop () {
+		running = false;
+		if (thread != null) thread.interrupt();
+	}
+
+	/** Compiles all files and then watches them until {@link #stop()} is called, blocks current thread. */
+	@Override
+	public void run () {
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+		} catch (IOException e) {
+			throw new IllegalStateException("Creating watch service failed!", e);
+		}
+
+		running = true;
+		try {
+			compile(jobs);
+
+			while (running) {
+				Set<Path> changedFiles = new HashSet<Path>();
+				WatchKey key = watchService.take();
+				boolean overflow = processEvents(key, changedFiles);
+				while ((key = watchService.poll(EVENTS_DELAY, TimeUnit.MILLISECONDS)) != null) {
+					overflow |= processEvents(key, changedFiles);
+				}
+
+				List<Job> changedJobs = overflow ? jobs : findChangedJobs(changedFiles);
+				if (changedJobs.size() > 0) compile(changedJobs);
+			}
+		} catch (InterruptedException e) {
+			//watcher was stopped
+		} finally {
+			running = false;
+			try {
+				watchService.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+	/** @return true if some events were lost */
+	private boolean processEvents (WatchKey key, Set<Path> changedFiles) {
+		boolean overflow = false;
+		Path dir = (Path) key.watchable();
+
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == OVERFLOW)
+				overflow = true;
+			else
+				changedFiles.add(dir.resolve((Path) event.context()));
+		}
+
+		key.reset();
+		return overflow;
+	}
+
+	private List<Job> findChangedJobs (Set<Path> changedFiles) {
+		List<Job> changedJobs = new ArrayList<Job>();
+
+		for (Job job : jobs) {
+			if (changedFiles.contains(toPath(job.getInput()))) {
+				changedJobs.add(job);
+				continue;
+			}
+
+			for (File dependency : compiler.getDependencies(job.getInput())) {
+				if (changedFiles.contains(toPath(dependency))) {
+					changedJobs.add(job);
+					break;
+				}
+			}
+		}
+
+		return changedJobs;
+	}
+
+	private void compile (List<Job> jobs) {
+		batchCompiler.compile(jobs);
+
+		for (Job job : jobs) {
+			watchParentDir(job.getInput());
+			for (File dependency : compiler.getDependencies(job.getInput())) {
+				watchParentDir(dependency);
+			}
+
+			for (Listener listener : listeners) {
+				if (job.getError() != null)
+					listener.failed(job, job.getError());
+				else if (job.isWritten())
+					listener.compiled(job);
+			}
+		}
+	}
+
+	private void watchParentDir (File file) {
+		Path dir = toPath(file).getParent();
+		if (dir == null || watchedDirs.contains(dir)) return;
+
+		try {
+			dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+			watchedDirs.add(dir);
+		} catch (IOException e) {
+			System.out.println("Warn: watching directory '" + dir + "' failed: " + e.getMessage());
+		}
+	}
+
+	private static Path toPath (File file) {
+		return file.toPath().toAbsolutePath().normalize();
+	}
+
+	/**
+	 * Receives compilation results from {@link USLWatcher}. Methods are called on watcher thread, applications should
+	 * reload their skin on rendering thread, for example by using Gdx.app.postRunnable.
+	 */
+	public interface Listener {
+		/** Called when file was compiled and its output file was updated. */
+		void compiled (Job job);
+
+		/** Called when compilation of file failed, previous output file was not modified. */
+		void failed (Job job, RuntimeException e);
+	}
+}
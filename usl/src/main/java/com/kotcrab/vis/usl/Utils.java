@@ -33,22 +33,26 @@ public class Utils {
 	}
 
 	static void throwException (String exception, Token token) {
-		throwException(exception, token.usl, token.i);
+		if (token.line == 0)
+			throwException(exception, token.usl, token.i);
+		else
+			throwException(exception, token.line, token.column);
 	}
 
 	static void throwException (String exception, String usl, int i) {
-		throw new USLException(exception + " " + "(line " + Utils.countLines(usl.substring(0, i)) + ")");
-	}
-
-	static int countLines (String str) {
-		if (str == null || str.isEmpty()) return 0;
-
-		int lines = 1;
-		int pos = 0;
-		while ((pos = str.indexOf("\n", pos) + 1) != 0) {
-			lines++;
+		int line = 1;
+		int lineStart = 0;
+		for (int j = 0; j < i; j++) {
+			if (usl.charAt(j) == '\n') {
+				line++;
+				lineStart = j + 1;
+			}
 		}
 
-		return lines;
+		throwException(exception, line, i - lineStart + 1);
+	}
+
+	static void throwException (String exception, int line, int column) {
+		throw new USLException(exception + " " + "(line " + line + ", column " + column + ")");
 	}
 }
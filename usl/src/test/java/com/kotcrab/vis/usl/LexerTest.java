@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.usl;
+
+import com.kotcrab.vis.usl.Token.Type;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LexerTest {
+	@Test
+	public void testTokens () throws Exception {
+		List<Token> tokens = lex("#com.badlogic.gdx.graphics.Color: {\r\n" +
+				"  //comment\n" +
+				"  green: {a: 1, b: 0, g: 1, r: 0 }\n" +
+				"  green-alias: green\n" +
+				"}\n");
+
+		assertEquals(16, tokens.size());
+		assertToken(tokens.get(0), Type.STYLE_BLOCK, "com.badlogic.gdx.graphics.Color", 1, 2);
+		assertToken(tokens.get(1), Type.LCURL, null, 1, 35);
+		assertToken(tokens.get(2), Type.IDENTIFIER, "green", 3, 3);
+		assertToken(tokens.get(3), Type.LCURL, null, 3, 10);
+		assertToken(tokens.get(4), Type.IDENTIFIER, "a", 3, 11);
+		assertToken(tokens.get(5), Type.IDENTIFIER_CONTENT, "1", 3, 14);
+		assertToken(tokens.get(12), Type.RCURL, null, 3, 34);
+		assertToken(tokens.get(13), Type.IDENTIFIER, "green-alias", 4, 3);
+		assertToken(tokens.get(14), Type.IDENTIFIER_CONTENT, "green", 4, 16);
+		assertToken(tokens.get(15), Type.RCURL, null, 5, 1);
+	}
+
+	@Test
+	public void testErrorPosition () throws Exception {
+		assertError("#a.B: {\n  x: y\n}\n}", "Unexpected '}' (line 4, column 1)");
+		assertError("#a.B: {\n  ?x\n}", "Unrecognized symbol '?x' (line 2, column 3)");
+	}
+
+	@Test(timeout = 10000)
+	public void testLargeInput () throws Exception {
+		int styles = 20000;
+		StringBuilder usl = new StringBuilder();
+		for (int i = 0; i < styles; i++) {
+			usl.append("#com.example.Style").append(i).append(": {\n");
+			usl.append("  default: { color: white, font: default-font }\n");
+			usl.append("}\n");
+		}
+
+		List<Token> tokens = lex(usl.toString());
+		assertEquals(styles * 10, tokens.size());
+		assertToken(tokens.get(tokens.size() - 1), Type.RCURL, null, styles * 3, 1);
+	}
+
+	private List<Token> lex (String usl) {
+		LexerContext context = new LexerContext(null);
+		Lexer.lexUsl(context, usl);
+		return context.tokens;
+	}
+
+	private void assertToken (Token token, Type type, String content, int line, int column) {
+		assertEquals(type, token.type);
+		assertEquals(content, token.content);
+		assertEquals(line, token.line);
+		assertEquals(column, token.column);
+	}
+
+	private void assertError (String usl, String message) {
+		try {
+			lex(usl);
+			fail("Expected USLException");
+		} catch (USLException e) {
+			assertEquals(message, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014-2017 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.usl.test;
+
+import com.kotcrab.vis.usl.USL;
+import com.kotcrab.vis.usl.USLCompiler;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class USLCompilerTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File buildCache;
+	private File colors;
+	private File styles;
+	private File main;
+
+	@Before
+	public void setUp () throws Exception {
+		buildCache = folder.newFolder("build");
+		colors = folder.newFile("colors.usl");
+		styles = folder.newFile("styles.usl");
+		main = folder.newFile("main.usl");
+
+		writeColors("1");
+		write(styles, "include \"" + colors.getAbsolutePath() + "\"\n" +
+				"#com.example.Style: {\n" +
+				"\tdefault: { color: white }\n" +
+				"}\n");
+		write(main, "include \"" + styles.getAbsolutePath() + "\"\n" +
+				"#com.example.Style: {\n" +
+				"\tother: { color: white-alias }\n" +
+				"}\n");
+	}
+
+	@Test
+	public void testCompileEqualsParse () throws Exception {
+		USLCompiler compiler = new USLCompiler(buildCache);
+		String json = compiler.compile(main);
+		Assert.assertEquals(USL.parse(main), json);
+		Assert.assertEquals(json, compiler.compile(main));
+		Assert.assertEquals(json, new USLCompiler(buildCache).compile(main));
+		Assert.assertEquals(2, compiler.getDependencies(main).size());
+	}
+
+	@Test
+	public void testIncrementalCompileAfterIncludeChanged () throws Exception {
+		USLCompiler compiler = new USLCompiler(buildCache);
+		String oldJson = compiler.compile(main);
+
+		writeColors("0.5");
+		String json = USL.parse(main);
+		Assert.assertNotEquals(oldJson, json);
+		Assert.assertEquals(json, compiler.compile(main));
+		Assert.assertEquals(json, new USLCompiler(buildCache).compile(main));
+		Assert.assertEquals(json, new USLCompiler(null).compile(main));
+	}
+
+	@Test
+	public void testIncrementalCompileAfterFileChanged () throws Exception {
+		USLCompiler compiler = new USLCompiler(buildCache);
+		compiler.compile(main);
+
+		write(main, "include \"" + styles.getAbsolutePath() + "\"\n");
+		String json = USL.parse(main);
+		Assert.assertEquals(json, compiler.compile(main));
+		Assert.assertEquals(json, new USLCompiler(buildCache).compile(main));
+	}
+
+	private void writeColors (String alpha) throws IOException {
+		write(colors, "#com.badlogic.gdx.graphics.Color: {\n" +
+				"\twhite: { a: " + alpha + ", b: 1, g: 1, r: 1 }\n" +
+				"\twhite-alias: white\n" +
+				"}\n");
+	}
+
+	private void write (File file, String content) throws IOException {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+}